@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Invite-blast load run against a single local instance (see InviteBlastLoadTest).
+#
+# Uses the Postgres in TEST_DB_URL (TEST_DB_USERNAME / TEST_DB_PASSWORD), or a throwaway
+# Testcontainers one when unset and Docker is available. Tunables, as environment variables:
+#   CLIENTS=200 DURATION=30 WARMUP=5 POOL_SIZE=5 DB_DELAY_MS=0 PROFILES=virtual-threads
+# The report is printed and saved to loadtest/results/invite-blast-<timestamp>.txt.
+set -euo pipefail
+
+root="$(cd "$(dirname "$0")/.." && pwd)"
+results="$root/loadtest/results"
+mkdir -p "$results"
+out="$results/invite-blast-$(date +%Y%m%d-%H%M%S).txt"
+
+if [[ -z "${TEST_DB_URL:-}" ]] && ! docker info >/dev/null 2>&1; then
+    echo "Set TEST_DB_URL (e.g. jdbc:postgresql://localhost:5432/postgres) or start Docker" >&2
+    exit 1
+fi
+
+cd "$root/quickagenda-backend"
+mvn=./mvnw
+[[ -f .mvn/wrapper/maven-wrapper.properties ]] || mvn=mvn
+"$mvn" -B -q test -Dtest=InviteBlastLoadTest -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmarks=true \
+    -Dloadtest.clients="${CLIENTS:-200}" \
+    -Dloadtest.seconds="${DURATION:-30}" \
+    -Dloadtest.warmup-seconds="${WARMUP:-5}" \
+    -Dloadtest.pool-size="${POOL_SIZE:-5}" \
+    -Dloadtest.db-delay-ms="${DB_DELAY_MS:-0}" \
+    -Dloadtest.profiles="${PROFILES:-}" \
+    | sed -n '/^invite blast:/,/^pool:/p' | tee "$out"
@@ -0,0 +1,110 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.dto.AdmissionStatsResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of API requests in flight. Virtual threads remove Tomcat's thread pool as the
+ * natural limit, so without this every request would park on the five Hikari connections; here a
+ * request waits at most {@code queue-timeout} for a slot and is otherwise turned away with 503.
+ * Requests that still time out acquiring a connection are answered with 503 as well.
+ */
+@Component
+@ConditionalOnProperty(name = "quickagenda.admission.enabled", havingValue = "true")
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionFilter.class);
+
+    private final int maxConcurrent;
+    private final long queueTimeoutNanos;
+    private final Semaphore permits;
+    private final AtomicLong waiting = new AtomicLong();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong poolTimeouts = new AtomicLong();
+
+    public AdmissionFilter(@Value("${quickagenda.admission.max-concurrent:64}") int maxConcurrent,
+                           @Value("${quickagenda.admission.queue-timeout:500ms}") Duration queueTimeout) {
+        this.maxConcurrent = maxConcurrent;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Stats stay reachable while the service is saturated; agenda streams are open for minutes
+        // and use no request thread or connection while idle, so they must not hold a permit
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.startsWith("/api/admin/stats") || path.endsWith("/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        waiting.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+        if (!acquired) {
+            rejected.incrementAndGet();
+            unavailable(response);
+            return;
+        }
+        admitted.incrementAndGet();
+        try {
+            chain.doFilter(request, response);
+        } catch (ServletException | RuntimeException e) {
+            if (!isPoolTimeout(e) || response.isCommitted()) {
+                throw e;
+            }
+            poolTimeouts.incrementAndGet();
+            log.warn("No database connection within the pool timeout for {} {}", request.getMethod(), request.getRequestURI());
+            response.reset();
+            unavailable(response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public AdmissionStatsResponse stats() {
+        return new AdmissionStatsResponse(maxConcurrent, maxConcurrent - permits.availablePermits(),
+                waiting.get(), admitted.get(), rejected.get(), poolTimeouts.get());
+    }
+
+    private static void unavailable(HttpServletResponse response) {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+    }
+
+    private static boolean isPoolTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
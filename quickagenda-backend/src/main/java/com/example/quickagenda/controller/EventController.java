@@ -1,18 +1,23 @@
 package com.example.quickagenda.controller;
 
+import com.example.quickagenda.dto.AgendaNowResponse;
 import com.example.quickagenda.dto.EventCreateRequest;
 import com.example.quickagenda.dto.EventDetailResponse;
 import com.example.quickagenda.dto.EventUpdateRequest;
+import com.example.quickagenda.dto.ScheduleConflictResponse;
 import com.example.quickagenda.dto.SessionCreateRequest;
 import com.example.quickagenda.dto.SessionTimeUpdateRequest;
-import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.service.AgendaSnapshot;
 import com.example.quickagenda.service.EventService;
+import com.example.quickagenda.service.ScheduleConflictException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/events")
@@ -24,44 +29,94 @@ public class EventController {
         this.eventService = eventService;
     }
 
+    // Writes take strict=true to turn sessions overlapping in one location from a warning into a 409
     @PostMapping
-    public ResponseEntity<Event> create(@RequestBody EventCreateRequest request) {
-        Event created = eventService.createEvent(request);
+    public ResponseEntity<EventDetailResponse> create(@RequestBody EventCreateRequest request,
+                                                      @RequestParam(defaultValue = "false") boolean strict) {
+        EventDetailResponse created = eventService.createEvent(request, strict);
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
     @GetMapping("/{code}")
-    public ResponseEntity<EventDetailResponse> getByCode(@PathVariable String code) {
-        return ResponseEntity.ok(eventService.getEventByShareCode(code));
+    public ResponseEntity<byte[]> getByCode(@PathVariable String code,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        AgendaSnapshot snapshot = eventService.getAgendaSnapshot(code);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return conditional(snapshot, snapshot.getJsonEtag(), gzip)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(gzip ? snapshot.getJsonGzip() : snapshot.getJson());
     }
 
     @GetMapping(value = "/{code}.ics", produces = "text/calendar")
-    public ResponseEntity<byte[]> getIcs(@PathVariable String code) {
-        byte[] ics = eventService.buildIcsByShareCode(code);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/calendar; charset=UTF-8"));
-        headers.setContentDisposition(ContentDisposition.attachment().filename(code + ".ics").build());
-        return new ResponseEntity<>(ics, headers, HttpStatus.OK);
+    public ResponseEntity<byte[]> getIcs(@PathVariable String code,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        AgendaSnapshot snapshot = eventService.getAgendaSnapshot(code);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return conditional(snapshot, snapshot.getIcsEtag(), gzip)
+                .contentType(MediaType.parseMediaType("text/calendar; charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(code + ".ics").build().toString())
+                .body(gzip ? snapshot.getIcsGzip() : snapshot.getIcs());
+    }
+
+    @GetMapping("/{code}/now")
+    public ResponseEntity<AgendaNowResponse> now(@PathVariable String code,
+                                                 @RequestParam(required = false) String at,
+                                                 @RequestParam(required = false) String location) {
+        return ResponseEntity.ok(eventService.getNow(code, at, location));
+    }
+
+    @GetMapping(value = "/{code}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable String code,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return eventService.subscribe(code, lastEventId);
+    }
+
+    // Spring answers 304 itself when If-None-Match / If-Modified-Since match these validators
+    static ResponseEntity.BodyBuilder conditional(AgendaSnapshot snapshot, String etag, boolean gzip) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(snapshot.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 
     @PatchMapping("/{code}/sessions/{id}")
     public ResponseEntity<EventDetailResponse> updateSessionTimes(@PathVariable String code,
                                                    @PathVariable("id") Long sessionId,
-                                                   @RequestBody SessionTimeUpdateRequest body) {
-        eventService.updateSessionTimes(code, sessionId, body);
-        return ResponseEntity.ok(eventService.getEventByShareCode(code));
+                                                   @RequestBody SessionTimeUpdateRequest body,
+                                                   @RequestParam(defaultValue = "false") boolean strict) {
+        return ResponseEntity.ok(eventService.updateSessionTimes(code, sessionId, body, strict));
     }
 
     @PatchMapping("/{code}")
     public ResponseEntity<EventDetailResponse> updateEvent(@PathVariable String code,
-                                                           @RequestBody EventUpdateRequest request) {
-        return ResponseEntity.ok(eventService.updateEvent(code, request));
+                                                           @RequestBody EventUpdateRequest request,
+                                                           @RequestParam(defaultValue = "false") boolean strict) {
+        return ResponseEntity.ok(eventService.updateEvent(code, request, strict));
     }
 
     @PostMapping("/{code}/sessions")
     public ResponseEntity<EventDetailResponse> addSession(@PathVariable String code,
-                                                          @RequestBody SessionCreateRequest request) {
-        return ResponseEntity.ok(eventService.addSession(code, request));
+                                                          @RequestBody SessionCreateRequest request,
+                                                          @RequestParam(defaultValue = "false") boolean strict) {
+        return ResponseEntity.ok(eventService.addSession(code, request, strict));
     }
 
     @DeleteMapping("/{code}/sessions/{id}")
@@ -69,4 +124,9 @@ public class EventController {
                                                              @PathVariable("id") Long sessionId) {
         return ResponseEntity.ok(eventService.deleteSession(code, sessionId));
     }
+
+    @ExceptionHandler(ScheduleConflictException.class)
+    public ResponseEntity<ScheduleConflictResponse> scheduleConflict(ScheduleConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ScheduleConflictResponse(ex.getReason(), ex.getConflicts(), ex.isTruncated()));
+    }
 }
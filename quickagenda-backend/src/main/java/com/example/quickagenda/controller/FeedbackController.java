@@ -1,18 +1,26 @@
 package com.example.quickagenda.controller;
 
+import com.example.quickagenda.dto.FeedbackPage;
 import com.example.quickagenda.entity.Feedback;
 import com.example.quickagenda.repository.FeedbackRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/feedback")
 public class FeedbackController {
 
+    private static final int DEFAULT_PAGE = 20;
+    private static final int MAX_PAGE = 100;
+
     private final FeedbackRepository feedbackRepository;
 
     public FeedbackController(FeedbackRepository feedbackRepository) {
@@ -34,7 +42,35 @@ public class FeedbackController {
     }
 
     @GetMapping
-    public List<Feedback> list() {
-        return feedbackRepository.findRecent();
+    public FeedbackPage list(@RequestParam(value = "cursor", required = false) String cursor,
+                             @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE) int limit,
+                             @RequestParam(value = "source", required = false) String source,
+                             @RequestParam(value = "shareCode", required = false) String shareCode) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE));
+        OffsetDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+                afterCreatedAt = OffsetDateTime.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor");
+            }
+        }
+        // One extra row tells us whether there is a next page without a count query
+        List<Feedback> rows = feedbackRepository.findPage(blankToNull(source), blankToNull(shareCode), afterCreatedAt, afterId, size + 1);
+        if (rows.size() <= size) {
+            return new FeedbackPage(rows, null);
+        }
+        List<Feedback> page = rows.subList(0, size);
+        Feedback last = page.get(size - 1);
+        String next = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((last.getCreatedAt() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        return new FeedbackPage(new ArrayList<>(page), next);
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s;
     }
 }
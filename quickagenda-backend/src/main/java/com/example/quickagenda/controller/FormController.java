@@ -3,12 +3,22 @@ package com.example.quickagenda.controller;
 import com.example.quickagenda.dto.FormConfigResponse;
 import com.example.quickagenda.dto.FormSubmitRequest;
 import com.example.quickagenda.dto.FormUpsertRequest;
+import com.example.quickagenda.dto.ValidationErrorResponse;
 import com.example.quickagenda.dto.FormResponseDto;
+import com.example.quickagenda.dto.FormStatsResponse;
 import com.example.quickagenda.service.FormService;
+import com.example.quickagenda.service.InvalidAnswersException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/events/{code}/form")
@@ -34,15 +44,54 @@ public class FormController {
     }
 
     @GetMapping("/admin/responses")
-    public ResponseEntity<List<FormResponseDto>> listResponses(@PathVariable("code") String code) {
-        return ResponseEntity.ok(formService.listResponses(code));
+    public ResponseEntity<List<FormResponseDto>> listResponses(@PathVariable("code") String code,
+                                                               @RequestParam(value = "filter", required = false) List<String> filters) {
+        return ResponseEntity.ok(formService.listResponses(code, filters));
+    }
+
+    @GetMapping("/admin/stats")
+    public ResponseEntity<FormStatsResponse> stats(@PathVariable("code") String code) {
+        return ResponseEntity.ok(formService.getStats(code));
+    }
+
+    // filter=<fieldId>:<value>, repeatable; all must match
+    @GetMapping("/admin/responses/count")
+    public ResponseEntity<Map<String, Long>> countResponses(@PathVariable("code") String code,
+                                                            @RequestParam(value = "filter", required = false) List<String> filters) {
+        return ResponseEntity.ok(Map.of("count", formService.countResponses(code, filters)));
+    }
+
+    @GetMapping("/admin/responses/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(@PathVariable("code") String code,
+                                                           @RequestParam(value = "filter", required = false) List<String> filters) {
+        FormService.Export export = formService.prepareExport(code, filters);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment(code + "-responses.csv"))
+                .body(out -> formService.exportCsv(export, out));
+    }
+
+    @GetMapping("/admin/responses/export.ndjson")
+    public ResponseEntity<StreamingResponseBody> exportNdjson(@PathVariable("code") String code,
+                                                              @RequestParam(value = "filter", required = false) List<String> filters) {
+        FormService.Export export = formService.prepareExport(code, filters);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment(code + "-responses.ndjson"))
+                .body(out -> formService.exportNdjson(export, out));
+    }
+
+    private static String attachment(String filename) {
+        return ContentDisposition.attachment().filename(filename).build().toString();
     }
 
     // Public endpoints (invitees)
     @GetMapping
-    public ResponseEntity<FormConfigResponse> getPublic(@PathVariable("code") String code,
-                                                        @RequestParam("email") String email) {
-        return ResponseEntity.ok(formService.getPublicForm(code, email));
+    public ResponseEntity<byte[]> getPublic(@PathVariable("code") String code,
+                                            @RequestParam("email") String email) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(formService.getPublicForm(code, email));
     }
 
     @PostMapping("/submit")
@@ -51,4 +100,9 @@ public class FormController {
         formService.submit(code, body);
         return ResponseEntity.ok().build();
     }
+
+    @ExceptionHandler(InvalidAnswersException.class)
+    public ResponseEntity<ValidationErrorResponse> invalidAnswers(InvalidAnswersException ex) {
+        return ResponseEntity.badRequest().body(new ValidationErrorResponse(ex.getReason(), ex.getErrors()));
+    }
 }
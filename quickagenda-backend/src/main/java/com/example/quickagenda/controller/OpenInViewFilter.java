@@ -0,0 +1,35 @@
+package com.example.quickagenda.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Open-in-view as Boot would set it up, except for agenda streams. A request keeps its
+ * EntityManager, and any JDBC connection it used, until the response completes, which for a
+ * stream is when the client goes away; a cache miss on subscribe would otherwise take one of the
+ * pool's connections for good. Being a filter, it replaces Boot's open-in-view interceptor.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.open-in-view", havingValue = "true", matchIfMissing = true)
+public class OpenInViewFilter extends OpenEntityManagerInViewFilter {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public OpenInViewFilter(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory.getIfAvailable();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return entityManagerFactory == null || request.getRequestURI().endsWith("/stream");
+    }
+
+    @Override
+    protected EntityManagerFactory lookupEntityManagerFactory() {
+        return entityManagerFactory;
+    }
+}
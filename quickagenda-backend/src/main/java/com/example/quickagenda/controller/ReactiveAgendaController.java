@@ -0,0 +1,53 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.service.ReactiveAgendaReader;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * The public reads of {@link EventController} and {@link FormController} with identical responses,
+ * served asynchronously: the request thread is released while a cache miss is read from Postgres.
+ */
+@RestController
+@RequestMapping("/api/rx/events")
+@ConditionalOnProperty(name = "quickagenda.reactive.enabled", havingValue = "true")
+public class ReactiveAgendaController {
+
+    private final ReactiveAgendaReader reader;
+
+    public ReactiveAgendaController(ReactiveAgendaReader reader) {
+        this.reader = reader;
+    }
+
+    @GetMapping("/{code}")
+    public Mono<ResponseEntity<byte[]>> getByCode(@PathVariable String code,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = EventController.acceptsGzip(acceptEncoding);
+        return reader.agenda(code).map(snapshot -> EventController.conditional(snapshot, snapshot.getJsonEtag(), gzip)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(gzip ? snapshot.getJsonGzip() : snapshot.getJson()));
+    }
+
+    @GetMapping(value = "/{code}.ics", produces = "text/calendar")
+    public Mono<ResponseEntity<byte[]>> getIcs(@PathVariable String code,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = EventController.acceptsGzip(acceptEncoding);
+        return reader.agenda(code).map(snapshot -> EventController.conditional(snapshot, snapshot.getIcsEtag(), gzip)
+                .contentType(MediaType.parseMediaType("text/calendar; charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(code + ".ics").build().toString())
+                .body(gzip ? snapshot.getIcsGzip() : snapshot.getIcs()));
+    }
+
+    @GetMapping("/{code}/form")
+    public Mono<ResponseEntity<byte[]>> getPublicForm(@PathVariable("code") String code,
+                                                      @RequestParam("email") String email) {
+        return reader.publicForm(code).map(json -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json));
+    }
+}
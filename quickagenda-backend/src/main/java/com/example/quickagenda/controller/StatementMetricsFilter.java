@@ -0,0 +1,56 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.service.StatementsPerRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records {@code quickagenda.db.statements}: the SQL statements each API request had Hibernate
+ * execute on its own thread (see {@link StatementsPerRequest} for what that leaves out), tagged
+ * with the same method and uri template as {@code http.server.requests}.
+ */
+@Component
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    public StatementMetricsFilter(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry.getIfAvailable();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return registry == null || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementsPerRequest.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = StatementsPerRequest.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("quickagenda.db.statements")
+                    .description("SQL statements Hibernate executed on the request thread per API request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(100.0)
+                    .register(registry)
+                    .record(statements);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.dto.AdmissionStatsResponse;
+import com.example.quickagenda.dto.CacheStatsResponse;
+import com.example.quickagenda.dto.PoolStatsResponse;
+import com.example.quickagenda.dto.ShareCodeStatsResponse;
+import com.example.quickagenda.dto.StreamStatsResponse;
+import com.example.quickagenda.dto.WriteBehindStatsResponse;
+import com.example.quickagenda.service.AgendaSnapshotCache;
+import com.example.quickagenda.service.AgendaSubscribers;
+import com.example.quickagenda.service.FormDefinitionCache;
+import com.example.quickagenda.service.ShareCodeAllocator;
+import com.example.quickagenda.service.ShareCodeCache;
+import com.example.quickagenda.service.WriteBehindSubmissions;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/stats")
+public class StatsController {
+
+    private final ShareCodeCache shareCodeCache;
+    private final AgendaSnapshotCache agendaSnapshots;
+    private final FormDefinitionCache formDefinitions;
+    private final ObjectProvider<WriteBehindSubmissions> writeBehind;
+    private final ObjectProvider<AdmissionFilter> admission;
+    private final DataSource dataSource;
+    private final ShareCodeAllocator shareCodeAllocator;
+    private final AgendaSubscribers subscribers;
+
+    public StatsController(ShareCodeCache shareCodeCache, AgendaSnapshotCache agendaSnapshots,
+                           FormDefinitionCache formDefinitions,
+                           ObjectProvider<WriteBehindSubmissions> writeBehind,
+                           ObjectProvider<AdmissionFilter> admission,
+                           DataSource dataSource,
+                           ShareCodeAllocator shareCodeAllocator,
+                           AgendaSubscribers subscribers) {
+        this.shareCodeCache = shareCodeCache;
+        this.agendaSnapshots = agendaSnapshots;
+        this.formDefinitions = formDefinitions;
+        this.writeBehind = writeBehind;
+        this.admission = admission;
+        this.dataSource = dataSource;
+        this.shareCodeAllocator = shareCodeAllocator;
+        this.subscribers = subscribers;
+    }
+
+    @GetMapping("/caches")
+    public Map<String, CacheStatsResponse> caches() {
+        Map<String, CacheStatsResponse> out = new LinkedHashMap<>();
+        out.put("shareCodes", toResponse(shareCodeCache.stats(), shareCodeCache.size()));
+        out.put("agendas", toResponse(agendaSnapshots.stats(), agendaSnapshots.size()));
+        out.put("forms", toResponse(formDefinitions.stats(), formDefinitions.size()));
+        return out;
+    }
+
+    @GetMapping("/submissions")
+    public ResponseEntity<WriteBehindStatsResponse> submissions() {
+        WriteBehindSubmissions wb = writeBehind.getIfAvailable();
+        if (wb == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(wb.stats());
+    }
+
+    @GetMapping("/admission")
+    public ResponseEntity<AdmissionStatsResponse> admission() {
+        AdmissionFilter filter = admission.getIfAvailable();
+        if (filter == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(filter.stats());
+    }
+
+    @GetMapping("/pool")
+    public ResponseEntity<PoolStatsResponse> pool() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return ResponseEntity.notFound().build();
+        }
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new PoolStatsResponse(hikari.getMaximumPoolSize(), pool.getActiveConnections(),
+                pool.getIdleConnections(), pool.getThreadsAwaitingConnection()));
+    }
+
+    @GetMapping("/share-codes")
+    public ShareCodeStatsResponse shareCodes() {
+        return shareCodeAllocator.stats();
+    }
+
+    @GetMapping("/streams")
+    public StreamStatsResponse streams() {
+        return subscribers.stats();
+    }
+
+    private static CacheStatsResponse toResponse(CacheStats s, long size) {
+        return new CacheStatsResponse(size, s.hitCount(), s.missCount(), s.hitRate(), s.evictionCount());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.quickagenda.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionStatsResponse {
+    private int maxConcurrent;
+    private int inFlight;
+    // Requests parked waiting for a slot right now
+    private long waiting;
+    private long admitted;
+    // Turned away with 503 after waiting queue-timeout for a slot
+    private long rejected;
+    // Admitted, but answered 503 because no database connection freed up in time
+    private long poolTimeouts;
+}
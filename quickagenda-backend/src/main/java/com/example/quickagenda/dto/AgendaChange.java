@@ -0,0 +1,29 @@
+package com.example.quickagenda.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgendaChange {
+
+    public enum Type {
+        EVENT_UPDATED,
+        SESSION_ADDED,
+        SESSION_MOVED,
+        SESSION_DELETED,
+        // Changes were missed (the stream fell behind or reconnected late): reload the agenda
+        RESYNC
+    }
+
+    // The agenda version after the change; also the SSE event id, so Last-Event-ID resumes from it
+    private long version;
+    private Type type;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long sessionId;
+}
@@ -0,0 +1,20 @@
+package com.example.quickagenda.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgendaNowResponse {
+    private LocalDateTime at;
+    private List<SessionResponse> now;
+    // Every session starting at the next start time after `at`, so parallel tracks show together
+    private List<SessionResponse> next;
+}
@@ -1,5 +1,6 @@
 package com.example.quickagenda.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,4 +20,10 @@ public class EventDetailResponse {
     private String description;
     private String shareCode;
     private List<SessionResponse> sessions;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SessionChangeSummary changes; // only set by updateEvent when sessions were reconciled
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<SessionConflict> conflicts; // only set by writes, never on the cached agenda
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean conflictsTruncated; // more conflicts than the ones listed
 }
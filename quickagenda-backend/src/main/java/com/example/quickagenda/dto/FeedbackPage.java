@@ -0,0 +1,18 @@
+package com.example.quickagenda.dto;
+
+import com.example.quickagenda.entity.Feedback;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackPage {
+    private List<Feedback> items;
+    private String nextCursor; // null on the last page
+}
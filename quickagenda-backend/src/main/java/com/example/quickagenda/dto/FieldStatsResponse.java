@@ -0,0 +1,25 @@
+package com.example.quickagenda.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FieldStatsResponse {
+    private String type;
+    private Map<String, Long> counts; // per option (select fields) or yes/no
+    private Long count;               // number fields: responses with a value
+    private BigDecimal min;
+    private BigDecimal max;
+    private BigDecimal sum;
+    private Map<String, Long> histogram;
+}
@@ -1,12 +1,12 @@
 package com.example.quickagenda.dto;
 
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.OffsetDateTime;
-import java.util.Map;
 
 @Getter
 @Setter
@@ -15,5 +15,6 @@ import java.util.Map;
 public class FormResponseDto {
     private String email;
     private OffsetDateTime createdAt;
-    private Map<String, Object> answers;
+    @JsonRawValue
+    private String answers; // stored answers JSON, written into the response as-is
 }
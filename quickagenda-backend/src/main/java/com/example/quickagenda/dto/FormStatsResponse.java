@@ -0,0 +1,17 @@
+package com.example.quickagenda.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormStatsResponse {
+    private long responses;
+    private Map<String, FieldStatsResponse> fields; // keyed by field id
+}
@@ -0,0 +1,18 @@
+package com.example.quickagenda.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoolStatsResponse {
+    private int maximumPoolSize;
+    private int active;
+    private int idle;
+    // Threads blocked in getConnection() right now; above zero means the pool is saturated
+    private int waiting;
+}
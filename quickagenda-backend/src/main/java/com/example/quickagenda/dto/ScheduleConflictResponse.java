@@ -0,0 +1,20 @@
+package com.example.quickagenda.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleConflictResponse {
+    private String message;
+    private List<SessionConflict> conflicts;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean conflictsTruncated;
+}
@@ -0,0 +1,19 @@
+package com.example.quickagenda.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionChangeSummary {
+    private List<Long> inserted;
+    private List<Long> updated;
+    private List<Long> deleted;
+    private int unchanged;
+}
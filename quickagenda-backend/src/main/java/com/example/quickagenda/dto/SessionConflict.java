@@ -0,0 +1,22 @@
+package com.example.quickagenda.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionConflict {
+    private String location;
+    // The session starting first; new sessions have no id until the write goes through
+    private SessionResponse session;
+    private SessionResponse conflictsWith;
+    // The time both sessions claim the location
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
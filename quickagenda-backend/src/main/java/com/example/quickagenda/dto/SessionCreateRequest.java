@@ -10,6 +10,7 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 public class SessionCreateRequest {
+    private Long id;      // optional; matches an existing session when updating an event
     private String title;
     private String start; // HH:mm
     private String end;   // HH:mm
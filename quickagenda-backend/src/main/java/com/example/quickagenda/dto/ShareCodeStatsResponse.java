@@ -0,0 +1,20 @@
+package com.example.quickagenda.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShareCodeStatsResponse {
+    private long keyspace;
+    // Counters handed out in blocks to all instances so far, including codes not yet used
+    private long reserved;
+    private double usedFraction;
+    private int blockSize;
+    // Codes this instance can still issue before its next trip to the sequence
+    private long remainingInBlock;
+}
@@ -0,0 +1,22 @@
+package com.example.quickagenda.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamStatsResponse {
+    private long subscribers;
+    private long agendas;
+    private long published;
+    private long delivered;
+    // Subscribers that fell a whole queue behind and were told to reload instead
+    private long resyncs;
+    private long heartbeats;
+    // Streams dropped because a write failed or stalled
+    private long dropped;
+}
@@ -0,0 +1,27 @@
+package com.example.quickagenda.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WriteBehindStatsResponse {
+    // Submissions queued for the log writer, not yet fsynced
+    private int awaitingFsync;
+    // Distinct (form, email) pairs waiting for the next flush
+    private int pending;
+    // Log entries past the checkpoint, i.e. what a restart would replay
+    private long unflushed;
+    private long flushes;
+    private long flushedRows;
+    private long flushFailures;
+    // Rows the database rejected, moved to dead-letter.log in the log directory
+    private long deadLettered;
+    private long lastFlushMillis;
+    private long maxFlushMillis;
+    private long avgFlushMillis;
+}
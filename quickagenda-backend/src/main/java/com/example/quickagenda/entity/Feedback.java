@@ -13,6 +13,11 @@ import java.time.OffsetDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_feedback_created", columnList = "created_at, id"),
+        @Index(name = "idx_feedback_source_created", columnList = "source, created_at, id"),
+        @Index(name = "idx_feedback_share_code_created", columnList = "share_code, created_at, id")
+})
 public class Feedback {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
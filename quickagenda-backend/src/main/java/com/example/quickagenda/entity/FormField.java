@@ -14,7 +14,8 @@ import lombok.Setter;
 @Table(name = "form_fields")
 public class FormField {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "form_fields_seq")
+    @SequenceGenerator(name = "form_fields_seq", sequenceName = "form_fields_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
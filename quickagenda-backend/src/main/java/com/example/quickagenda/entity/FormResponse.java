@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.OffsetDateTime;
 
@@ -28,7 +30,8 @@ public class FormResponse {
     @Column(nullable = false)
     private String email;
 
-    @Column(name = "answers_json", columnDefinition = "text")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "answers_json", columnDefinition = "jsonb")
     private String answersJson;
 
     @Column(columnDefinition = "timestamptz")
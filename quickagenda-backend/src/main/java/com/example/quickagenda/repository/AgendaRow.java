@@ -0,0 +1,12 @@
+package com.example.quickagenda.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of an event left-joined to its sessions; the session columns are null for an event
+ * without sessions.
+ */
+public record AgendaRow(Long eventId, String name, LocalDate eventDate, String description, String shareCode,
+                        Long sessionId, String title, LocalDateTime startTime, LocalDateTime endTime, String location) {
+}
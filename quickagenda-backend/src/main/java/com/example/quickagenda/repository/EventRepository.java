@@ -1,10 +1,35 @@
 package com.example.quickagenda.repository;
 
 import com.example.quickagenda.entity.Event;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
     Optional<Event> findByShareCode(String code);
+
+    // Serializes writes to one event's agenda until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.shareCode = :code")
+    Optional<Event> lockByShareCode(@Param("code") String code);
+
+    // Event and sessions in one round trip, projected without managed entities
+    @Query("SELECT new com.example.quickagenda.repository.AgendaRow(e.id, e.name, e.eventDate, e.description, e.shareCode,"
+            + " s.id, s.title, s.startTime, s.endTime, s.location)"
+            + " FROM Event e LEFT JOIN Session s ON s.event = e WHERE e.shareCode = :code ORDER BY s.id")
+    List<AgendaRow> findAgenda(@Param("code") String code);
+
+
+    // Empty when the share code is already taken, without aborting the surrounding transaction
+    @Query(value = "INSERT INTO event (name, event_date, description, share_code)"
+            + " VALUES (:name, :eventDate, :description, :shareCode)"
+            + " ON CONFLICT (share_code) DO NOTHING RETURNING id", nativeQuery = true)
+    List<Long> insertUnlessCodeTaken(@Param("name") String name, @Param("eventDate") LocalDate eventDate,
+                                     @Param("description") String description, @Param("shareCode") String shareCode);
 }
@@ -0,0 +1,13 @@
+package com.example.quickagenda.repository;
+
+import com.example.quickagenda.entity.Feedback;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface FeedbackRepositoryCustom {
+    /**
+     * Newest first, strictly after the (createdAt, id) cursor when one is given. Null filters are ignored.
+     */
+    List<Feedback> findPage(String source, String shareCode, OffsetDateTime afterCreatedAt, Long afterId, int limit);
+}
@@ -0,0 +1,44 @@
+package com.example.quickagenda.repository;
+
+import com.example.quickagenda.entity.Feedback;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// Keyset pagination: the row-value comparison lets Postgres seek into the (…, created_at, id) indexes
+class FeedbackRepositoryImpl implements FeedbackRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<Feedback> findPage(String source, String shareCode, OffsetDateTime afterCreatedAt, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("select f from Feedback f where 1 = 1");
+        if (source != null) {
+            jpql.append(" and f.source = :source");
+        }
+        if (shareCode != null) {
+            jpql.append(" and f.shareCode = :shareCode");
+        }
+        if (afterCreatedAt != null) {
+            jpql.append(" and (f.createdAt, f.id) < (:createdAt, :id)");
+        }
+        jpql.append(" order by f.createdAt desc, f.id desc");
+
+        TypedQuery<Feedback> query = em.createQuery(jpql.toString(), Feedback.class).setMaxResults(limit);
+        if (source != null) {
+            query.setParameter("source", source);
+        }
+        if (shareCode != null) {
+            query.setParameter("shareCode", shareCode);
+        }
+        if (afterCreatedAt != null) {
+            query.setParameter("createdAt", afterCreatedAt);
+            query.setParameter("id", afterId);
+        }
+        return query.getResultList();
+    }
+}
@@ -2,12 +2,31 @@ package com.example.quickagenda.repository;
 
 import com.example.quickagenda.entity.Form;
 import com.example.quickagenda.entity.FormResponse;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface FormResponseRepository extends JpaRepository<FormResponse, Long> {
     Optional<FormResponse> findByFormAndEmail(Form form, String email);
+
+    // Locked, so concurrent re-submissions of one email each replace the answers the other committed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM FormResponse r WHERE r.form = :form AND r.email = :email")
+    Optional<FormResponse> lockByFormAndEmail(@Param("form") Form form, @Param("email") String email);
+
     List<FormResponse> findByFormOrderByCreatedAtDesc(Form form);
+
+    // jsonb containment, answered by the GIN (jsonb_path_ops) index on answers_json
+    @Query(value = "select * from form_responses where form_id = :formId and answers_json @> cast(:probe as jsonb) order by created_at desc",
+            nativeQuery = true)
+    List<FormResponse> findMatching(@Param("formId") Long formId, @Param("probe") String probe);
+
+    @Query(value = "select count(*) from form_responses where form_id = :formId and answers_json @> cast(:probe as jsonb)",
+            nativeQuery = true)
+    long countMatching(@Param("formId") Long formId, @Param("probe") String probe);
 }
@@ -16,8 +16,13 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
 
     @Modifying
     @Transactional
-    @Query("UPDATE Session s SET s.startTime = :start, s.endTime = :end WHERE s.id = :id")
-    void updateSessionTimes(@Param("id") Long id,
-                            @Param("start") LocalDateTime start,
-                            @Param("end") LocalDateTime end);
+    @Query("UPDATE Session s SET s.startTime = :start, s.endTime = :end WHERE s.id = :id AND s.event.id = :eventId")
+    int updateSessionTimes(@Param("eventId") Long eventId,
+                           @Param("id") Long id,
+                           @Param("start") LocalDateTime start,
+                           @Param("end") LocalDateTime end);
+
+    @Modifying
+    @Query("DELETE FROM Session s WHERE s.id = :id AND s.event.id = :eventId")
+    int deleteFromEvent(@Param("eventId") Long eventId, @Param("id") Long id);
 }
@@ -0,0 +1,71 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.EventDetailResponse;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One version of a public agenda, encoded once and served as-is to every reader of that version.
+ */
+@Getter
+public class AgendaSnapshot {
+
+    private final long version;
+    private final Instant lastModified;
+    private final EventDetailResponse detail;
+    private final byte[] json;
+    private final byte[] jsonGzip;
+    private final byte[] ics;
+    private final byte[] icsGzip;
+    private final String jsonEtag;
+    private final String icsEtag;
+    // Built on the first "now" lookup for this version; a racing second build is harmless
+    @Getter(AccessLevel.NONE)
+    private volatile SessionIntervalIndex sessionIndex;
+
+    AgendaSnapshot(long version, Instant lastModified, EventDetailResponse detail, byte[] json, byte[] ics) {
+        this.version = version;
+        this.lastModified = lastModified;
+        this.detail = detail;
+        this.json = json;
+        this.jsonGzip = gzip(json);
+        this.ics = ics;
+        this.icsGzip = gzip(ics);
+        // Weak tags: the gzip variants are the same representation, and DTSTAMP differs between rebuilds
+        CRC32C crc = new CRC32C();
+        crc.update(json);
+        String digest = Long.toHexString(crc.getValue());
+        this.jsonEtag = "W/\"" + digest + "\"";
+        this.icsEtag = "W/\"" + digest + "-ics\"";
+    }
+
+    SessionIntervalIndex sessionIndex() {
+        SessionIntervalIndex index = sessionIndex;
+        if (index == null) {
+            index = SessionIntervalIndex.of(detail.getSessions());
+            sessionIndex = index;
+        }
+        return index;
+    }
+
+    int weight() {
+        return json.length + jsonGzip.length + ics.length + icsGzip.length;
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
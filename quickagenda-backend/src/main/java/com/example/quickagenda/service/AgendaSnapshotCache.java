@@ -0,0 +1,164 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Per share code version counter plus the encoded snapshot of the latest version. Every agenda
+ * mutation bumps the version; a snapshot is only served while its version is still current, so a
+ * reader racing a writer can never pin stale bytes. Versions are local to this instance: writes
+ * made elsewhere only show once the version expires after {@code ttl} and the next read takes a
+ * fresh one, which also moves Last-Modified forward.
+ */
+@Component
+public class AgendaSnapshotCache {
+
+    // Unknown codes take a version too (readers look it up before the 404), so keep this bounded
+    private static final long MAX_VERSIONS = 100_000;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, AgendaSnapshot> snapshots;
+    private final Cache<String, Version> versions;
+    // Starts at the wall clock in microseconds, so versions keep increasing across restarts and an
+    // agenda stream's Last-Event-ID from the previous process never matches a current version
+    private final AtomicLong clock = new AtomicLong(TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()));
+
+    public AgendaSnapshotCache(ObjectMapper objectMapper,
+                               @Value("${quickagenda.cache.agendas.max-bytes:33554432}") long maxBytes,
+                               @Value("${quickagenda.cache.agendas.ttl:1m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<String, AgendaSnapshot>weigher((code, s) -> s.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // A snapshot outliving its version is never served, so the two bounds need not line up
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(MAX_VERSIONS)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public interface Loader {
+        Loaded load(String code);
+    }
+
+    public record Loaded(EventDetailResponse detail, byte[] ics) {
+    }
+
+    public AgendaSnapshot get(String code, Loader loader) {
+        AgendaSnapshot cached = getIfCurrent(code);
+        if (cached != null) {
+            return cached;
+        }
+        // Read the version before loading: if a write commits meanwhile, this snapshot is born stale
+        Version read = version(code);
+        return store(code, read, loader.load(code));
+    }
+
+    /**
+     * The cached snapshot if it is still the current version, otherwise null.
+     */
+    public AgendaSnapshot getIfCurrent(String code) {
+        AgendaSnapshot cached = snapshots.getIfPresent(code);
+        return cached != null && cached.getVersion() == currentVersion(code) ? cached : null;
+    }
+
+    /**
+     * For loaders that run asynchronously: take the version before reading, then hand it to
+     * {@link #store} with the data read.
+     */
+    Version version(String code) {
+        // No version, or an expired one: a new number from the clock, so a reused one can't match
+        return versions.get(code, k -> new Version(clock.incrementAndGet(), now()));
+    }
+
+    AgendaSnapshot store(String code, Version read, Loaded loaded) {
+        AgendaSnapshot built = new AgendaSnapshot(read.number, read.at, loaded.detail(), encode(loaded.detail()), loaded.ics());
+        if (currentVersion(code) == read.number) {
+            snapshots.put(code, built);
+        }
+        return built;
+    }
+
+    /**
+     * Marks the agenda as changed once the surrounding transaction completes (immediately when there is none).
+     */
+    public void bump(String code) {
+        bump(code, null);
+    }
+
+    /**
+     * As {@link #bump(String)}, then hands the new version to {@code onCommitted} if the transaction
+     * committed.
+     */
+    public void bump(String code, LongConsumer onCommitted) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    long version = bumpNow(code);
+                    if (onCommitted != null && status == STATUS_COMMITTED) {
+                        onCommitted.accept(version);
+                    }
+                }
+            });
+        } else {
+            long version = bumpNow(code);
+            if (onCommitted != null) {
+                onCommitted.accept(version);
+            }
+        }
+    }
+
+    private long bumpNow(String code) {
+        long version = clock.incrementAndGet();
+        versions.put(code, new Version(version, now()));
+        snapshots.invalidate(code);
+        return version;
+    }
+
+    public long currentVersion(String code) {
+        return version(code).number;
+    }
+
+    public CacheStats stats() {
+        return snapshots.stats();
+    }
+
+    public long size() {
+        return snapshots.estimatedSize();
+    }
+
+    private byte[] encode(EventDetailResponse detail) {
+        try {
+            return objectMapper.writeValueAsBytes(detail);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    record Version(long number, Instant at) {
+    }
+}
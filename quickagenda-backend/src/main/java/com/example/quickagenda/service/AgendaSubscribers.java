@@ -0,0 +1,251 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.AgendaChange;
+import com.example.quickagenda.dto.StreamStatsResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open agenda streams by share code. Publishing never waits on a client: every subscriber has a small
+ * bounded queue drained by its own task on a virtual thread, so a slow or stalled connection only
+ * holds up itself. A subscriber that falls a whole queue behind loses the queued changes and gets a
+ * single {@code RESYNC} instead. Idle streams get a heartbeat comment, which keeps proxies from
+ * closing them and finds connections that are gone; a write stuck for several heartbeats drops the
+ * stream, and the client's EventSource reconnects with {@code Last-Event-ID}.
+ */
+@Component
+public class AgendaSubscribers {
+
+    private static final Set<DataWithMediaType> CONNECTED = SseEmitter.event().comment("connected").build();
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+    private static final int STALLED_HEARTBEATS = 4;
+
+    private final AgendaSnapshotCache agendaSnapshots;
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final long stallNanos;
+    private final Map<String, Set<Subscriber>> byCode = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("agenda-stream-", 0).factory());
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+    private final AtomicLong heartbeats = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public AgendaSubscribers(AgendaSnapshotCache agendaSnapshots, ObjectMapper objectMapper,
+                             @Value("${quickagenda.stream.queue-capacity:16}") int queueCapacity,
+                             @Value("${quickagenda.stream.timeout:30m}") Duration timeout,
+                             @Value("${quickagenda.stream.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this.agendaSnapshots = agendaSnapshots;
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+        this.stallNanos = heartbeatInterval.toNanos() * STALLED_HEARTBEATS;
+    }
+
+    /**
+     * Opens a stream of the agenda's changes. A client resuming from any version other than the
+     * current one starts with a {@code RESYNC}; after a restart its version may even be ahead.
+     */
+    public SseEmitter subscribe(String code, Long lastSeenVersion) {
+        return subscribe(code, lastSeenVersion, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(String code, Long lastSeenVersion, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(code, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        byCode.compute(code, (k, set) -> {
+            Set<Subscriber> subscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            subscribers.add(subscriber);
+            return subscribers;
+        });
+        // Read after registering, so a change committed meanwhile is either counted here or published
+        long current = agendaSnapshots.currentVersion(code);
+        if (lastSeenVersion != null && lastSeenVersion != current) {
+            subscriber.offer(event(new AgendaChange(current, AgendaChange.Type.RESYNC, null)), current);
+        } else {
+            subscriber.offer(CONNECTED, current);
+        }
+        return emitter;
+    }
+
+    /**
+     * Queues the change for every stream of the agenda and returns without waiting for any of them.
+     */
+    public void publish(String code, AgendaChange change) {
+        Set<Subscriber> subscribers = byCode.get(code);
+        if (subscribers == null) {
+            return;
+        }
+        published.incrementAndGet();
+        Set<DataWithMediaType> payload = event(change);
+        for (Subscriber s : subscribers) {
+            s.offer(payload, change.getVersion());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quickagenda.stream.heartbeat-interval:15s}",
+            initialDelayString = "${quickagenda.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> subscribers : byCode.values()) {
+            for (Subscriber s : subscribers) {
+                s.heartbeat(now);
+            }
+        }
+    }
+
+    public int subscribers(String code) {
+        Set<Subscriber> subscribers = byCode.get(code);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    public StreamStatsResponse stats() {
+        long total = 0;
+        for (Set<Subscriber> subscribers : byCode.values()) {
+            total += subscribers.size();
+        }
+        return new StreamStatsResponse(total, byCode.size(), published.get(), delivered.get(),
+                resyncs.get(), heartbeats.get(), dropped.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> subscribers : byCode.values()) {
+            subscribers.forEach(s -> s.emitter.complete());
+        }
+        senders.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        byCode.computeIfPresent(subscriber.code, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // Built once per change and shared by every subscriber's send
+    private Set<DataWithMediaType> event(AgendaChange change) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(change.getVersion()))
+                    .name("change")
+                    .data(objectMapper.writeValueAsString(change))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Subscriber {
+
+        final String code;
+        final SseEmitter emitter;
+        // Guarded by this; only ever held for queue bookkeeping, never across a write
+        private final ArrayDeque<Set<DataWithMediaType>> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        private volatile long sendingSince;
+
+        Subscriber(String code, SseEmitter emitter) {
+            this.code = code;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> item, long version) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() >= queueCapacity) {
+                    queue.clear();
+                    queue.add(event(new AgendaChange(version, AgendaChange.Type.RESYNC, null)));
+                    resyncs.incrementAndGet();
+                } else {
+                    queue.add(item);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        void heartbeat(long now) {
+            long since = sendingSince;
+            if (since != 0 && now - since > stallNanos) {
+                close();
+                return;
+            }
+            synchronized (this) {
+                // Anything in flight already shows the connection is alive
+                if (draining || closed) {
+                    return;
+                }
+                queue.add(HEARTBEAT);
+                draining = true;
+            }
+            heartbeats.incrementAndGet();
+            senders.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> next;
+                synchronized (this) {
+                    next = queue.poll();
+                    if (next == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                }
+                sendingSince = System.nanoTime();
+                try {
+                    emitter.send(next);
+                    if (next != HEARTBEAT && next != CONNECTED) {
+                        delivered.incrementAndGet();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                } finally {
+                    sendingSince = 0;
+                }
+            }
+        }
+
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                queue.clear();
+            }
+            dropped.incrementAndGet();
+            remove(this);
+            senders.execute(emitter::complete);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.quickagenda.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns {@code fieldId:value} filters into a jsonb containment document ({@code answers_json @> probe}),
+ * typed after the field: multi_select values become array members, yes_no a boolean, number a
+ * numeric. Several filters are ANDed.
+ */
+final class AnswerProbe {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private AnswerProbe() {
+    }
+
+    /**
+     * @return the probe as JSON text, or null when there are no filters
+     */
+    static String build(CompiledForm form, List<String> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return null;
+        }
+        Map<Long, CompiledForm.Field> byId = new HashMap<>();
+        for (CompiledForm.Field f : form.getFields()) {
+            byId.put(f.id(), f);
+        }
+        ObjectNode probe = NODES.objectNode();
+        for (String filter : filters) {
+            int sep = filter.indexOf(':');
+            if (sep <= 0) {
+                throw bad("filter must be fieldId:value, got " + filter);
+            }
+            CompiledForm.Field field;
+            try {
+                field = byId.get(Long.parseLong(filter.substring(0, sep).trim()));
+            } catch (NumberFormatException e) {
+                field = null;
+            }
+            if (field == null) {
+                throw bad("unknown field in filter " + filter);
+            }
+            String key = Long.toString(field.id());
+            String raw = filter.substring(sep + 1);
+            if ("multi_select".equals(field.type())) {
+                JsonNode existing = probe.get(key);
+                ArrayNode values = existing instanceof ArrayNode a ? a : probe.putArray(key);
+                values.add(raw);
+            } else {
+                probe.set(key, scalar(field, raw));
+            }
+        }
+        return probe.toString();
+    }
+
+    private static JsonNode scalar(CompiledForm.Field field, String raw) {
+        switch (field.type()) {
+            case "yes_no" -> {
+                if (raw.equalsIgnoreCase("true") || raw.equalsIgnoreCase("yes")) return NODES.booleanNode(true);
+                if (raw.equalsIgnoreCase("false") || raw.equalsIgnoreCase("no")) return NODES.booleanNode(false);
+                throw bad("expected yes or no for field " + field.id());
+            }
+            case "number" -> {
+                try {
+                    BigDecimal n = new BigDecimal(raw.trim());
+                    // 5 and 5.0 are equal jsonb numerics, so one representation matches both
+                    return NODES.numberNode(n);
+                } catch (NumberFormatException e) {
+                    throw bad("expected a number for field " + field.id());
+                }
+            }
+            default -> {
+                return NODES.textNode(raw);
+            }
+        }
+    }
+
+    private static ResponseStatusException bad(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.quickagenda.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks an answers document against one form version. Everything derived from the field
+ * definitions (types, option sets, bounds) is resolved once at compile time; field ids map to
+ * checkers through a dense array offset by the smallest id, falling back to a hash map when the
+ * ids are too sparse for that.
+ */
+final class AnswerValidator {
+
+    private interface Checker {
+        /**
+         * @return an error message, or null when the value is acceptable
+         */
+        String check(JsonNode value);
+    }
+
+    private final long base;
+    private final int[] slots;            // id - base -> field position, -1 when no such field
+    private final Map<Long, Integer> sparse;
+    private final Checker[] checkers;
+    private final boolean[] required;
+    private final String[] keys;
+
+    private AnswerValidator(long base, int[] slots, Map<Long, Integer> sparse, Checker[] checkers, boolean[] required, String[] keys) {
+        this.base = base;
+        this.slots = slots;
+        this.sparse = sparse;
+        this.checkers = checkers;
+        this.required = required;
+        this.keys = keys;
+    }
+
+    static AnswerValidator compile(List<CompiledForm.Field> fields) {
+        int n = fields.size();
+        Checker[] checkers = new Checker[n];
+        boolean[] required = new boolean[n];
+        String[] keys = new String[n];
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            CompiledForm.Field f = fields.get(i);
+            checkers[i] = checker(f);
+            required[i] = f.required();
+            keys[i] = Long.toString(f.id());
+            min = Math.min(min, f.id());
+            max = Math.max(max, f.id());
+        }
+        // Ids come from one pooled-sequence batch per upsert, so they are normally contiguous
+        if (n == 0 || max - min < 4L * n + 16) {
+            int[] slots = new int[n == 0 ? 0 : (int) (max - min + 1)];
+            Arrays.fill(slots, -1);
+            for (int i = 0; i < n; i++) {
+                slots[(int) (fields.get(i).id() - min)] = i;
+            }
+            return new AnswerValidator(n == 0 ? 0 : min, slots, null, checkers, required, keys);
+        }
+        Map<Long, Integer> sparse = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            sparse.put(fields.get(i).id(), i);
+        }
+        return new AnswerValidator(0, null, sparse, checkers, required, keys);
+    }
+
+    /**
+     * @return field key -> message for every problem found; empty when the answers are valid
+     * @throws FormChangedException for a key that is not a field of this version
+     */
+    Map<String, String> validate(JsonNode answers) {
+        Map<String, String> errors = null;
+        boolean[] seen = new boolean[checkers.length];
+        if (answers != null && !answers.isNull()) {
+            if (!answers.isObject()) {
+                return Map.of("answers", "must be an object");
+            }
+            for (Map.Entry<String, JsonNode> e : answers.properties()) {
+                int i = slot(e.getKey());
+                if (i < 0) {
+                    throw new FormChangedException();
+                }
+                JsonNode v = e.getValue();
+                if (isEmpty(v)) {
+                    continue;
+                }
+                seen[i] = true;
+                String error = checkers[i].check(v);
+                if (error != null) {
+                    if (errors == null) {
+                        errors = new LinkedHashMap<>();
+                    }
+                    errors.put(e.getKey(), error);
+                }
+            }
+        }
+        for (int i = 0; i < required.length; i++) {
+            if (required[i] && !seen[i]) {
+                if (errors == null) {
+                    errors = new LinkedHashMap<>();
+                }
+                errors.putIfAbsent(keys[i], "This field is required");
+            }
+        }
+        return errors == null ? Map.of() : errors;
+    }
+
+    private int slot(String key) {
+        long id = parseId(key);
+        if (id < 0) {
+            return -1;
+        }
+        if (slots != null) {
+            long off = id - base;
+            return off < 0 || off >= slots.length ? -1 : slots[(int) off];
+        }
+        Integer i = sparse.get(id);
+        return i == null ? -1 : i;
+    }
+
+    // Digits only, no allocation and no exception on junk keys
+    private static long parseId(String key) {
+        int len = key.length();
+        if (len == 0 || len > 18) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = 0; i < len; i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    // Same notion of "not answered" as the form UI: null, blank text, empty list
+    private static boolean isEmpty(JsonNode v) {
+        return v.isNull()
+                || (v.isTextual() && v.textValue().isBlank())
+                || (v.isArray() && v.isEmpty());
+    }
+
+    private static Checker checker(CompiledForm.Field f) {
+        JsonNode config = f.config();
+        return switch (f.type() == null ? "" : f.type()) {
+            case "number" -> numberChecker(decimal(config, "min"), decimal(config, "max"));
+            case "yes_no" -> v -> v.isBoolean() ? null : "Expected yes or no";
+            case "single_select" -> {
+                Set<String> options = options(f.options());
+                yield v -> {
+                    if (!v.isTextual()) return "Expected a single choice";
+                    return options == null || options.contains(v.textValue()) ? null : "Not one of the options";
+                };
+            }
+            case "multi_select" -> {
+                Set<String> options = options(f.options());
+                yield v -> {
+                    if (!v.isArray()) return "Expected a list of choices";
+                    for (JsonNode item : v) {
+                        if (!item.isTextual()) return "Expected a list of choices";
+                        if (options != null && !options.contains(item.textValue())) return "Not one of the options: " + item.textValue();
+                    }
+                    return null;
+                };
+            }
+            case "date" -> dateChecker(date(config, "min"), date(config, "max"));
+            default -> v -> v.isTextual() ? null : "Expected text";
+        };
+    }
+
+    private static Checker numberChecker(BigDecimal min, BigDecimal max) {
+        long lo = min == null ? Long.MIN_VALUE : min.setScale(0, RoundingMode.CEILING).longValue();
+        long hi = max == null ? Long.MAX_VALUE : max.setScale(0, RoundingMode.FLOOR).longValue();
+        return v -> {
+            // Integers (the common case) compare without BigDecimal
+            if (v.canConvertToLong() && v.isIntegralNumber()) {
+                long x = v.longValue();
+                if (x < lo) return "Minimum is " + min.toPlainString();
+                if (x > hi) return "Maximum is " + max.toPlainString();
+                return null;
+            }
+            BigDecimal n;
+            if (v.isNumber()) {
+                n = v.decimalValue();
+            } else if (v.isTextual()) {
+                try {
+                    n = new BigDecimal(v.textValue().trim());
+                } catch (NumberFormatException e) {
+                    return "Expected a number";
+                }
+            } else {
+                return "Expected a number";
+            }
+            if (min != null && n.compareTo(min) < 0) return "Minimum is " + min.toPlainString();
+            if (max != null && n.compareTo(max) > 0) return "Maximum is " + max.toPlainString();
+            return null;
+        };
+    }
+
+    private static Checker dateChecker(LocalDate min, LocalDate max) {
+        return v -> {
+            if (!v.isTextual()) return "Expected a date";
+            LocalDate d;
+            try {
+                d = LocalDate.parse(v.textValue());
+            } catch (DateTimeParseException e) {
+                return "Expected a date (yyyy-MM-dd)";
+            }
+            if (min != null && d.isBefore(min)) return "Earliest is " + min;
+            if (max != null && d.isAfter(max)) return "Latest is " + max;
+            return null;
+        };
+    }
+
+    // null when the field has no usable option list, in which case any choice is accepted
+    private static Set<String> options(JsonNode options) {
+        if (options == null || !options.isArray() || options.isEmpty()) {
+            return null;
+        }
+        Set<String> set = new HashSet<>(options.size() * 2);
+        options.forEach(o -> set.add(o.asText()));
+        return set;
+    }
+
+    private static BigDecimal decimal(JsonNode config, String name) {
+        JsonNode v = config == null ? null : config.get(name);
+        if (v == null || v.isNull()) {
+            return null;
+        }
+        try {
+            return v.isNumber() ? v.decimalValue() : new BigDecimal(v.asText().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static LocalDate date(JsonNode config, String name) {
+        JsonNode v = config == null ? null : config.get(name);
+        if (v == null || !v.isTextual()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(v.textValue());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
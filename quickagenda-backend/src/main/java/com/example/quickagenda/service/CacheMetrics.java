@@ -0,0 +1,56 @@
+package com.example.quickagenda.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The in-memory caches as {@code cache.*} meters, named like Micrometer's own cache binders, with
+ * the same numbers as {@code /api/admin/stats/caches}.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    private final ShareCodeCache shareCodes;
+    private final AgendaSnapshotCache agendas;
+    private final FormDefinitionCache forms;
+
+    public CacheMetrics(ShareCodeCache shareCodes, AgendaSnapshotCache agendas, FormDefinitionCache forms) {
+        this.shareCodes = shareCodes;
+        this.agendas = agendas;
+        this.forms = forms;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "shareCodes", shareCodes::stats, shareCodes::size);
+        bind(registry, "agendas", agendas::stats, agendas::size);
+        bind(registry, "forms", forms::stats, forms::size);
+    }
+
+    private static void bind(MeterRegistry registry, String name, Supplier<CacheStats> stats, LongSupplier size) {
+        Gauge.builder("cache.size", size::getAsLong).tag("cache", name)
+                .description("Entries currently in the cache").register(registry);
+        counter(registry, name, "cache.gets", "result", "hit", stats, CacheStats::hitCount);
+        counter(registry, name, "cache.gets", "result", "miss", stats, CacheStats::missCount);
+        counter(registry, name, "cache.evictions", null, null, stats, CacheStats::evictionCount);
+    }
+
+    private static void counter(MeterRegistry registry, String name, String meter, String tag, String value,
+                                Supplier<CacheStats> stats, ToDoubleFunction<CacheStats> count) {
+        FunctionCounter.Builder<Supplier<CacheStats>> builder = FunctionCounter
+                .builder(meter, stats, s -> count.applyAsDouble(s.get()))
+                .tag("cache", name);
+        if (tag != null) {
+            builder.tag(tag, value);
+        }
+        builder.register(registry);
+    }
+}
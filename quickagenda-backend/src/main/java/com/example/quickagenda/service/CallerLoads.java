@@ -0,0 +1,48 @@
+package com.example.quickagenda.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Fills a cache miss on the calling thread, outside any lock of the cache. Concurrent callers for
+ * the same key wait on the first caller's future instead of loading again. Caffeine's own
+ * {@code get(key, loader)} runs the loader inside a ConcurrentHashMap bin lock, which pins a
+ * virtual thread to its carrier for the whole database round trip.
+ */
+final class CallerLoads {
+
+    private CallerLoads() {
+    }
+
+    /**
+     * A null or failed load is not cached, matching the synchronous {@code Cache.get}.
+     */
+    static <K, V> V get(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> existing = cache.getIfPresent(key);
+        if (existing == null) {
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            existing = cache.asMap().putIfAbsent(key, mine);
+            if (existing == null) {
+                try {
+                    V value = loader.apply(key);
+                    mine.complete(value);
+                    return value;
+                } catch (RuntimeException | Error e) {
+                    mine.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.FormConfigResponse;
+import com.example.quickagenda.entity.Form;
+import com.example.quickagenda.entity.FormField;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, pre-processed view of one version of a form: parsed field options/config, the open
+ * window as epoch millis, the public config already encoded as JSON and the answer validator. Built once per
+ * {@code upsertForm} and shared by every reader until the next one.
+ */
+@Getter
+public final class CompiledForm {
+
+    public record Field(long id, String type, String label, boolean required, int orderIndex,
+                        JsonNode options, JsonNode config) {
+    }
+
+    private final long formId;
+    private final long eventId;
+    private final boolean active;
+    private final long openAtMillis;
+    private final long closeAtMillis;
+    private final List<Field> fields;
+    private final FormConfigResponse config;
+    private final byte[] configJson;
+    @Getter(AccessLevel.NONE)
+    private final AnswerValidator validator;
+
+    private CompiledForm(long formId, long eventId, boolean active, long openAtMillis, long closeAtMillis,
+                         List<Field> fields, FormConfigResponse config, byte[] configJson, AnswerValidator validator) {
+        this.formId = formId;
+        this.eventId = eventId;
+        this.active = active;
+        this.openAtMillis = openAtMillis;
+        this.closeAtMillis = closeAtMillis;
+        this.fields = fields;
+        this.config = config;
+        this.configJson = configJson;
+        this.validator = validator;
+    }
+
+    static CompiledForm compile(Form form, List<FormField> formFields, ObjectMapper objectMapper) {
+        List<Field> fields = new ArrayList<>(formFields.size());
+        for (FormField f : formFields) {
+            fields.add(new Field(f.getId(), f.getType(), f.getLabel(), f.isRequired(), f.getOrderIndex(),
+                    parse(objectMapper, f.getOptionsJson()), parse(objectMapper, f.getConfigJson())));
+        }
+        FormConfigResponse config = FormService.toConfig(form, formFields);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(config);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new CompiledForm(form.getId(), form.getEvent().getId(), form.isActive(),
+                form.getOpenAt() == null ? Long.MIN_VALUE : form.getOpenAt().toInstant().toEpochMilli(),
+                form.getCloseAt() == null ? Long.MAX_VALUE : form.getCloseAt().toInstant().toEpochMilli(),
+                Collections.unmodifiableList(fields), config, json, AnswerValidator.compile(fields));
+    }
+
+    /**
+     * Active and within [openAt, closeAt] at the given instant.
+     */
+    public boolean isOpenAt(long epochMillis) {
+        return active && epochMillis >= openAtMillis && epochMillis <= closeAtMillis;
+    }
+
+    /**
+     * Whether {@code other} was compiled from the same definition, e.g. reloaded after the cache expired.
+     */
+    public boolean sameDefinition(CompiledForm other) {
+        return this == other || formId == other.formId && Arrays.equals(configJson, other.configJson);
+    }
+
+    /**
+     * @return field id -> message for each invalid or missing answer; empty when the document is acceptable
+     * @throws FormChangedException when the answers were made for another version of the form
+     */
+    public Map<String, String> validate(JsonNode answers) {
+        return validator.validate(answers);
+    }
+
+    // Organizers type these by hand; unparseable JSON is kept verbatim in the config and treated as absent here
+    private static JsonNode parse(ObjectMapper objectMapper, String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
@@ -1,39 +1,46 @@
 package com.example.quickagenda.service;
 
+import com.example.quickagenda.dto.AgendaChange;
+import com.example.quickagenda.dto.AgendaNowResponse;
 import com.example.quickagenda.dto.EventCreateRequest;
 import com.example.quickagenda.dto.EventDetailResponse;
 import com.example.quickagenda.dto.EventUpdateRequest;
+import com.example.quickagenda.dto.SessionChangeSummary;
+import com.example.quickagenda.dto.SessionConflict;
 import com.example.quickagenda.dto.SessionCreateRequest;
 import com.example.quickagenda.dto.SessionResponse;
 import com.example.quickagenda.dto.SessionTimeUpdateRequest;
 import com.example.quickagenda.entity.Event;
 import com.example.quickagenda.entity.Session;
+import com.example.quickagenda.repository.AgendaRow;
 import com.example.quickagenda.repository.EventRepository;
 import com.example.quickagenda.repository.SessionRepository;
-import net.fortuna.ical4j.data.CalendarOutputter;
-import net.fortuna.ical4j.model.Calendar;
-import net.fortuna.ical4j.model.DateTime;
-import net.fortuna.ical4j.model.component.VEvent;
-import net.fortuna.ical4j.model.property.CalScale;
-import net.fortuna.ical4j.model.property.Description;
-import net.fortuna.ical4j.model.property.Location;
-import net.fortuna.ical4j.model.property.ProdId;
-import net.fortuna.ical4j.model.property.Version;
-import org.apache.commons.text.RandomStringGenerator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,159 +48,317 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final SessionRepository sessionRepository;
+    private final ShareCodeCache shareCodeCache;
+    private final AgendaSnapshotCache agendaSnapshots;
+    private final ShareCodeAllocator shareCodes;
+    private final AgendaSubscribers subscribers;
 
     private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm");
-
-    public EventService(EventRepository eventRepository, SessionRepository sessionRepository) {
+    private static final int MAX_CODE_ATTEMPTS = 5;
+    private static final String ICS_PROD_ID = "-//Quickagenda//Quickagenda//EN";
+
+    // On the global registry because toLoaded is static and shared with the reactive reader
+    private static final Timer ICS_RENDER = Timer.builder("quickagenda.ics.render")
+            .description("Time to write an agenda's ICS calendar")
+            .publishPercentileHistogram()
+            .register(Metrics.globalRegistry);
+    private static final DistributionSummary ICS_SIZE = DistributionSummary.builder("quickagenda.ics.size")
+            .description("Size of a generated ICS calendar")
+            .baseUnit("bytes")
+            .publishPercentileHistogram()
+            .register(Metrics.globalRegistry);
+
+    public EventService(EventRepository eventRepository, SessionRepository sessionRepository,
+                        ShareCodeCache shareCodeCache, AgendaSnapshotCache agendaSnapshots,
+                        ShareCodeAllocator shareCodes, AgendaSubscribers subscribers) {
         this.eventRepository = eventRepository;
         this.sessionRepository = sessionRepository;
+        this.shareCodeCache = shareCodeCache;
+        this.agendaSnapshots = agendaSnapshots;
+        this.shareCodes = shareCodes;
+        this.subscribers = subscribers;
     }
 
     @Transactional
-    public Event createEvent(EventCreateRequest request) {
-        Event event = new Event();
-        event.setName(request.getName());
-        event.setEventDate(request.getEventDate());
-        event.setDescription(request.getDescription());
-        event.setShareCode(generateShareCode());
-
-        Event savedEvent = eventRepository.save(event);
+    public EventDetailResponse createEvent(EventCreateRequest request) {
+        return createEvent(request, false);
+    }
 
-        List<Session> toSave = new ArrayList<>();
+    /**
+     * Creates the event and its sessions. The answer lists the sessions that share a location at the
+     * same time; in strict mode any such overlap rejects the event instead.
+     */
+    @Transactional
+    public EventDetailResponse createEvent(EventCreateRequest request, boolean strict) {
+        LocalDate date = request.getEventDate();
+        List<SessionResponse> planned = new ArrayList<>();
         if (request.getSessions() != null) {
-            LocalDate date = request.getEventDate();
             for (SessionCreateRequest s : request.getSessions()) {
+                planned.add(new SessionResponse(null, s.getTitle(), atTime(date, s.getStart()), atTime(date, s.getEnd()), s.getLocation()));
+            }
+        }
+        if (strict) {
+            rejectConflicts(planned, null);
+        }
+
+        // Allocated codes never repeat; only legacy or differently keyed codes can be taken already
+        Long id = null;
+        String code = null;
+        for (int attempt = 0; id == null; attempt++) {
+            if (attempt == MAX_CODE_ATTEMPTS) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Could not allocate a share code");
+            }
+            code = shareCodes.next();
+            id = eventRepository.insertUnlessCodeTaken(request.getName(), request.getEventDate(),
+                    request.getDescription(), code).stream().findFirst().orElse(null);
+        }
+        Event savedEvent = new Event(id, request.getName(), request.getEventDate(), request.getDescription(), code);
+
+        List<Session> toSave = new ArrayList<>(planned.size());
+        if (!planned.isEmpty()) {
+            Event event = eventRepository.getReferenceById(id);
+            for (SessionResponse s : planned) {
                 Session sess = new Session();
                 sess.setTitle(s.getTitle());
                 sess.setLocation(s.getLocation());
-                LocalDateTime start = LocalDateTime.of(date, LocalTime.parse(s.getStart(), TIME_FMT));
-                LocalDateTime end = LocalDateTime.of(date, LocalTime.parse(s.getEnd(), TIME_FMT));
-                sess.setStartTime(start);
-                sess.setEndTime(end);
-                sess.setEvent(savedEvent);
+                sess.setStartTime(s.getStartTime());
+                sess.setEndTime(s.getEndTime());
+                sess.setEvent(event);
                 toSave.add(sess);
             }
-            if (!toSave.isEmpty()) {
-                sessionRepository.saveAll(toSave);
-            }
+            sessionRepository.saveAll(toSave);
         }
 
-        return savedEvent;
+        return withConflicts(toDetailResponse(savedEvent, toSave));
     }
 
     public EventDetailResponse getEventByShareCode(String code) {
-        Event event = eventRepository.findByShareCode(code)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        List<Session> sessions = sessionRepository.findByEvent(event);
-        return toDetailResponse(event, sessions);
+        return getAgendaSnapshot(code).getDetail();
     }
 
-    public byte[] buildIcsByShareCode(String code) {
-        Event event = eventRepository.findByShareCode(code)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        List<Session> sessions = sessionRepository.findByEvent(event);
-
-        Calendar calendar = new Calendar();
-        calendar.getProperties().add(new ProdId("-//Quickagenda//iCal4j//EN"));
-        calendar.getProperties().add(Version.VERSION_2_0);
-        calendar.getProperties().add(CalScale.GREGORIAN);
-
-        ZoneId zone = ZoneId.systemDefault();
-        for (Session s : sessions) {
-            ZonedDateTime zStart = s.getStartTime().atZone(zone);
-            ZonedDateTime zEnd = s.getEndTime().atZone(zone);
-            DateTime dtStart = new DateTime(java.util.Date.from(zStart.toInstant()));
-            DateTime dtEnd = new DateTime(java.util.Date.from(zEnd.toInstant()));
-
-            VEvent vevent = new VEvent(dtStart, dtEnd, s.getTitle());
-            if (s.getLocation() != null && !s.getLocation().isBlank()) {
-                vevent.getProperties().add(new Location(s.getLocation()));
-            }
-            if (event.getDescription() != null && !event.getDescription().isBlank()) {
-                vevent.getProperties().add(new Description(event.getDescription()));
-            }
-            calendar.getComponents().add(vevent);
+    public AgendaSnapshot getAgendaSnapshot(String code) {
+        return agendaSnapshots.get(code, this::loadAgenda);
+    }
+
+    /**
+     * Sessions running at {@code at} and those starting next, optionally in one location, answered
+     * from the interval index of the current agenda snapshot. {@code at} is an ISO date-time or HH:mm
+     * on the event's date, and defaults to now.
+     */
+    public AgendaNowResponse getNow(String code, String at, String location) {
+        AgendaSnapshot snapshot = getAgendaSnapshot(code);
+        LocalDateTime time = at == null || at.isBlank()
+                ? LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                : parseAt(snapshot.getDetail().getEventDate(), at);
+        SessionIntervalIndex index = snapshot.sessionIndex().at(location);
+        return new AgendaNowResponse(time, index.runningAt(time), index.nextAfter(time));
+    }
+
+    private static LocalDateTime parseAt(LocalDate date, String at) {
+        try {
+            return at.contains("T") ? LocalDateTime.parse(at) : atTime(date != null ? date : LocalDate.now(), at);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "at must be an ISO date-time or HH:mm");
         }
+    }
 
+    /**
+     * Opens a stream of the agenda's changes; {@code lastEventId} is the version a reconnecting
+     * client saw last.
+     */
+    public SseEmitter subscribe(String code, Long lastEventId) {
+        getAgendaSnapshot(code); // 404 for unknown codes, usually from the cache
+        return subscribers.subscribe(code, lastEventId);
+    }
+
+    private AgendaSnapshotCache.Loaded loadAgenda(String code) {
+        return toLoaded(toDetailResponse(eventRepository.findAgenda(code)));
+    }
+
+    static AgendaSnapshotCache.Loaded toLoaded(EventDetailResponse detail) {
+        ByteArrayOutputStream ics = new ByteArrayOutputStream(256 + detail.getSessions().size() * 192);
+        long started = System.nanoTime();
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            new CalendarOutputter().output(calendar, baos);
-            return baos.toByteArray();
-        } catch (Exception e) {
+            writeIcs(detail, ics);
+        } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to generate calendar");
         }
+        ICS_RENDER.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        ICS_SIZE.record(ics.size());
+        return new AgendaSnapshotCache.Loaded(detail, ics.toByteArray());
     }
 
-    private EventDetailResponse toDetailResponse(Event event, List<Session> sessions) {
-        List<SessionResponse> sessionDtos = sessions.stream().map(s -> new SessionResponse(
-                s.getId(),
-                s.getTitle(),
-                s.getStartTime(),
-                s.getEndTime(),
-                s.getLocation()
-        )).collect(Collectors.toList());
-        return new EventDetailResponse(event.getId(), event.getName(), event.getEventDate(), event.getDescription(), event.getShareCode(), sessionDtos);
+    static void writeIcs(EventDetailResponse detail, OutputStream out) throws IOException {
+        boolean utc = ZoneId.systemDefault().normalized().equals(ZoneOffset.UTC);
+        IcsWriter ics = new IcsWriter(out, Instant.now(), utc).beginCalendar(ICS_PROD_ID);
+        for (SessionResponse s : detail.getSessions()) {
+            ics.event(s.getStartTime(), s.getEndTime(), s.getTitle(), s.getLocation(), detail.getDescription());
+        }
+        ics.endCalendar();
     }
 
-    @Transactional
-    public void updateSessionTimes(String code, Long sessionId, SessionTimeUpdateRequest body) {
-        Event event = eventRepository.findByShareCode(code)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    /**
+     * Assembles the detail from {@link EventRepository#findAgenda} rows; no rows means no such event.
+     */
+    static EventDetailResponse toDetailResponse(List<AgendaRow> rows) {
+        if (rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        AgendaRow first = rows.get(0);
+        List<SessionResponse> sessions = new ArrayList<>(rows.size());
+        for (AgendaRow row : rows) {
+            if (row.sessionId() != null) {
+                sessions.add(new SessionResponse(row.sessionId(), row.title(), row.startTime(), row.endTime(), row.location()));
+            }
+        }
+        return new EventDetailResponse(first.eventId(), first.name(), first.eventDate(), first.description(), first.shareCode(), sessions, null, null, false);
+    }
 
-        Session session = sessionRepository.findById(sessionId)
+    static EventDetailResponse toDetailResponse(Event event, List<Session> sessions) {
+        List<SessionResponse> sessionDtos = sessions.stream().map(EventService::toResponse).collect(Collectors.toList());
+        return withSessions(event, sessionDtos);
+    }
+
+    private static SessionResponse toResponse(Session s) {
+        return new SessionResponse(s.getId(), s.getTitle(), s.getStartTime(), s.getEndTime(), s.getLocation());
+    }
+
+    private static EventDetailResponse withSessions(Event event, List<SessionResponse> sessions) {
+        return new EventDetailResponse(event.getId(), event.getName(), event.getEventDate(), event.getDescription(), event.getShareCode(), sessions, null, null, false);
+    }
+
+    // The cached detail is shared with readers: mutations answer with a changed copy of it
+    private static EventDetailResponse withSessions(EventDetailResponse detail, List<SessionResponse> sessions) {
+        return new EventDetailResponse(detail.getId(), detail.getName(), detail.getEventDate(), detail.getDescription(), detail.getShareCode(), sessions, null, null, false);
+    }
+
+    private static SessionResponse sessionOr404(EventDetailResponse detail, Long sessionId) {
+        return detail.getSessions().stream()
+                .filter(s -> s.getId().equals(sessionId))
+                .findFirst()
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
 
-        if (session.getEvent() == null || !session.getEvent().getId().equals(event.getId())) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+    // Strict writes are refused when a session they add or change overlaps another in its location
+    private static void rejectConflicts(List<SessionResponse> planned, Set<SessionResponse> touched) {
+        ScheduleConflicts.Report report = ScheduleConflicts.report(planned, touched);
+        if (!report.conflicts().isEmpty()) {
+            throw new ScheduleConflictException(report.conflicts(), report.truncated());
         }
+    }
 
-        LocalDate date = event.getEventDate();
-        LocalDateTime start = LocalDateTime.of(date, LocalTime.parse(body.getStart(), TIME_FMT));
-        LocalDateTime end = LocalDateTime.of(date, LocalTime.parse(body.getEnd(), TIME_FMT));
+    // Every overlap in the resulting agenda is reported, including ones this write did not cause
+    private static EventDetailResponse withConflicts(EventDetailResponse response) {
+        ScheduleConflicts.Report report = ScheduleConflicts.report(response.getSessions(), null);
+        response.setConflicts(report.conflicts());
+        response.setConflictsTruncated(report.truncated());
+        return response;
+    }
+
+    // Bumps the agenda's version and, once the transaction commits, tells its open streams
+    private void changed(String code, AgendaChange.Type type, Long sessionId) {
+        agendaSnapshots.bump(code, version -> subscribers.publish(code, new AgendaChange(version, type, sessionId)));
+    }
+
+    // Mutations plan against the agenda read under the event's row lock, never the cached snapshot:
+    // concurrent writers to one event queue up and each sees the sessions the previous one committed
+
+    private EventDetailResponse lockedAgenda(String code) {
+        eventRepository.lockByShareCode(code).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        return toDetailResponse(eventRepository.findAgenda(code));
+    }
+
+    @Transactional
+    public EventDetailResponse updateSessionTimes(String code, Long sessionId, SessionTimeUpdateRequest body) {
+        return updateSessionTimes(code, sessionId, body, false);
+    }
+
+    @Transactional
+    public EventDetailResponse updateSessionTimes(String code, Long sessionId, SessionTimeUpdateRequest body, boolean strict) {
+        EventDetailResponse detail = lockedAgenda(code);
+        SessionResponse current = sessionOr404(detail, sessionId);
+
+        LocalDate date = detail.getEventDate();
+        LocalDateTime start = atTime(date, body.getStart());
+        LocalDateTime end = atTime(date, body.getEnd());
+        SessionResponse moved = new SessionResponse(sessionId, current.getTitle(), start, end, current.getLocation());
+        List<SessionResponse> sessions = new ArrayList<>(detail.getSessions());
+        sessions.replaceAll(s -> s.getId().equals(sessionId) ? moved : s);
+        if (strict) {
+            Set<SessionResponse> touched = ScheduleConflicts.identitySet();
+            touched.add(moved);
+            rejectConflicts(sessions, touched);
+        }
+
+        if (sessionRepository.updateSessionTimes(detail.getId(), sessionId, start, end) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        changed(code, AgendaChange.Type.SESSION_MOVED, sessionId);
 
-        sessionRepository.updateSessionTimes(sessionId, start, end);
+        return withConflicts(withSessions(detail, sessions));
     }
 
     @Transactional
     public EventDetailResponse addSession(String code, SessionCreateRequest request) {
-        Event event = eventRepository.findByShareCode(code)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        return addSession(code, request, false);
+    }
+
+    @Transactional
+    public EventDetailResponse addSession(String code, SessionCreateRequest request, boolean strict) {
+        EventDetailResponse detail = lockedAgenda(code);
+
+        LocalDate date = detail.getEventDate();
+        SessionResponse added = new SessionResponse(null, request.getTitle(),
+                atTime(date, request.getStart()), atTime(date, request.getEnd()), request.getLocation());
+        // Sequence ids only grow, so the new session sorts last like it will on the next read
+        List<SessionResponse> sessions = new ArrayList<>(detail.getSessions());
+        sessions.add(added);
+        if (strict) {
+            Set<SessionResponse> touched = ScheduleConflicts.identitySet();
+            touched.add(added);
+            rejectConflicts(sessions, touched);
+        }
 
-        LocalDate date = event.getEventDate();
         Session sess = new Session();
-        sess.setTitle(request.getTitle());
-        sess.setLocation(request.getLocation());
-        LocalDateTime start = LocalDateTime.of(date, LocalTime.parse(request.getStart(), TIME_FMT));
-        LocalDateTime end = LocalDateTime.of(date, LocalTime.parse(request.getEnd(), TIME_FMT));
-        sess.setStartTime(start);
-        sess.setEndTime(end);
-        sess.setEvent(event);
+        sess.setTitle(added.getTitle());
+        sess.setLocation(added.getLocation());
+        sess.setStartTime(added.getStartTime());
+        sess.setEndTime(added.getEndTime());
+        sess.setEvent(eventRepository.getReferenceById(detail.getId()));
         sessionRepository.save(sess);
+        changed(code, AgendaChange.Type.SESSION_ADDED, sess.getId());
 
-        List<Session> sessions = sessionRepository.findByEvent(event);
-        return toDetailResponse(event, sessions);
+        added.setId(sess.getId());
+        return withConflicts(withSessions(detail, sessions));
     }
 
     @Transactional
     public EventDetailResponse deleteSession(String code, Long sessionId) {
-        Event event = eventRepository.findByShareCode(code)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        EventDetailResponse detail = lockedAgenda(code);
+        sessionOr404(detail, sessionId);
 
-        Session session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        if (session.getEvent() == null || !session.getEvent().getId().equals(event.getId())) {
+        if (sessionRepository.deleteFromEvent(detail.getId(), sessionId) == 0) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
         }
-        sessionRepository.delete(session);
+        changed(code, AgendaChange.Type.SESSION_DELETED, sessionId);
 
-        List<Session> sessions = sessionRepository.findByEvent(event);
-        return toDetailResponse(event, sessions);
+        List<SessionResponse> sessions = new ArrayList<>(detail.getSessions());
+        sessions.removeIf(s -> s.getId().equals(sessionId));
+        return withConflicts(withSessions(detail, sessions));
     }
 
     @Transactional
     public EventDetailResponse updateEvent(String code, EventUpdateRequest request) {
-        Event event = eventRepository.findByShareCode(code)
+        return updateEvent(code, request, false);
+    }
+
+    @Transactional
+    public EventDetailResponse updateEvent(String code, EventUpdateRequest request, boolean strict) {
+        Event event = eventRepository.lockByShareCode(code)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        List<SessionResponse> unchanged = request.getSessions() == null ? sessionsOf(event) : null;
+        shareCodeCache.evict(code);
+        changed(code, AgendaChange.Type.EVENT_UPDATED, null);
 
         if (request.getName() != null && !request.getName().isBlank()) {
             event.setName(request.getName());
@@ -206,42 +371,63 @@ public class EventService {
         }
 
         Event updated = eventRepository.save(event);
-        
-        // Update sessions if provided
-        if (request.getSessions() != null) {
-            // Delete existing sessions
-            List<Session> existingSessions = sessionRepository.findByEvent(updated);
-            sessionRepository.deleteAll(existingSessions);
-            
-            // Create new sessions
-            List<Session> toSave = new ArrayList<>();
-            LocalDate date = updated.getEventDate();
-            for (SessionCreateRequest s : request.getSessions()) {
-                Session sess = new Session();
-                sess.setTitle(s.getTitle());
-                sess.setLocation(s.getLocation());
-                LocalDateTime start = LocalDateTime.of(date, LocalTime.parse(s.getStart(), TIME_FMT));
-                LocalDateTime end = LocalDateTime.of(date, LocalTime.parse(s.getEnd(), TIME_FMT));
-                sess.setStartTime(start);
-                sess.setEndTime(end);
-                sess.setEvent(updated);
-                toSave.add(sess);
-            }
-            if (!toSave.isEmpty()) {
-                sessionRepository.saveAll(toSave);
+
+        if (request.getSessions() == null) {
+            return withConflicts(withSessions(updated, unchanged));
+        }
+
+        LocalDate date = updated.getEventDate();
+        List<SessionReconciler.Desired> desired = new ArrayList<>(request.getSessions().size());
+        for (SessionCreateRequest s : request.getSessions()) {
+            desired.add(new SessionReconciler.Desired(s.getId(), s.getTitle(),
+                    atTime(date, s.getStart()),
+                    atTime(date, s.getEnd()),
+                    s.getLocation()));
+        }
+        SessionReconciler.Plan plan = SessionReconciler.plan(updated, sessionRepository.findByEvent(updated), desired);
+        if (strict) {
+            // Throwing rolls back the managed changes before they are written with the plan
+            Set<Session> changed = ScheduleConflicts.identitySet();
+            changed.addAll(plan.inserts());
+            changed.addAll(plan.updates());
+            List<SessionResponse> planned = new ArrayList<>(plan.result().size());
+            Set<SessionResponse> touched = ScheduleConflicts.identitySet();
+            for (Session s : plan.result()) {
+                SessionResponse r = toResponse(s);
+                planned.add(r);
+                if (changed.contains(s)) {
+                    touched.add(r);
+                }
             }
+            rejectConflicts(planned, touched);
+        }
+
+        // Updates are dirty-checked on the managed rows and flushed as one JDBC batch at commit
+        if (!plan.deletes().isEmpty()) {
+            sessionRepository.deleteAllByIdInBatch(ids(plan.deletes()));
+        }
+        if (!plan.inserts().isEmpty()) {
+            sessionRepository.saveAll(plan.inserts());
         }
-        
-        List<Session> sessions = sessionRepository.findByEvent(updated);
-        return toDetailResponse(updated, sessions);
+
+        EventDetailResponse response = toDetailResponse(updated, plan.result());
+        response.setChanges(new SessionChangeSummary(ids(plan.inserts()), ids(plan.updates()), ids(plan.deletes()), plan.unchanged()));
+        return withConflicts(response);
     }
-    private String generateShareCode() {
-        RandomStringGenerator gen = new RandomStringGenerator.Builder()
-                .withinRange('0', 'z')
-                .filteredBy(Character::isLetterOrDigit)
-                .build();
-        return gen.generate(6).toUpperCase();
+
+    private List<SessionResponse> sessionsOf(Event event) {
+        return sessionRepository.findByEvent(event).stream()
+                .sorted(Comparator.comparing(Session::getId))
+                .map(EventService::toResponse)
+                .collect(Collectors.toList());
     }
 
-    
+    private static List<Long> ids(List<Session> sessions) {
+        return sessions.stream().map(Session::getId).collect(Collectors.toList());
+    }
+
+    // Session times arrive as HH:mm on the event's date
+    static LocalDateTime atTime(LocalDate date, String time) {
+        return LocalDateTime.of(date, LocalTime.parse(time, TIME_FMT));
+    }
 }
\ No newline at end of file
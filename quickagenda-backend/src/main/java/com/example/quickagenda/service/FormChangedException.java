@@ -0,0 +1,15 @@
+package com.example.quickagenda.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Answers keyed by a field id the current form version does not have: the form was edited (which
+ * reissues every field id) after the client loaded it, so it has to reload before submitting.
+ */
+public class FormChangedException extends ResponseStatusException {
+
+    public FormChangedException() {
+        super(HttpStatus.CONFLICT, "form changed, reload it");
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.repository.FormFieldRepository;
+import com.example.quickagenda.repository.FormRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Event id -> compiled form (or the fact that the event has none), so the public form endpoints can
+ * serve and gate a registration rush without touching the database. Edits evict the entry on this
+ * instance; other instances see them once it expires after {@code ttl}.
+ */
+@Component
+public class FormDefinitionCache {
+
+    private final FormRepository formRepository;
+    private final FormFieldRepository fieldRepository;
+    private final ObjectMapper objectMapper;
+    private final AsyncCache<Long, Optional<CompiledForm>> cache;
+
+    public FormDefinitionCache(FormRepository formRepository,
+                               FormFieldRepository fieldRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${quickagenda.cache.forms.max-size:10000}") long maxSize,
+                               @Value("${quickagenda.cache.forms.ttl:1m}") Duration ttl) {
+        this.formRepository = formRepository;
+        this.fieldRepository = fieldRepository;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<CompiledForm> get(Event event) {
+        return CallerLoads.get(cache, event.getId(), id -> formRepository.findByEvent(event)
+                .map(form -> CompiledForm.compile(form, fieldRepository.findByFormOrderByOrderIndexAsc(form), objectMapper)));
+    }
+
+    /**
+     * Non-blocking variant of {@link #get}, filled from {@code loader} on a miss.
+     */
+    public CompletableFuture<Optional<CompiledForm>> getAsync(long eventId,
+                                                              Function<Long, CompletableFuture<Optional<CompiledForm>>> loader) {
+        return cache.get(eventId, (id, executor) -> loader.apply(id));
+    }
+
+    public void evict(Long eventId) {
+        cache.synchronous().invalidate(eventId);
+        // A concurrent reader may re-compile the old definition before our transaction commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.synchronous().invalidate(eventId);
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+}
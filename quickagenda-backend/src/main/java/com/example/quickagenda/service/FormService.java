@@ -5,47 +5,65 @@ import com.example.quickagenda.entity.Event;
 import com.example.quickagenda.entity.Form;
 import com.example.quickagenda.entity.FormField;
 import com.example.quickagenda.entity.FormResponse;
-import com.example.quickagenda.repository.EventRepository;
 import com.example.quickagenda.repository.FormFieldRepository;
 import com.example.quickagenda.repository.FormRepository;
 import com.example.quickagenda.repository.FormResponseRepository;
 import com.example.quickagenda.dto.FormResponseDto;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class FormService {
-    private final EventRepository eventRepository;
     private final FormRepository formRepository;
     private final FormFieldRepository fieldRepository;
     private final FormResponseRepository responseRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ShareCodeCache shareCodeCache;
+    private final FormDefinitionCache formDefinitions;
+    private final ResponseExporter responseExporter;
+    private final FormStatsService formStats;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteBehindSubmissions writeBehind;
 
-    public FormService(EventRepository eventRepository,
-                       FormRepository formRepository,
+    public FormService(FormRepository formRepository,
                        FormFieldRepository fieldRepository,
-                       FormResponseRepository responseRepository) {
-        this.eventRepository = eventRepository;
+                       FormResponseRepository responseRepository,
+                       ShareCodeCache shareCodeCache,
+                       FormDefinitionCache formDefinitions,
+                       ResponseExporter responseExporter,
+                       FormStatsService formStats,
+                       TransactionTemplate transactionTemplate,
+                       ObjectProvider<WriteBehindSubmissions> writeBehind) {
         this.formRepository = formRepository;
         this.fieldRepository = fieldRepository;
         this.responseRepository = responseRepository;
+        this.shareCodeCache = shareCodeCache;
+        this.formDefinitions = formDefinitions;
+        this.responseExporter = responseExporter;
+        this.formStats = formStats;
+        this.transactionTemplate = transactionTemplate;
+        this.writeBehind = writeBehind.getIfAvailable();
     }
 
     private Event getEventOr404(String code) {
-        return eventRepository.findByShareCode(code)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        return shareCodeCache.resolve(code);
     }
 
-    private static FormConfigResponse toConfig(Form form, List<FormField> fields) {
+    static FormConfigResponse toConfig(Form form, List<FormField> fields) {
         List<FormFieldDto> fds = fields.stream().map(f -> {
             FormFieldDto d = new FormFieldDto();
             d.setId(f.getId());
@@ -87,8 +105,10 @@ public class FormService {
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "A form already exists for this event");
         }
+        formDefinitions.evict(event.getId());
         // Replace fields
         fieldRepository.deleteByForm(saved);
+        List<FormField> fields = new ArrayList<>(req.getFields().size());
         int idx = 0;
         for (FormFieldDto d : req.getFields()) {
             FormField f = new FormField();
@@ -99,68 +119,109 @@ public class FormService {
             f.setOrderIndex(d.getOrderIndex() != 0 ? d.getOrderIndex() : idx++);
             f.setOptionsJson(d.getOptionsJson());
             f.setConfigJson(d.getConfigJson());
-            fieldRepository.save(f);
+            fields.add(f);
         }
+        fieldRepository.saveAll(fields);
     }
 
-    @Transactional(readOnly = true)
-    public FormConfigResponse getPublicForm(String code, String email) {
+    /**
+     * The public form config, pre-encoded as JSON. Served from the compiled definition, so a warm
+     * cache answers without a database round trip.
+     */
+    public byte[] getPublicForm(String code, String email) {
         Event event = getEventOr404(code);
-        Form form = formRepository.findByEvent(event).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        if (!form.isActive()) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
-        OffsetDateTime now = OffsetDateTime.now();
-        if (form.getOpenAt() != null && now.isBefore(form.getOpenAt())) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
-        if (form.getCloseAt() != null && now.isAfter(form.getCloseAt())) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
-        List<FormField> fields = fieldRepository.findByFormOrderByOrderIndexAsc(form);
-        return toConfig(form, fields);
+        CompiledForm form = formDefinitions.get(event).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        if (!form.isOpenAt(System.currentTimeMillis())) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        return form.getConfigJson();
     }
 
-    @Transactional
     public void submit(String code, FormSubmitRequest body) {
         if (body == null || body.getEmail() == null || body.getEmail().isBlank()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "email required");
         }
         Event event = getEventOr404(code);
         // Invited-only gating removed: any email can submit.
-        Form form = formRepository.findByEvent(event).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        CompiledForm form = formDefinitions.get(event).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         if (!form.isActive()) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
         OffsetDateTime now = OffsetDateTime.now();
-        if (form.getOpenAt() != null && now.isBefore(form.getOpenAt())) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
-        if (form.getCloseAt() != null && now.isAfter(form.getCloseAt())) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        if (!form.isOpenAt(now.toInstant().toEpochMilli())) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
 
-        Map<String, Object> answers = body.getAnswers();
-        String json;
-        try {
-            json = objectMapper.writeValueAsString(answers == null ? Map.of() : answers);
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid answers");
+        JsonNode tree = body.getAnswers() == null || body.getAnswers().isNull()
+                ? JsonNodeFactory.instance.objectNode() : body.getAnswers();
+        Map<String, String> errors = form.validate(tree);
+        if (!errors.isEmpty()) {
+            throw new InvalidAnswersException(errors);
         }
+        String json = tree.toString();
 
-        FormResponse resp = responseRepository.findByFormAndEmail(form, body.getEmail()).orElse(null);
-        if (resp == null) {
-            resp = new FormResponse();
-            resp.setForm(form);
-            resp.setEmail(body.getEmail());
-            resp.setCreatedAt(now);
+        if (writeBehind != null) {
+            writeBehind.submit(form.getFormId(), body.getEmail(), json, now);
+            return;
         }
-        resp.setAnswersJson(json);
-        resp.setUpdatedAt(now);
-        responseRepository.save(resp);
+        transactionTemplate.executeWithoutResult(status -> {
+            Form ref = formRepository.getReferenceById(form.getFormId());
+            FormResponse resp = responseRepository.lockByFormAndEmail(ref, body.getEmail()).orElse(null);
+            String previous = resp == null ? null : resp.getAnswersJson();
+            if (resp == null) {
+                resp = new FormResponse();
+                resp.setForm(ref);
+                resp.setEmail(body.getEmail());
+                resp.setCreatedAt(now);
+            }
+            resp.setAnswersJson(json);
+            resp.setUpdatedAt(now);
+            responseRepository.save(resp);
+            formStats.recordSubmission(form.getFormId(), previous, json);
+        });
     }
 
+    /**
+     * All responses, newest first, optionally narrowed by {@code fieldId:value} filters evaluated in the database.
+     */
     @Transactional(readOnly = true)
-    public List<FormResponseDto> listResponses(String code) {
+    public List<FormResponseDto> listResponses(String code, List<String> filters) {
+        CompiledForm form = getCompiledForm(code);
+        String probe = AnswerProbe.build(form, filters);
+        List<FormResponse> list = probe == null
+                ? responseRepository.findByFormOrderByCreatedAtDesc(formRepository.getReferenceById(form.getFormId()))
+                : responseRepository.findMatching(form.getFormId(), probe);
+        return list.stream()
+                .map(r -> new FormResponseDto(r.getEmail(), r.getCreatedAt(), r.getAnswersJson() == null ? "{}" : r.getAnswersJson()))
+                .collect(Collectors.toList());
+    }
+
+    public FormStatsResponse getStats(String code) {
+        return formStats.get(getCompiledForm(code));
+    }
+
+    public long countResponses(String code, List<String> filters) {
+        CompiledForm form = getCompiledForm(code);
+        String probe = AnswerProbe.build(form, filters);
+        return responseRepository.countMatching(form.getFormId(), probe == null ? "{}" : probe);
+    }
+
+    /**
+     * A form plus its parsed answer filter, resolved up front so a missing form or a bad filter is
+     * an error before any bytes are streamed.
+     */
+    public record Export(CompiledForm form, String probe) {
+    }
+
+    public Export prepareExport(String code, List<String> filters) {
+        CompiledForm form = getCompiledForm(code);
+        return new Export(form, AnswerProbe.build(form, filters));
+    }
+
+    public void exportCsv(Export export, OutputStream out) throws IOException {
+        responseExporter.writeCsv(export.form(), export.probe(), out);
+    }
+
+    public void exportNdjson(Export export, OutputStream out) throws IOException {
+        responseExporter.writeNdjson(export.form().getFormId(), export.probe(), out);
+    }
+
+    private CompiledForm getCompiledForm(String code) {
         Event event = getEventOr404(code);
-        Form form = formRepository.findByEvent(event).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        List<FormResponse> list = responseRepository.findByFormOrderByCreatedAtDesc(form);
-        return list.stream().map(r -> {
-            Map<String, Object> ans;
-            try {
-                ans = objectMapper.readValue(r.getAnswersJson() == null ? "{}" : r.getAnswersJson(), Map.class);
-            } catch (Exception e) {
-                ans = Map.of();
-            }
-            return new FormResponseDto(r.getEmail(), r.getCreatedAt(), ans);
-        }).collect(Collectors.toList());
+        return formDefinitions.get(event).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 }
@@ -0,0 +1,188 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.FieldStatsResponse;
+import com.example.quickagenda.dto.FormStatsResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Aggregates for one form version, maintained by adding each response's contribution and
+ * subtracting the one it replaces. Number fields keep a value multiset so min/max survive removals.
+ * Not thread-safe; {@link FormStatsService} synchronizes on the instance.
+ */
+final class FormStats {
+
+    private static final int BUCKETS = 10;
+
+    private final CompiledForm form;
+    private final Map<Long, Acc> byField = new LinkedHashMap<>();
+    private long responses;
+
+    FormStats(CompiledForm form) {
+        this.form = form;
+        for (CompiledForm.Field f : form.getFields()) {
+            switch (f.type()) {
+                case "single_select", "multi_select", "yes_no", "number" -> byField.put(f.id(), new Acc(f));
+                default -> {
+                }
+            }
+        }
+    }
+
+    CompiledForm form() {
+        return form;
+    }
+
+    /**
+     * @param sign +1 to add a response, -1 to remove it
+     */
+    void apply(JsonNode answers, int sign) {
+        responses += sign;
+        if (answers == null || !answers.isObject()) {
+            return;
+        }
+        for (Acc acc : byField.values()) {
+            JsonNode v = answers.get(acc.key);
+            if (v != null && !v.isNull()) {
+                acc.apply(v, sign);
+            }
+        }
+    }
+
+    FormStatsResponse snapshot() {
+        Map<String, FieldStatsResponse> fields = new LinkedHashMap<>();
+        byField.values().forEach(acc -> fields.put(acc.key, acc.snapshot()));
+        return new FormStatsResponse(responses, fields);
+    }
+
+    boolean sameAs(FormStats other) {
+        if (responses != other.responses || !byField.keySet().equals(other.byField.keySet())) {
+            return false;
+        }
+        for (Map.Entry<Long, Acc> e : byField.entrySet()) {
+            if (!e.getValue().sameAs(other.byField.get(e.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Acc {
+        final String key;
+        final String type;
+        final Map<String, Long> counts = new TreeMap<>();
+        // number fields only
+        final TreeMap<BigDecimal, Long> values = new TreeMap<>();
+        final TreeMap<BigDecimal, Long> histogram = new TreeMap<>(); // bucket start -> count
+        final BigDecimal lo;
+        final BigDecimal width;
+        long count;
+        BigDecimal sum = BigDecimal.ZERO;
+
+        Acc(CompiledForm.Field field) {
+            this.key = Long.toString(field.id());
+            this.type = field.type();
+            JsonNode config = field.config();
+            BigDecimal min = number(config == null ? null : config.get("min"));
+            BigDecimal max = number(config == null ? null : config.get("max"));
+            // Configured bounds give fixed-width buckets; otherwise one bucket per integer value
+            if (min != null && max != null && max.compareTo(min) > 0) {
+                this.lo = min;
+                this.width = max.subtract(min).divide(BigDecimal.valueOf(BUCKETS), MathContext.DECIMAL64);
+            } else {
+                this.lo = null;
+                this.width = null;
+            }
+        }
+
+        void apply(JsonNode v, int sign) {
+            switch (type) {
+                case "multi_select" -> {
+                    if (v.isArray()) {
+                        v.forEach(item -> bump(counts, item.asText(), sign));
+                    }
+                }
+                case "yes_no" -> {
+                    if (v.isBoolean()) {
+                        bump(counts, v.booleanValue() ? "yes" : "no", sign);
+                    }
+                }
+                case "number" -> {
+                    BigDecimal n = number(v);
+                    if (n != null) {
+                        count += sign;
+                        sum = sign > 0 ? sum.add(n) : sum.subtract(n);
+                        bump(values, n.stripTrailingZeros(), sign);
+                        bump(histogram, bucket(n), sign);
+                    }
+                }
+                default -> {
+                    if (!v.asText().isEmpty()) {
+                        bump(counts, v.asText(), sign);
+                    }
+                }
+            }
+        }
+
+        private BigDecimal bucket(BigDecimal n) {
+            if (width == null) {
+                return n.setScale(0, RoundingMode.FLOOR);
+            }
+            long i = n.subtract(lo).divide(width, 0, RoundingMode.FLOOR).longValue();
+            i = Math.max(0, Math.min(BUCKETS - 1, i));
+            return lo.add(width.multiply(BigDecimal.valueOf(i))).stripTrailingZeros();
+        }
+
+        private String label(BigDecimal from) {
+            if (width == null) {
+                return from.toPlainString();
+            }
+            return from.toPlainString() + ".." + from.add(width).stripTrailingZeros().toPlainString();
+        }
+
+        FieldStatsResponse snapshot() {
+            if (!"number".equals(type)) {
+                return new FieldStatsResponse(type, new TreeMap<>(counts), null, null, null, null, null);
+            }
+            Map<String, Long> buckets = new LinkedHashMap<>();
+            histogram.forEach((from, n) -> buckets.put(label(from), n));
+            return new FieldStatsResponse(type, null, count,
+                    values.isEmpty() ? null : values.firstKey(), values.isEmpty() ? null : values.lastKey(),
+                    sum, buckets);
+        }
+
+        boolean sameAs(Acc o) {
+            return counts.equals(o.counts) && values.equals(o.values) && histogram.equals(o.histogram)
+                    && count == o.count && sum.compareTo(o.sum) == 0 && Objects.equals(type, o.type);
+        }
+
+        private static BigDecimal number(JsonNode v) {
+            if (v == null || v.isNull()) {
+                return null;
+            }
+            if (v.isNumber()) {
+                return v.decimalValue();
+            }
+            String s = v.asText().trim();
+            if (s.isEmpty()) {
+                return null;
+            }
+            try {
+                return new BigDecimal(s);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static <K> void bump(Map<K, Long> map, K key, int sign) {
+            map.merge(key, (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+}
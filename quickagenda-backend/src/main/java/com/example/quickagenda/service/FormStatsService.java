@@ -0,0 +1,227 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.FormStatsResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Live per-field aggregates for forms, built from the database on first request and then kept up
+ * to date by each committed submission. A transaction that changes a form's responses holds the
+ * form's read lock from before its commit until its change is applied, and a rebuild scans under
+ * the write lock, so every submission on this instance is counted exactly once. A scheduled job
+ * rebuilds every cached form and replaces any that drifted (e.g. through writes from another instance).
+ */
+@Component
+public class FormStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(FormStatsService.class);
+    private static final int STRIPES = 64;
+
+    /**
+     * One response as written by a transaction; {@code previousJson} is null for a first submission.
+     */
+    public record Change(long formId, String previousJson, String answersJson) {
+    }
+
+    private final ResponseExporter responses;
+    private final ObjectMapper objectMapper;
+    private final AsyncCache<Long, FormStats> byForm;
+    private final ReentrantReadWriteLock[] stripes = new ReentrantReadWriteLock[STRIPES];
+    private final AtomicLong corrections = new AtomicLong();
+
+    public FormStatsService(ResponseExporter responses, ObjectMapper objectMapper,
+                            @Value("${quickagenda.forms.stats.max-forms:1000}") long maxForms) {
+        this.responses = responses;
+        this.objectMapper = objectMapper;
+        this.byForm = Caffeine.newBuilder()
+                .maximumSize(maxForms)
+                .buildAsync();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public FormStatsResponse get(CompiledForm form) {
+        FormStats stats = load(form);
+        synchronized (stats) {
+            return stats.snapshot();
+        }
+    }
+
+    // Like CallerLoads, but the future completes while the rebuild still holds the form's write lock
+    private FormStats load(CompiledForm form) {
+        long formId = form.getFormId();
+        while (true) {
+            CompletableFuture<FormStats> existing = byForm.getIfPresent(formId);
+            if (existing == null) {
+                CompletableFuture<FormStats> mine = new CompletableFuture<>();
+                existing = byForm.asMap().putIfAbsent(formId, mine);
+                if (existing == null) {
+                    try {
+                        return rebuild(form, mine::complete);
+                    } catch (RuntimeException | Error e) {
+                        byForm.asMap().remove(formId, mine);
+                        mine.completeExceptionally(e);
+                        throw e;
+                    }
+                }
+            }
+            FormStats stats;
+            try {
+                stats = existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw e;
+            }
+            if (stats.form().sameDefinition(form)) {
+                return stats;
+            }
+            // Built for another version of the form
+            byForm.asMap().remove(formId, existing);
+        }
+    }
+
+    public void recordSubmission(long formId, String previousJson, String answersJson) {
+        recordSubmissions(List.of(new Change(formId, previousJson, answersJson)));
+    }
+
+    /**
+     * Applies the changes once the surrounding transaction commits. Call this after the
+     * transaction's last statement: it holds the forms' read locks until the transaction completes.
+     */
+    public void recordSubmissions(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        // Taken in stripe order, so two writers to the same forms cannot wait on each other
+        TreeSet<Integer> held = new TreeSet<>();
+        changes.forEach(c -> held.add(stripe(c.formId())));
+        List<Lock> locks = new ArrayList<>(held.size());
+        for (int i : held) {
+            Lock lock = stripes[i].readLock();
+            lock.lock();
+            locks.add(lock);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                apply(changes);
+            } finally {
+                locks.forEach(Lock::unlock);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(changes);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                locks.forEach(Lock::unlock);
+            }
+        });
+    }
+
+    // Forms still being rebuilt are skipped: their scan starts after this commit and includes it
+    private void apply(List<Change> changes) {
+        for (Change c : changes) {
+            CompletableFuture<FormStats> future = byForm.getIfPresent(c.formId());
+            if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+                continue;
+            }
+            FormStats stats = future.join();
+            JsonNode previous = parse(c.previousJson());
+            JsonNode current = parse(c.answersJson());
+            synchronized (stats) {
+                if (c.previousJson() != null) {
+                    stats.apply(previous, -1);
+                }
+                stats.apply(current, 1);
+            }
+        }
+    }
+
+    public void invalidate(long formId) {
+        byForm.synchronous().invalidate(formId);
+    }
+
+    @Scheduled(fixedDelayString = "${quickagenda.forms.stats.verify-interval:10m}",
+            initialDelayString = "${quickagenda.forms.stats.verify-interval:10m}")
+    public void verify() {
+        for (Map.Entry<Long, FormStats> e : byForm.synchronous().asMap().entrySet()) {
+            FormStats live = e.getValue();
+            rebuild(live.form(), fresh -> {
+                boolean same;
+                synchronized (live) {
+                    same = live.sameAs(fresh);
+                }
+                if (!same && byForm.synchronous().asMap().replace(e.getKey(), live, fresh)) {
+                    corrections.incrementAndGet();
+                    log.warn("Form {} statistics drifted from the stored responses; replaced with a rebuild", e.getKey());
+                }
+            });
+        }
+    }
+
+    public long corrections() {
+        return corrections.get();
+    }
+
+    /**
+     * Scans the form's responses under its write lock, taken once the scan holds a connection so
+     * that waiting for the lock never keeps a pool slot from the transactions it waits on.
+     * {@code install} runs before the lock is released.
+     */
+    private FormStats rebuild(CompiledForm form, Consumer<FormStats> install) {
+        Lock lock = stripes[stripe(form.getFormId())].writeLock();
+        FormStats stats = new FormStats(form);
+        try {
+            responses.forEachAnswers(form.getFormId(), lock::lock, json -> stats.apply(parse(json), 1));
+            install.accept(stats);
+        } finally {
+            if (stripes[stripe(form.getFormId())].isWriteLockedByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+        return stats;
+    }
+
+    private static int stripe(long formId) {
+        return Long.hashCode(formId) & (STRIPES - 1);
+    }
+
+    private JsonNode parse(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.quickagenda.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Minimal RFC 5545 serializer for agenda calendars. Writes straight to the target stream through a
+ * small reusable buffer, escapes TEXT values and folds lines at 73 octets (the width ical4j uses),
+ * never splitting a UTF-8 sequence across a fold.
+ */
+public final class IcsWriter {
+
+    private static final int FOLD_OCTETS = 73;
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final OutputStream out;
+    private final boolean utc;
+    private final byte[] buf = new byte[8192];
+    private final byte[] dtStamp = new byte[16];
+    private int pos;
+    private int lineOctets;
+
+    /**
+     * @param stamp value written as DTSTAMP on every VEVENT
+     * @param utc   write DTSTART/DTEND with a trailing {@code Z} instead of as floating local times
+     */
+    public IcsWriter(OutputStream out, Instant stamp, boolean utc) {
+        this.out = out;
+        this.utc = utc;
+        formatDateTime(LocalDateTime.ofInstant(stamp, ZoneOffset.UTC), dtStamp, 0);
+        dtStamp[15] = 'Z';
+    }
+
+    public IcsWriter beginCalendar(String prodId) throws IOException {
+        line("BEGIN:VCALENDAR");
+        property("PRODID", prodId);
+        line("VERSION:2.0");
+        line("CALSCALE:GREGORIAN");
+        return this;
+    }
+
+    public IcsWriter event(LocalDateTime start, LocalDateTime end, String summary,
+                           String location, String description) throws IOException {
+        line("BEGIN:VEVENT");
+        ascii("DTSTAMP:");
+        raw(dtStamp, 16);
+        newline();
+        dateTime("DTSTART:", start);
+        dateTime("DTEND:", end);
+        property("SUMMARY", summary);
+        if (location != null && !location.isBlank()) {
+            property("LOCATION", location);
+        }
+        if (description != null && !description.isBlank()) {
+            property("DESCRIPTION", description);
+        }
+        line("END:VEVENT");
+        return this;
+    }
+
+    public void endCalendar() throws IOException {
+        line("END:VCALENDAR");
+        flush();
+    }
+
+    public void flush() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+        out.flush();
+    }
+
+    private void property(String name, String value) throws IOException {
+        ascii(name);
+        put((byte) ':');
+        if (value != null) {
+            text(value);
+        }
+        newline();
+    }
+
+    private void dateTime(String prefix, LocalDateTime t) throws IOException {
+        ascii(prefix);
+        ensure(16);
+        formatDateTime(t, buf, pos);
+        pos += 15;
+        lineOctets += 15;
+        if (utc) {
+            put((byte) 'Z');
+        }
+        newline();
+    }
+
+    private void text(String s) throws IOException {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\' -> escaped('\\');
+                case ';' -> escaped(';');
+                case ',' -> escaped(',');
+                case '\n' -> escaped('n');
+                case '\r' -> {
+                    // CRLF and lone CR both become a single escaped newline
+                    if (i + 1 < n && s.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+                    escaped('n');
+                }
+                default -> {
+                    if (c < 0x80) {
+                        put((byte) c);
+                    } else if (c < 0x800) {
+                        unit(2);
+                        buf[pos++] = (byte) (0xC0 | (c >> 6));
+                        buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                        int cp = Character.toCodePoint(c, s.charAt(++i));
+                        unit(4);
+                        buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                        buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                        buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                        buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+                    } else if (Character.isSurrogate(c)) {
+                        put((byte) '?');
+                    } else {
+                        unit(3);
+                        buf[pos++] = (byte) (0xE0 | (c >> 12));
+                        buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                        buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                    }
+                }
+            }
+        }
+    }
+
+    private void escaped(char c) throws IOException {
+        put((byte) '\\');
+        put((byte) c);
+    }
+
+    private void put(byte b) throws IOException {
+        unit(1);
+        buf[pos++] = b;
+    }
+
+    // Reserves room for an indivisible run of octets, folding first if it would overflow the line
+    private void unit(int octets) throws IOException {
+        if (lineOctets + Math.max(octets, 1) > FOLD_OCTETS) {
+            ensure(3);
+            buf[pos++] = '\r';
+            buf[pos++] = '\n';
+            buf[pos++] = ' ';
+            lineOctets = 1;
+        }
+        ensure(octets);
+        lineOctets += octets;
+    }
+
+    private void line(String s) throws IOException {
+        ascii(s);
+        newline();
+    }
+
+    private void ascii(String s) throws IOException {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            put((byte) s.charAt(i));
+        }
+    }
+
+    private void raw(byte[] bytes, int len) throws IOException {
+        for (int i = 0; i < len; i++) {
+            put(bytes[i]);
+        }
+    }
+
+    private void newline() throws IOException {
+        // ical4j folds a full line even when only the CRLF follows; an empty continuation unfolds to nothing
+        unit(0);
+        ensure(2);
+        buf[pos++] = CRLF[0];
+        buf[pos++] = CRLF[1];
+        lineOctets = 0;
+    }
+
+    private void ensure(int n) throws IOException {
+        if (pos + n > buf.length) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+    // yyyyMMdd'T'HHmmss, 15 octets
+    private static void formatDateTime(LocalDateTime t, byte[] dst, int off) {
+        digits(dst, off, t.getYear(), 4);
+        digits(dst, off + 4, t.getMonthValue(), 2);
+        digits(dst, off + 6, t.getDayOfMonth(), 2);
+        dst[off + 8] = 'T';
+        digits(dst, off + 9, t.getHour(), 2);
+        digits(dst, off + 11, t.getMinute(), 2);
+        digits(dst, off + 13, t.getSecond(), 2);
+    }
+
+    private static void digits(byte[] dst, int off, int value, int width) {
+        for (int i = off + width - 1; i >= off; i--) {
+            dst[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.quickagenda.service;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+@Getter
+public class InvalidAnswersException extends ResponseStatusException {
+
+    private final Map<String, String> errors; // field id -> message
+
+    public InvalidAnswersException(Map<String, String> errors) {
+        super(HttpStatus.BAD_REQUEST, "invalid answers");
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.quickagenda.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Upserts submissions with one multi-row {@code INSERT ... ON CONFLICT} statement per chunk. Rows are
+ * only overwritten by a newer submission, so replaying the log after a crash is harmless. The rows
+ * being replaced are read (and locked) first, so the form statistics get each change as a delta.
+ */
+@Component
+@ConditionalOnProperty(name = "quickagenda.forms.write-behind.enabled", havingValue = "true")
+public class JdbcSubmissionSink implements SubmissionSink {
+
+    // Keeps each statement well below the 32767 bind-parameter limit
+    private static final int CHUNK = 500;
+
+    private record Key(long formId, String email) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FormStatsService formStats;
+
+    public JdbcSubmissionSink(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, FormStatsService formStats) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.formStats = formStats;
+    }
+
+    @Override
+    public void write(List<SubmissionLog.Entry> entries) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<FormStatsService.Change> changes = new ArrayList<>(entries.size());
+            for (int from = 0; from < entries.size(); from += CHUNK) {
+                upsert(entries.subList(from, Math.min(entries.size(), from + CHUNK)), changes);
+            }
+            formStats.recordSubmissions(changes);
+        });
+    }
+
+    private void upsert(List<SubmissionLog.Entry> chunk, List<FormStatsService.Change> changes) {
+        Map<Key, String> previous = previous(chunk);
+        StringBuilder sql = new StringBuilder(128 + chunk.size() * 18)
+                .append("INSERT INTO form_responses (form_id, email, answers_json, created_at, updated_at) VALUES ");
+        List<Object> args = new ArrayList<>(chunk.size() * 5);
+        Map<Key, SubmissionLog.Entry> byKey = new HashMap<>(chunk.size() * 2);
+        for (int i = 0; i < chunk.size(); i++) {
+            SubmissionLog.Entry e = chunk.get(i);
+            byKey.put(new Key(e.formId(), e.email()), e);
+            sql.append(i == 0 ? "(?, ?, ?::jsonb, ?, ?)" : ", (?, ?, ?::jsonb, ?, ?)");
+            args.add(e.formId());
+            args.add(e.email());
+            args.add(e.answersJson());
+            args.add(e.at());
+            args.add(e.at());
+        }
+        sql.append(" ON CONFLICT (form_id, email) DO UPDATE"
+                + " SET answers_json = EXCLUDED.answers_json, updated_at = EXCLUDED.updated_at"
+                + " WHERE form_responses.updated_at IS NULL OR form_responses.updated_at <= EXCLUDED.updated_at"
+                + " RETURNING form_id, email");
+        // Rows the guard skipped are not returned and did not change
+        jdbcTemplate.query(sql.toString(), rs -> {
+            Key key = new Key(rs.getLong(1), rs.getString(2));
+            changes.add(new FormStatsService.Change(key.formId(), previous.get(key), byKey.get(key).answersJson()));
+        }, args.toArray());
+    }
+
+    private Map<Key, String> previous(List<SubmissionLog.Entry> chunk) {
+        StringBuilder sql = new StringBuilder(96 + chunk.size() * 8)
+                .append("SELECT form_id, email, answers_json FROM form_responses WHERE (form_id, email) IN (");
+        List<Object> args = new ArrayList<>(chunk.size() * 2);
+        for (int i = 0; i < chunk.size(); i++) {
+            SubmissionLog.Entry e = chunk.get(i);
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            args.add(e.formId());
+            args.add(e.email());
+        }
+        sql.append(") FOR UPDATE");
+        Map<Key, String> previous = new HashMap<>(chunk.size() * 2);
+        jdbcTemplate.query(sql.toString(), rs -> {
+            previous.put(new Key(rs.getLong(1), rs.getString(2)), rs.getString(3));
+        }, args.toArray());
+        return previous;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.entity.Form;
+import com.example.quickagenda.entity.FormField;
+import com.example.quickagenda.repository.AgendaRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Non-blocking counterpart of the public agenda and form reads, for
+ * {@code quickagenda.reactive.enabled=true}. Serves from the same snapshot and definition caches as
+ * the blocking path and fills misses through R2DBC, so a waiting request holds no thread.
+ * The connection settings default to the JDBC datasource's, see {@link #fromJdbcUrl}.
+ */
+@Component
+@ConditionalOnProperty(name = "quickagenda.reactive.enabled", havingValue = "true")
+public class ReactiveAgendaReader {
+
+    private static final String JDBC_PREFIX = "jdbc:postgresql://";
+    private static final int DEFAULT_PORT = 5432;
+
+    private final AgendaSnapshotCache agendaSnapshots;
+    private final ShareCodeCache shareCodes;
+    private final FormDefinitionCache formDefinitions;
+    private final ObjectMapper objectMapper;
+    private final ConnectionPool pool;
+    private final DatabaseClient db;
+
+    public ReactiveAgendaReader(AgendaSnapshotCache agendaSnapshots,
+                                ShareCodeCache shareCodes,
+                                FormDefinitionCache formDefinitions,
+                                ObjectMapper objectMapper,
+                                @Value("${quickagenda.reactive.url:}") String url,
+                                @Value("${spring.datasource.url}") String jdbcUrl,
+                                @Value("${spring.datasource.username:}") String username,
+                                @Value("${spring.datasource.password:}") String password,
+                                @Value("${quickagenda.reactive.pool-size:5}") int poolSize) {
+        this.agendaSnapshots = agendaSnapshots;
+        this.shareCodes = shareCodes;
+        this.formDefinitions = formDefinitions;
+        this.objectMapper = objectMapper;
+        ConnectionFactoryOptions.Builder builder = (url.isBlank() ? fromJdbcUrl(jdbcUrl) : ConnectionFactoryOptions.parse(url))
+                .mutate();
+        if (!username.isBlank()) {
+            builder.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isBlank()) {
+            builder.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionFactoryOptions options = builder
+                // Unnamed statements only: pgBouncer in transaction mode cannot track named ones
+                .option(Option.valueOf("preparedStatementCacheQueries"), 0)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .maxAcquireTime(Duration.ofSeconds(5))
+                .build());
+        this.db = DatabaseClient.create(pool);
+    }
+
+    /**
+     * Reads a single-host {@code jdbc:postgresql://} URL into R2DBC options. Parameters with an R2DBC
+     * equivalent are carried over; JDBC-only ones such as {@code reWriteBatchedInserts} or
+     * {@code prepareThreshold} are left out. Anything else needs {@code quickagenda.reactive.url}.
+     */
+    static ConnectionFactoryOptions fromJdbcUrl(String jdbcUrl) {
+        if (!jdbcUrl.startsWith(JDBC_PREFIX)) {
+            throw new IllegalStateException("Cannot derive an R2DBC connection from " + jdbcUrl
+                    + ", set quickagenda.reactive.url");
+        }
+        String rest = jdbcUrl.substring(JDBC_PREFIX.length());
+        int query = rest.indexOf('?');
+        String params = query < 0 ? "" : rest.substring(query + 1);
+        String target = query < 0 ? rest : rest.substring(0, query);
+        int slash = target.indexOf('/');
+        String authority = slash < 0 ? target : target.substring(0, slash);
+        String database = slash < 0 ? "" : target.substring(slash + 1);
+        if (authority.contains(",")) {
+            throw new IllegalStateException("Multi-host JDBC URLs have no R2DBC equivalent here,"
+                    + " set quickagenda.reactive.url");
+        }
+
+        String host = authority;
+        int port = DEFAULT_PORT;
+        int colon = authority.lastIndexOf(':');
+        if (colon > authority.lastIndexOf(']')) {
+            host = authority.substring(0, colon);
+            port = Integer.parseInt(authority.substring(colon + 1));
+        }
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "postgresql")
+                .option(ConnectionFactoryOptions.HOST, host.isEmpty() ? "localhost" : host)
+                .option(ConnectionFactoryOptions.PORT, port);
+        if (!database.isEmpty()) {
+            options.option(ConnectionFactoryOptions.DATABASE, decode(database));
+        }
+
+        for (String param : params.split("&")) {
+            int eq = param.indexOf('=');
+            if (eq <= 0) {
+                continue;
+            }
+            String name = param.substring(0, eq);
+            String value = decode(param.substring(eq + 1));
+            switch (name) {
+                case "user" -> options.option(ConnectionFactoryOptions.USER, value);
+                case "password" -> options.option(ConnectionFactoryOptions.PASSWORD, value);
+                case "connectTimeout" -> options.option(ConnectionFactoryOptions.CONNECT_TIMEOUT,
+                        Duration.ofSeconds(Long.parseLong(value)));
+                case "sslmode" -> options.option(Option.valueOf("sslMode"), value);
+                case "sslrootcert" -> options.option(Option.valueOf("sslRootCert"), value);
+                case "sslcert" -> options.option(Option.valueOf("sslCert"), value);
+                case "sslkey" -> options.option(Option.valueOf("sslKey"), value);
+                case "sslpassword" -> options.option(Option.valueOf("sslPassword"), value);
+                case "ApplicationName" -> options.option(Option.valueOf("applicationName"), value);
+                case "currentSchema" -> options.option(Option.valueOf("currentSchema"), value);
+                default -> {
+                    // JDBC-only
+                }
+            }
+        }
+        return options.build();
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    public Mono<AgendaSnapshot> agenda(String code) {
+        AgendaSnapshot cached = agendaSnapshots.getIfCurrent(code);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        AgendaSnapshotCache.Version read = agendaSnapshots.version(code);
+        return db.sql("SELECT e.id, e.name, e.event_date, e.description, e.share_code,"
+                        + " s.id AS session_id, s.title, s.start_time, s.end_time, s.location"
+                        + " FROM event e LEFT JOIN session s ON s.event_id = e.id WHERE e.share_code = :code ORDER BY s.id")
+                .bind("code", code)
+                .map(row -> new AgendaRow(row.get("id", Long.class), row.get("name", String.class),
+                        row.get("event_date", LocalDate.class), row.get("description", String.class),
+                        row.get("share_code", String.class), row.get("session_id", Long.class), row.get("title", String.class),
+                        row.get("start_time", LocalDateTime.class), row.get("end_time", LocalDateTime.class),
+                        row.get("location", String.class)))
+                .all()
+                .collectList()
+                .map(rows -> agendaSnapshots.store(code, read, EventService.toLoaded(EventService.toDetailResponse(rows))));
+    }
+
+    /**
+     * Encoded {@code FormConfigResponse}, as {@link FormService#getPublicForm} serves it.
+     */
+    public Mono<byte[]> publicForm(String code) {
+        return event(code)
+                // The future is shared with other readers of this form: never cancel it on their behalf
+                .flatMap(event -> Mono.fromFuture(() -> formDefinitions.getAsync(event.getId(), id -> loadForm(event).toFuture()), true))
+                .map(compiled -> {
+                    CompiledForm form = compiled.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+                    if (!form.isOpenAt(System.currentTimeMillis())) {
+                        throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+                    }
+                    return form.getConfigJson();
+                });
+    }
+
+    private Mono<Event> event(String code) {
+        return Mono.fromFuture(() -> shareCodes.resolveAsync(code, k -> db
+                .sql("SELECT id, name, event_date, description, share_code FROM event WHERE share_code = :code")
+                .bind("code", k)
+                .map(row -> new Event(row.get("id", Long.class), row.get("name", String.class),
+                        row.get("event_date", LocalDate.class), row.get("description", String.class),
+                        row.get("share_code", String.class)))
+                .one()
+                .toFuture()));
+    }
+
+    private Mono<Optional<CompiledForm>> loadForm(Event event) {
+        return db.sql("SELECT id, title, is_active, open_at, close_at FROM forms WHERE event_id = :eventId")
+                .bind("eventId", event.getId())
+                .map(row -> new Form(row.get("id", Long.class), event, row.get("title", String.class),
+                        Boolean.TRUE.equals(row.get("is_active", Boolean.class)),
+                        row.get("open_at", OffsetDateTime.class), row.get("close_at", OffsetDateTime.class)))
+                .one()
+                .flatMap(form -> db.sql("SELECT id, type, label, is_required, order_index, options_json, config_json"
+                                + " FROM form_fields WHERE form_id = :formId ORDER BY order_index")
+                        .bind("formId", form.getId())
+                        .map(row -> new FormField(row.get("id", Long.class), form, row.get("type", String.class),
+                                row.get("label", String.class), Boolean.TRUE.equals(row.get("is_required", Boolean.class)),
+                                row.get("order_index", Integer.class), row.get("options_json", String.class),
+                                row.get("config_json", String.class)))
+                        .all()
+                        .collectList()
+                        .map(fields -> Optional.of(CompiledForm.compile(form, fields, objectMapper))))
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.quickagenda.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams a form's responses as CSV or NDJSON with flat memory use. The driver runs in simple query
+ * mode (pgBouncer), where {@code setFetchSize} is ignored, so rows are pulled through an explicit
+ * server-side cursor, {@value #FETCH_SIZE} at a time, inside one read-only transaction.
+ */
+@Component
+public class ResponseExporter {
+
+    static final int FETCH_SIZE = 500;
+
+    private static final String DECLARE = "DECLARE responses_export NO SCROLL CURSOR FOR"
+            + " SELECT email, created_at, updated_at, answers_json FROM form_responses WHERE form_id = ?%s"
+            + " ORDER BY created_at, id";
+    private static final String FETCH = "FETCH FORWARD " + FETCH_SIZE + " FROM responses_export";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper objectMapper;
+
+    public ResponseExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    private interface RowHandler {
+        void row(String email, OffsetDateTime createdAt, OffsetDateTime updatedAt, String answersJson) throws IOException;
+    }
+
+    /**
+     * One column per form field, labelled like the responses table, with the same cell rendering
+     * (lists joined with ", ", booleans as Yes/No). {@code probe} is a jsonb containment filter, null for all rows.
+     */
+    public void writeCsv(CompiledForm form, String probe, OutputStream out) throws IOException {
+        List<CompiledForm.Field> fields = form.getFields();
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16384);
+        w.write("Email,Submitted,Updated");
+        for (CompiledForm.Field f : fields) {
+            w.write(',');
+            csv(w, f.label());
+        }
+        w.write("\r\n");
+        String[] keys = fields.stream().map(f -> Long.toString(f.id())).toArray(String[]::new);
+        scan(form.getFormId(), probe, w, (email, createdAt, updatedAt, answersJson) -> {
+            csv(w, email);
+            w.write(',');
+            w.write(timestamp(createdAt));
+            w.write(',');
+            w.write(timestamp(updatedAt));
+            JsonNode answers = answersJson == null ? null : objectMapper.readTree(answersJson);
+            for (String key : keys) {
+                w.write(',');
+                csv(w, display(answers == null ? null : answers.get(key)));
+            }
+            w.write("\r\n");
+        });
+        w.flush();
+    }
+
+    /**
+     * One object per line; the stored answers JSON is spliced in as-is rather than re-parsed.
+     */
+    public void writeNdjson(long formId, String probe, OutputStream out) throws IOException {
+        JsonGenerator g = objectMapper.getFactory().createGenerator(out);
+        g.setRootValueSeparator(new SerializedString("\n"));
+        scan(formId, probe, g, (email, createdAt, updatedAt, answersJson) -> {
+            g.writeStartObject();
+            g.writeStringField("email", email);
+            g.writeStringField("createdAt", timestamp(createdAt));
+            g.writeStringField("updatedAt", timestamp(updatedAt));
+            g.writeFieldName("answers");
+            g.writeRawValue(answersJson == null || answersJson.isBlank() ? "{}" : answersJson);
+            g.writeEndObject();
+        });
+        g.writeRaw('\n');
+        g.flush();
+    }
+
+    /**
+     * Every stored answers document of the form, through the same cursor as the exports.
+     * {@code connected} runs once the scan holds its connection, before the cursor is opened.
+     */
+    void forEachAnswers(long formId, Runnable connected, Consumer<String> answers) {
+        scan(formId, null, connected, () -> { }, (email, createdAt, updatedAt, answersJson) -> answers.accept(answersJson));
+    }
+
+    private void scan(long formId, String probe, Flushable sink, RowHandler handler) {
+        scan(formId, probe, () -> { }, sink, handler);
+    }
+
+    private void scan(long formId, String probe, Runnable connected, Flushable sink, RowHandler handler) {
+        readOnly.executeWithoutResult(status -> jdbcTemplate.execute((Connection con) -> {
+            connected.run();
+            try (PreparedStatement declare = con.prepareStatement(String.format(DECLARE, probe == null ? "" : " AND answers_json @> ?::jsonb"))) {
+                declare.setLong(1, formId);
+                if (probe != null) {
+                    declare.setString(2, probe);
+                }
+                declare.execute();
+            }
+            try (Statement fetch = con.createStatement()) {
+                int rows;
+                do {
+                    rows = 0;
+                    try (ResultSet rs = fetch.executeQuery(FETCH)) {
+                        while (rs.next()) {
+                            handler.row(rs.getString(1), rs.getObject(2, OffsetDateTime.class),
+                                    rs.getObject(3, OffsetDateTime.class), rs.getString(4));
+                            rows++;
+                        }
+                    }
+                    sink.flush();
+                } while (rows == FETCH_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }));
+    }
+
+    private static String timestamp(OffsetDateTime t) {
+        return t == null ? "" : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(t);
+    }
+
+    static String display(JsonNode v) {
+        if (v == null || v.isNull()) {
+            return "";
+        }
+        if (v.isArray()) {
+            StringBuilder sb = new StringBuilder();
+            for (JsonNode item : v) {
+                if (!sb.isEmpty()) {
+                    sb.append(", ");
+                }
+                sb.append(item.isValueNode() ? item.asText() : item.toString());
+            }
+            return sb.toString();
+        }
+        if (v.isBoolean()) {
+            return v.booleanValue() ? "Yes" : "No";
+        }
+        return v.isValueNode() ? v.asText() : v.toString();
+    }
+
+    // RFC 4180: quote when the value contains a delimiter, quote or line break
+    static void csv(Writer w, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            w.write(value);
+            return;
+        }
+        w.write('"');
+        w.write(value.replace("\"", "\"\""));
+        w.write('"');
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.SessionConflict;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@Getter
+public class ScheduleConflictException extends ResponseStatusException {
+
+    private final List<SessionConflict> conflicts;
+    private final boolean truncated;
+
+    public ScheduleConflictException(List<SessionConflict> conflicts) {
+        this(conflicts, false);
+    }
+
+    public ScheduleConflictException(List<SessionConflict> conflicts, boolean truncated) {
+        super(HttpStatus.CONFLICT, "sessions overlap in the same location");
+        this.conflicts = conflicts;
+        this.truncated = truncated;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.SessionConflict;
+import com.example.quickagenda.dto.SessionResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Finds sessions booked into the same location at the same time. Each location's sessions are swept
+ * in start order while a heap keeps those still running, so a session is only compared with the ones
+ * it actually overlaps: O(n log n) plus the conflicts found, instead of every pair. Sessions run over
+ * {@code [start, end)}, so back-to-back sessions are fine; sessions without a location, without both
+ * times or with no duration never conflict. Locations match case-insensitively, ignoring surrounding
+ * blanks.
+ */
+final class ScheduleConflicts {
+
+    // Enough to fix an agenda from; a room double-booked all day would otherwise report every pair
+    static final int MAX_REPORTED = 200;
+
+    /**
+     * The conflicts found, at most {@link #MAX_REPORTED}; {@code truncated} when there were more.
+     */
+    record Report(List<SessionConflict> conflicts, boolean truncated) {
+    }
+
+    private ScheduleConflicts() {
+    }
+
+    static List<SessionConflict> find(List<SessionResponse> sessions) {
+        return find(sessions, null);
+    }
+
+    static List<SessionConflict> find(List<SessionResponse> sessions, Set<SessionResponse> touched) {
+        return report(sessions, touched).conflicts();
+    }
+
+    /**
+     * The conflicts with at least one side in {@code touched} (compared by identity), or all of them
+     * when {@code touched} is null.
+     */
+    static Report report(List<SessionResponse> sessions, Set<SessionResponse> touched) {
+        Map<String, List<SessionResponse>> byLocation = new LinkedHashMap<>();
+        for (SessionResponse s : sessions) {
+            if (s.getLocation() != null && !s.getLocation().isBlank() && s.getStartTime() != null
+                    && s.getEndTime() != null && s.getEndTime().isAfter(s.getStartTime())) {
+                byLocation.computeIfAbsent(SessionKeys.location(s.getLocation()), k -> new ArrayList<>()).add(s);
+            }
+        }
+        List<SessionConflict> conflicts = new ArrayList<>();
+        for (List<SessionResponse> group : byLocation.values()) {
+            if (group.size() > 1 && sweep(group, touched, conflicts)) {
+                // The one past the cap only tells that there are more
+                conflicts.remove(MAX_REPORTED);
+                return new Report(conflicts, true);
+            }
+        }
+        return new Report(conflicts, false);
+    }
+
+    // Returns true once more than MAX_REPORTED conflicts have been collected
+    private static boolean sweep(List<SessionResponse> group, Set<SessionResponse> touched, List<SessionConflict> out) {
+        group.sort(SessionKeys.BY_START);
+        PriorityQueue<SessionResponse> running = new PriorityQueue<>(Comparator.comparing(SessionResponse::getEndTime));
+        List<SessionResponse> overlapping = new ArrayList<>();
+        for (SessionResponse s : group) {
+            while (!running.isEmpty() && !running.peek().getEndTime().isAfter(s.getStartTime())) {
+                running.poll();
+            }
+            if (!running.isEmpty()) {
+                boolean sTouched = touched == null || touched.contains(s);
+                overlapping.clear();
+                for (SessionResponse r : running) {
+                    if (sTouched || touched.contains(r)) {
+                        overlapping.add(r);
+                    }
+                }
+                overlapping.sort(SessionKeys.BY_START);
+                for (SessionResponse r : overlapping) {
+                    LocalDateTime to = r.getEndTime().isBefore(s.getEndTime()) ? r.getEndTime() : s.getEndTime();
+                    out.add(new SessionConflict(r.getLocation(), r, s, s.getStartTime(), to));
+                    if (out.size() > MAX_REPORTED) {
+                        return true;
+                    }
+                }
+            }
+            running.add(s);
+        }
+        return false;
+    }
+
+    static <T> Set<T> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
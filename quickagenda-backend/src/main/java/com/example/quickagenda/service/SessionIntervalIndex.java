@@ -0,0 +1,149 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.SessionResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable interval index over an agenda's sessions, for "happening now" and "up next". Sessions are
+ * sorted by start; the sorted array doubles as an implicit balanced search tree whose nodes also hold
+ * the latest end in their subtree, so a lookup skips every subtree that has already finished and
+ * costs O(log n + k). A session runs over {@code [start, end)}; sessions without both times are left
+ * out. Each location gets an index of its own, so filtered lookups are no slower.
+ */
+final class SessionIntervalIndex {
+
+    private final SessionResponse[] sessions;
+    private final long[] starts;
+    private final long[] ends;
+    // Latest end within the subtree rooted at each index (root of [lo, hi) is (lo + hi) >>> 1)
+    private final long[] maxEnds;
+    private final Map<String, SessionIntervalIndex> byLocation;
+
+    static SessionIntervalIndex of(List<SessionResponse> sessions) {
+        List<SessionResponse> timed = new ArrayList<>(sessions.size());
+        for (SessionResponse s : sessions) {
+            if (s.getStartTime() != null && s.getEndTime() != null) {
+                timed.add(s);
+            }
+        }
+        timed.sort(SessionKeys.BY_START);
+        Map<String, List<SessionResponse>> grouped = new HashMap<>();
+        for (SessionResponse s : timed) {
+            if (s.getLocation() != null) {
+                grouped.computeIfAbsent(SessionKeys.location(s.getLocation()), k -> new ArrayList<>()).add(s);
+            }
+        }
+        Map<String, SessionIntervalIndex> byLocation = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((location, list) -> byLocation.put(location, new SessionIntervalIndex(list, Map.of())));
+        return new SessionIntervalIndex(timed, byLocation);
+    }
+
+    // sorted: already in SessionKeys.BY_START order
+    private SessionIntervalIndex(List<SessionResponse> sorted, Map<String, SessionIntervalIndex> byLocation) {
+        int n = sorted.size();
+        this.sessions = sorted.toArray(new SessionResponse[0]);
+        this.starts = new long[n];
+        this.ends = new long[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = seconds(sessions[i].getStartTime());
+            ends[i] = seconds(sessions[i].getEndTime());
+        }
+        this.maxEnds = new long[n];
+        fillMaxEnds(0, n);
+        this.byLocation = byLocation;
+    }
+
+    /**
+     * The index restricted to one location (case-insensitive), or this index when {@code location} is null.
+     */
+    SessionIntervalIndex at(String location) {
+        if (location == null) {
+            return this;
+        }
+        SessionIntervalIndex index = byLocation.get(SessionKeys.location(location));
+        return index != null ? index : new SessionIntervalIndex(List.of(), Map.of());
+    }
+
+    /**
+     * Sessions with {@code start <= time < end}, in start order.
+     */
+    List<SessionResponse> runningAt(LocalDateTime time) {
+        List<SessionResponse> out = new ArrayList<>();
+        collectRunning(0, sessions.length, seconds(time), out);
+        return out;
+    }
+
+    /**
+     * The sessions starting soonest after {@code time}: every session sharing the first start time
+     * strictly later than it, so parallel tracks come back together.
+     */
+    List<SessionResponse> nextAfter(LocalDateTime time) {
+        long t = seconds(time);
+        int first = firstStartAfter(t);
+        if (first == sessions.length) {
+            return List.of();
+        }
+        int last = first;
+        while (last < sessions.length && starts[last] == starts[first]) {
+            last++;
+        }
+        return Arrays.asList(Arrays.copyOfRange(sessions, first, last));
+    }
+
+    int size() {
+        return sessions.length;
+    }
+
+    private long fillMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(fillMaxEnds(lo, mid), fillMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private void collectRunning(int lo, int hi, long t, List<SessionResponse> out) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnds[mid] <= t) {
+            return; // everything below has ended
+        }
+        collectRunning(lo, mid, t, out);
+        if (starts[mid] > t) {
+            return; // mid and everything right of it starts later
+        }
+        if (ends[mid] > t) {
+            out.add(sessions[mid]);
+        }
+        collectRunning(mid + 1, hi, t, out);
+    }
+
+    private int firstStartAfter(long t) {
+        int lo = 0;
+        int hi = sessions.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] <= t) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
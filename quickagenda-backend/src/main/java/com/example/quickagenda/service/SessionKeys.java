@@ -0,0 +1,26 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.SessionResponse;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * How sessions are ordered and grouped by location, shared so that conflict reports and the interval
+ * index agree on both.
+ */
+final class SessionKeys {
+
+    static final Comparator<SessionResponse> BY_START = Comparator
+            .comparing(SessionResponse::getStartTime)
+            .thenComparing(SessionResponse::getEndTime)
+            .thenComparing(SessionResponse::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private SessionKeys() {
+    }
+
+    // Locations match case-insensitively, ignoring surrounding blanks
+    static String location(String location) {
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+}
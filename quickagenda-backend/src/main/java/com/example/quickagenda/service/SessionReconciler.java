@@ -0,0 +1,90 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.entity.Session;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Diffs the sessions requested for an event against the stored ones by id. Matching rows are
+ * updated in place (managed entities, so only changed ones get flushed), rows without an id are
+ * inserted and stored rows absent from the request are deleted.
+ */
+final class SessionReconciler {
+
+    record Desired(Long id, String title, LocalDateTime start, LocalDateTime end, String location) {
+    }
+
+    record Plan(List<Session> result, List<Session> inserts, List<Session> updates, List<Session> deletes, int unchanged) {
+    }
+
+    private SessionReconciler() {
+    }
+
+    static Plan plan(Event event, List<Session> existing, List<Desired> desired) {
+        Map<Long, Session> byId = new LinkedHashMap<>(existing.size() * 2);
+        for (Session s : existing) {
+            byId.put(s.getId(), s);
+        }
+        Map<Long, Boolean> seen = new HashMap<>(desired.size() * 2);
+        List<Session> result = new ArrayList<>(desired.size());
+        List<Session> inserts = new ArrayList<>();
+        List<Session> updates = new ArrayList<>();
+        int unchanged = 0;
+
+        for (Desired d : desired) {
+            if (d.id() == null) {
+                Session s = new Session();
+                apply(s, d);
+                s.setEvent(event);
+                inserts.add(s);
+                result.add(s);
+                continue;
+            }
+            Session s = byId.get(d.id());
+            if (s == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown session id " + d.id());
+            }
+            if (seen.put(d.id(), Boolean.TRUE) != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate session id " + d.id());
+            }
+            if (matches(s, d)) {
+                unchanged++;
+            } else {
+                apply(s, d);
+                updates.add(s);
+            }
+            result.add(s);
+        }
+
+        List<Session> deletes = new ArrayList<>();
+        for (Session s : existing) {
+            if (!seen.containsKey(s.getId())) {
+                deletes.add(s);
+            }
+        }
+        return new Plan(result, inserts, updates, deletes, unchanged);
+    }
+
+    private static boolean matches(Session s, Desired d) {
+        return Objects.equals(s.getTitle(), d.title())
+                && Objects.equals(s.getStartTime(), d.start())
+                && Objects.equals(s.getEndTime(), d.end())
+                && Objects.equals(s.getLocation(), d.location());
+    }
+
+    private static void apply(Session s, Desired d) {
+        s.setTitle(d.title());
+        s.setStartTime(d.start());
+        s.setEndTime(d.end());
+        s.setLocation(d.location());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.ShareCodeStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out share codes from blocks of counters reserved with one {@code nextval} on
+ * {@code share_code_seq}, so instances never hand out the same counter and most events are created
+ * without an extra round trip. Counters go through {@link ShareCodePermutation}, which makes the codes
+ * unique by construction; the unique index on {@code event.share_code} only has to catch codes issued
+ * before this allocator or under a different key.
+ */
+@Component
+public class ShareCodeAllocator {
+
+    // The INCREMENT BY of share_code_seq (V1__baseline.sql)
+    static final int BLOCK_SIZE = 100;
+    // The placeholder in example.application.yml
+    private static final String PLACEHOLDER_KEY = "change-me";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShareCodePermutation permutation;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long end;
+
+    public ShareCodeAllocator(JdbcTemplate jdbcTemplate,
+                              @Value("${quickagenda.share-codes.key:}") String key) {
+        // The share code is all that authorizes edits to an event; with a known key anyone could
+        // compute the codes of counters 1..N
+        if (key.isBlank() || key.equals(PLACEHOLDER_KEY)) {
+            throw new IllegalStateException("quickagenda.share-codes.key must be set to a secret value");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.permutation = new ShareCodePermutation(key);
+    }
+
+    public String next() {
+        lock.lock();
+        try {
+            if (next == end) {
+                reserveBlock();
+            }
+            return permutation.encode(next++);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The code next() will return, without using it up
+    String peek() {
+        lock.lock();
+        try {
+            if (next == end) {
+                reserveBlock();
+            }
+            return permutation.encode(next);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ShareCodeStatsResponse stats() {
+        Map<String, Object> seq = jdbcTemplate.queryForMap("SELECT last_value, is_called FROM share_code_seq");
+        long reserved = Boolean.TRUE.equals(seq.get("is_called")) ? ((Number) seq.get("last_value")).longValue() + BLOCK_SIZE : 0;
+        long remaining;
+        lock.lock();
+        try {
+            remaining = end - next;
+        } finally {
+            lock.unlock();
+        }
+        return new ShareCodeStatsResponse(ShareCodePermutation.KEYSPACE, reserved,
+                (double) reserved / ShareCodePermutation.KEYSPACE, BLOCK_SIZE, remaining);
+    }
+
+    private void reserveBlock() {
+        Long start = jdbcTemplate.queryForObject("SELECT nextval('share_code_seq')", Long.class);
+        if (start == null || start + BLOCK_SIZE > ShareCodePermutation.KEYSPACE) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Share codes exhausted");
+        }
+        next = start;
+        end = start + BLOCK_SIZE;
+    }
+}
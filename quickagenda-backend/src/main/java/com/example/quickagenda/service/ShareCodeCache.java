@@ -0,0 +1,94 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.repository.EventRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Share code -> event metadata, so resolving a link does not cost a round trip to the pooler.
+ * Callers always get a detached copy; entries are immutable and evicted on every event update.
+ */
+@Component
+public class ShareCodeCache {
+
+    private final EventRepository eventRepository;
+    private final AsyncCache<String, Entry> cache;
+
+    public ShareCodeCache(EventRepository eventRepository,
+                          @Value("${quickagenda.cache.share-codes.max-size:10000}") long maxSize,
+                          @Value("${quickagenda.cache.share-codes.ttl:10m}") Duration ttl) {
+        this.eventRepository = eventRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Event resolve(String code) {
+        Entry entry = CallerLoads.get(cache, code, k -> eventRepository.findByShareCode(k).map(Entry::of).orElse(null));
+        if (entry == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return entry.toEvent();
+    }
+
+    /**
+     * Non-blocking variant of {@link #resolve}: on a miss the entry is filled from {@code loader},
+     * whose future completes with null when there is no such event. A concurrent eviction drops
+     * the in-flight load instead of letting it cache the old row.
+     */
+    public CompletableFuture<Event> resolveAsync(String code, Function<String, CompletableFuture<Event>> loader) {
+        return cache.get(code, (k, executor) -> loader.apply(k).thenApply(e -> e == null ? null : Entry.of(e)))
+                .thenApply(entry -> {
+                    if (entry == null) {
+                        throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+                    }
+                    return entry.toEvent();
+                });
+    }
+
+    public void evict(String code) {
+        cache.synchronous().invalidate(code);
+        // A concurrent reader may re-cache the old row before our transaction commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.synchronous().invalidate(code);
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    private record Entry(Long id, String name, LocalDate eventDate, String description, String shareCode) {
+        static Entry of(Event e) {
+            return new Entry(e.getId(), e.getName(), e.getEventDate(), e.getDescription(), e.getShareCode());
+        }
+
+        Event toEvent() {
+            return new Event(id, name, eventDate, description, shareCode);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.quickagenda.service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * Keyed bijection from a counter in {@code [0, 36^6)} to a six character {@code [0-9A-Z]} share code:
+ * a balanced Feistel network over two base-36 halves of three characters each, with HMAC-SHA256 as
+ * the round function. Distinct counters always give distinct codes, yet consecutive counters do not
+ * give guessable neighbours. Changing the key reshuffles every future code.
+ */
+final class ShareCodePermutation {
+
+    static final int LENGTH = 6;
+    static final long KEYSPACE = 2_176_782_336L; // 36^6
+
+    private static final int HALF = 46_656; // 36^3
+    private static final int ROUNDS = 6;
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private final Mac prototype;
+
+    ShareCodePermutation(String key) {
+        try {
+            prototype = Mac.getInstance("HmacSHA256");
+            prototype.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    String encode(long counter) {
+        if (counter < 0 || counter >= KEYSPACE) {
+            throw new IllegalArgumentException("counter out of range: " + counter);
+        }
+        Mac mac = mac();
+        int left = (int) (counter / HALF);
+        int right = (int) (counter % HALF);
+        for (int round = 0; round < ROUNDS; round++) {
+            int mixed = (left + round(mac, round, right)) % HALF;
+            left = right;
+            right = mixed;
+        }
+        long value = (long) left * HALF + right;
+        char[] code = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            code[i] = DIGITS[(int) (value % 36)];
+            value /= 36;
+        }
+        return new String(code);
+    }
+
+    private static int round(Mac mac, int round, int half) {
+        byte[] h = mac.doFinal(new byte[]{(byte) round, (byte) (half >>> 16), (byte) (half >>> 8), (byte) half});
+        int bits = ((h[0] & 0xff) << 24) | ((h[1] & 0xff) << 16) | ((h[2] & 0xff) << 8) | (h[3] & 0xff);
+        return Integer.remainderUnsigned(bits, HALF);
+    }
+
+    // Mac instances are not thread-safe; cloning the initialised prototype skips the key schedule
+    private Mac mac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
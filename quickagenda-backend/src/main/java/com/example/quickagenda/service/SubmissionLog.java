@@ -0,0 +1,233 @@
+package com.example.quickagenda.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Append-only NDJSON log of accepted form submissions. A single writer thread group-commits
+ * whatever is queued: one write and one fsync per batch, after which every caller in the batch is
+ * acknowledged and the entries are handed to the durable-entry consumer in sequence order.
+ * A checkpoint file records the highest sequence known to be in the database; everything after it
+ * is replayed by {@link #recover()}.
+ */
+final class SubmissionLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(SubmissionLog.class);
+    private static final int MAX_GROUP = 1024;
+
+    record Entry(long seq, long formId, String email, String answersJson, OffsetDateTime at) {
+    }
+
+    private record Pending(long formId, String email, String answersJson, OffsetDateTime at, CompletableFuture<Entry> ack) {
+    }
+
+    private final Path logFile;
+    private final Path checkpointFile;
+    private final Path deadLetterFile;
+    private final ObjectMapper objectMapper;
+    private final long truncateAboveBytes;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private FileChannel channel;
+    private Consumer<List<Entry>> onDurable = entries -> { };
+    private volatile boolean closed;
+    private volatile long lastSeq;
+    private volatile long checkpointed;
+    private volatile long truncateRequested = -1;
+
+    SubmissionLog(Path dir, ObjectMapper objectMapper, long truncateAboveBytes) throws IOException {
+        Files.createDirectories(dir);
+        this.logFile = dir.resolve("submissions.log");
+        this.checkpointFile = dir.resolve("checkpoint");
+        this.deadLetterFile = dir.resolve("dead-letter.log");
+        this.objectMapper = objectMapper;
+        this.truncateAboveBytes = truncateAboveBytes;
+        this.checkpointed = Files.exists(checkpointFile)
+                ? Long.parseLong(Files.readString(checkpointFile).trim()) : 0;
+        this.writer = new Thread(this::writeLoop, "submission-log-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Reads entries not yet covered by the checkpoint and opens the log for appending.
+     * A torn trailing line from a crash mid-write is dropped; it was never acknowledged.
+     */
+    List<Entry> recover() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long maxSeq = checkpointed;
+        if (Files.exists(logFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Entry e;
+                    try {
+                        e = objectMapper.readValue(line, Entry.class);
+                    } catch (IOException ex) {
+                        log.warn("Ignoring unreadable submission log line: {}", ex.getMessage());
+                        continue;
+                    }
+                    maxSeq = Math.max(maxSeq, e.seq());
+                    if (e.seq() > checkpointed) {
+                        entries.add(e);
+                    }
+                }
+            }
+        }
+        lastSeq = maxSeq;
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return entries;
+    }
+
+    void start(Consumer<List<Entry>> onDurable) {
+        this.onDurable = onDurable;
+        writer.start();
+    }
+
+    CompletableFuture<Entry> append(long formId, String email, String answersJson, OffsetDateTime at) {
+        CompletableFuture<Entry> ack = new CompletableFuture<>();
+        if (closed) {
+            ack.completeExceptionally(new IllegalStateException("submission log closed"));
+            return ack;
+        }
+        queue.add(new Pending(formId, email, answersJson, at, ack));
+        return ack;
+    }
+
+    /**
+     * Everything up to {@code seq} is in the database. Once that covers the whole log and the file
+     * has grown past the threshold, the writer truncates it.
+     */
+    void checkpoint(long seq) throws IOException {
+        if (seq <= checkpointed) {
+            return;
+        }
+        Path tmp = checkpointFile.resolveSibling("checkpoint.tmp");
+        Files.writeString(tmp, Long.toString(seq));
+        Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpointed = seq;
+        truncateRequested = seq;
+    }
+
+    /**
+     * Sets aside an entry the database will never accept, with the reason, so the checkpoint can
+     * move past it. Kept as NDJSON next to the log for an operator to inspect or re-submit.
+     */
+    void deadLetter(Entry entry, String reason) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("entry", entry);
+        line.put("reason", reason);
+        Files.writeString(deadLetterFile, objectMapper.writeValueAsString(line) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    long lastSeq() {
+        return lastSeq;
+    }
+
+    long checkpointed() {
+        return checkpointed;
+    }
+
+    private void writeLoop() {
+        List<Pending> group = new ArrayList<>(MAX_GROUP);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    maybeTruncate();
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, MAX_GROUP - 1);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> group) {
+        List<Entry> entries = new ArrayList<>(group.size());
+        try {
+            StringBuilder sb = new StringBuilder(group.size() * 256);
+            long seq = lastSeq;
+            for (Pending p : group) {
+                Entry e = new Entry(++seq, p.formId(), p.email(), p.answersJson(), p.at());
+                sb.append(objectMapper.writeValueAsString(e)).append('\n');
+                entries.add(e);
+            }
+            ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(false);
+            lastSeq = seq;
+        } catch (IOException | RuntimeException e) {
+            log.error("Submission log write failed, rejecting {} submissions", group.size(), e);
+            group.forEach(p -> p.ack().completeExceptionally(e));
+            return;
+        }
+        onDurable.accept(entries);
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).ack().complete(entries.get(i));
+        }
+    }
+
+    private void maybeTruncate() {
+        long requested = truncateRequested;
+        if (requested < 0 || requested != lastSeq || !queue.isEmpty()) {
+            return;
+        }
+        try {
+            if (channel.size() > truncateAboveBytes) {
+                channel.truncate(0);
+                channel.force(true);
+            }
+            truncateRequested = -1;
+        } catch (IOException e) {
+            log.warn("Could not truncate submission log", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
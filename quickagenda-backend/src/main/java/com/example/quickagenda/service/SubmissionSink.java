@@ -0,0 +1,11 @@
+package com.example.quickagenda.service;
+
+import java.util.List;
+
+/**
+ * Destination for coalesced write-behind submissions. Implementations must be idempotent: after a
+ * crash the same entries may be written again on replay.
+ */
+interface SubmissionSink {
+    void write(List<SubmissionLog.Entry> entries);
+}
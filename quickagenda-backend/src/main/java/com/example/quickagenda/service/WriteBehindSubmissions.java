@@ -0,0 +1,214 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.WriteBehindStatsResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional high-throughput submission path: a submission is acknowledged once it is fsynced to the
+ * local {@link SubmissionLog}; a background flusher keeps only the latest submission per
+ * (form, email) and upserts them in bulk. Entries not yet checkpointed are replayed at startup.
+ */
+@Component
+@ConditionalOnProperty(name = "quickagenda.forms.write-behind.enabled", havingValue = "true")
+public class WriteBehindSubmissions implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindSubmissions.class);
+
+    private record Key(long formId, String email) {
+    }
+
+    private final SubmissionSink sink;
+    private final SubmissionLog submissionLog;
+    private final long ackTimeoutMillis;
+    private final Object lock = new Object();
+    // Not a monitor: a virtual thread blocking on JDBC inside synchronized would pin its carrier
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private Map<Key, SubmissionLog.Entry> pending = new LinkedHashMap<>();
+    private long highestDurable;
+
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong flushNanosTotal = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+
+    public WriteBehindSubmissions(SubmissionSink sink,
+                                  ObjectMapper objectMapper,
+                                  @Value("${quickagenda.forms.write-behind.log-dir:./data/submissions}") Path logDir,
+                                  @Value("${quickagenda.forms.write-behind.truncate-above-bytes:67108864}") long truncateAboveBytes,
+                                  @Value("${quickagenda.forms.write-behind.ack-timeout:5s}") Duration ackTimeout) throws IOException {
+        this.sink = sink;
+        this.ackTimeoutMillis = ackTimeout.toMillis();
+        this.submissionLog = new SubmissionLog(logDir, objectMapper, truncateAboveBytes);
+        List<SubmissionLog.Entry> replay = submissionLog.recover();
+        if (!replay.isEmpty()) {
+            log.info("Replaying {} unflushed submissions from {}", replay.size(), logDir);
+            addDurable(replay);
+            flush();
+        }
+        submissionLog.start(this::addDurable);
+    }
+
+    /**
+     * Blocks until the submission is durable in the local log, not until it reaches the database.
+     */
+    public void submit(long formId, String email, String answersJson, OffsetDateTime at) {
+        try {
+            submissionLog.append(formId, email, answersJson, at).get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "submission not recorded");
+        } catch (ExecutionException | TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "submission not recorded");
+        }
+    }
+
+    private void addDurable(List<SubmissionLog.Entry> entries) {
+        synchronized (lock) {
+            for (SubmissionLog.Entry e : entries) {
+                pending.put(new Key(e.formId(), e.email()), e);
+                highestDurable = Math.max(highestDurable, e.seq());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quickagenda.forms.write-behind.flush-interval:500ms}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        Map<Key, SubmissionLog.Entry> batch;
+        long upTo;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            upTo = highestDurable;
+            pending = new LinkedHashMap<>();
+        }
+        long started = System.nanoTime();
+        List<SubmissionLog.Entry> entries = new ArrayList<>(batch.values());
+        List<SubmissionLog.Entry> unwritten;
+        try {
+            sink.write(entries);
+            unwritten = List.of();
+        } catch (RuntimeException e) {
+            flushFailures.incrementAndGet();
+            log.warn("Write-behind flush of {} submissions failed, retrying them one at a time", entries.size(), e);
+            unwritten = writeEach(entries);
+        }
+        if (!unwritten.isEmpty()) {
+            synchronized (lock) {
+                // Anything submitted since the swap is newer and wins
+                unwritten.forEach(v -> pending.merge(new Key(v.formId(), v.email()), v,
+                        (newer, older) -> newer.seq() > older.seq() ? newer : older));
+            }
+            return;
+        }
+        try {
+            submissionLog.checkpoint(upTo);
+        } catch (IOException e) {
+            // The rows are in the database; a later checkpoint covers them, and replaying them is harmless
+            log.warn("Write-behind checkpoint at {} failed", upTo, e);
+        }
+        long took = System.nanoTime() - started;
+        flushes.incrementAndGet();
+        flushedRows.addAndGet(batch.size());
+        flushNanosTotal.addAndGet(took);
+        lastFlushNanos = took;
+        if (took > maxFlushNanos) {
+            maxFlushNanos = took;
+        }
+    }
+
+    /**
+     * Writes the entries separately. One the database rejects as invalid (e.g. its form was deleted)
+     * goes to the dead-letter file instead of holding back every later flush; any other failure,
+     * such as the database being unreachable, stops the pass and returns what is left.
+     */
+    private List<SubmissionLog.Entry> writeEach(List<SubmissionLog.Entry> entries) {
+        for (int i = 0; i < entries.size(); i++) {
+            SubmissionLog.Entry e = entries.get(i);
+            try {
+                sink.write(List.of(e));
+            } catch (DataIntegrityViolationException rejected) {
+                try {
+                    submissionLog.deadLetter(e, rejected.getMostSpecificCause().getMessage());
+                } catch (IOException io) {
+                    log.warn("Could not dead-letter submission {}", e.seq(), io);
+                    return entries.subList(i, entries.size());
+                }
+                deadLettered.incrementAndGet();
+                log.warn("Dead-lettered submission {} for form {}: {}", e.seq(), e.formId(), rejected.getMostSpecificCause().getMessage());
+            } catch (RuntimeException failed) {
+                return entries.subList(i, entries.size());
+            }
+        }
+        return List.of();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("quickagenda.submissions.dead.lettered", deadLettered, AtomicLong::get)
+                .description("Write-behind submissions the database rejected, set aside in the dead-letter file")
+                .register(registry);
+        FunctionCounter.builder("quickagenda.submissions.flush.failures", flushFailures, AtomicLong::get)
+                .description("Write-behind flushes that failed as a whole")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        submissionLog.close();
+        flush();
+    }
+
+    public WriteBehindStatsResponse stats() {
+        int coalesced;
+        synchronized (lock) {
+            coalesced = pending.size();
+        }
+        long n = flushes.get();
+        return new WriteBehindStatsResponse(submissionLog.queued(), coalesced,
+                submissionLog.lastSeq() - submissionLog.checkpointed(),
+                n, flushedRows.get(), flushFailures.get(), deadLettered.get(),
+                TimeUnit.NANOSECONDS.toMillis(lastFlushNanos), TimeUnit.NANOSECONDS.toMillis(maxFlushNanos),
+                n == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(flushNanosTotal.get() / n));
+    }
+}
@@ -0,0 +1,95 @@
+-- The schema as Hibernate ddl-auto and the former hand-applied schema.sql left it.
+-- Every statement is idempotent: databases created before migrations are baselined at version 0
+-- (spring.flyway.baseline-version) and converge by running this file too.
+
+CREATE SEQUENCE IF NOT EXISTS session_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS form_fields_seq INCREMENT BY 50;
+-- Counters for ShareCodeAllocator, reserved a block of 100 at a time
+CREATE SEQUENCE IF NOT EXISTS share_code_seq INCREMENT BY 100 MINVALUE 0 START WITH 0;
+
+CREATE TABLE IF NOT EXISTS event (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255),
+    event_date  DATE,
+    description TEXT,
+    share_code  VARCHAR(255),
+    CONSTRAINT uq_event_share_code UNIQUE (share_code)
+);
+
+CREATE TABLE IF NOT EXISTS session (
+    id         BIGINT PRIMARY KEY,
+    event_id   BIGINT NOT NULL REFERENCES event (id),
+    title      VARCHAR(255),
+    start_time TIMESTAMP(6),
+    end_time   TIMESTAMP(6),
+    location   VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS forms (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id  BIGINT NOT NULL UNIQUE REFERENCES event (id),
+    title     VARCHAR(255),
+    is_active BOOLEAN,
+    open_at   TIMESTAMPTZ,
+    close_at  TIMESTAMPTZ
+);
+
+CREATE TABLE IF NOT EXISTS form_fields (
+    id           BIGINT PRIMARY KEY,
+    form_id      BIGINT NOT NULL REFERENCES forms (id),
+    type         VARCHAR(255) NOT NULL,
+    label        VARCHAR(255) NOT NULL,
+    is_required  BOOLEAN,
+    order_index  INTEGER,
+    options_json TEXT,
+    config_json  TEXT
+);
+
+CREATE TABLE IF NOT EXISTS form_responses (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    form_id      BIGINT NOT NULL REFERENCES forms (id),
+    email        VARCHAR(255) NOT NULL,
+    answers_json JSONB,
+    created_at   TIMESTAMPTZ,
+    updated_at   TIMESTAMPTZ,
+    UNIQUE (form_id, email)
+);
+
+CREATE TABLE IF NOT EXISTS feedback (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    text       VARCHAR(2000) NOT NULL,
+    source     VARCHAR(255),
+    user_agent VARCHAR(255),
+    share_code VARCHAR(255),
+    created_at TIMESTAMPTZ
+);
+
+-- Older databases predate the description column
+ALTER TABLE event ADD COLUMN IF NOT EXISTS description TEXT;
+
+-- Pooled ids (allocationSize 50) can only be batched if the sequences start past existing ids
+SELECT setval('session_seq', GREATEST((SELECT last_value FROM session_seq), COALESCE((SELECT MAX(id) FROM session), 0) + 50));
+SELECT setval('form_fields_seq', GREATEST((SELECT last_value FROM form_fields_seq), COALESCE((SELECT MAX(id) FROM form_fields), 0) + 50));
+
+-- Share codes are unique; createEvent relies on this for INSERT ... ON CONFLICT (share_code).
+-- Fails on databases that already hold duplicate codes, list them first with:
+--   SELECT share_code, COUNT(*) FROM event GROUP BY share_code HAVING COUNT(*) > 1;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_event_share_code ON event (share_code);
+
+-- Keyset pagination for GET /api/feedback: newest first, optionally filtered by source or share code
+CREATE INDEX IF NOT EXISTS idx_feedback_created ON feedback (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_feedback_source_created ON feedback (source, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_feedback_share_code_created ON feedback (share_code, created_at, id);
+
+-- Answers as jsonb so responses can be filtered and counted in the database (answers_json @> '{"12": true}').
+-- Checked first, so databases that already converted are not rewritten again.
+DO $$
+BEGIN
+    IF (SELECT data_type FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'form_responses' AND column_name = 'answers_json') <> 'jsonb' THEN
+        ALTER TABLE form_responses ALTER COLUMN answers_json TYPE jsonb
+            USING COALESCE(NULLIF(answers_json::text, ''), '{}')::jsonb;
+    END IF;
+END
+$$;
+CREATE INDEX IF NOT EXISTS idx_form_responses_answers ON form_responses USING gin (answers_json jsonb_path_ops);
@@ -0,0 +1,12 @@
+-- One index per hot lookup that only had a sequential scan. QueryPlanTest checks each plan.
+
+-- SessionRepository.findByEvent, EventRepository.findAgenda (joined on event_id, ordered by id),
+-- deleteFromEvent; also keeps deletes on event from scanning session for the foreign key
+CREATE INDEX IF NOT EXISTS idx_session_event ON session (event_id, id);
+
+-- FormFieldRepository.findByFormOrderByOrderIndexAsc and deleteByForm
+CREATE INDEX IF NOT EXISTS idx_form_fields_form_order ON form_fields (form_id, order_index);
+
+-- FormResponseRepository.findByFormOrderByCreatedAtDesc (read backwards) and the CSV/NDJSON export,
+-- ordered by (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_form_responses_form_created ON form_responses (form_id, created_at, id);
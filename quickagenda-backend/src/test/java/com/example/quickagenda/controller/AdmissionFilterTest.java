@@ -0,0 +1,84 @@
+package com.example.quickagenda.controller;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionFilterTest {
+
+    @Test
+    void turnsAwayRequestsBeyondTheCapOnceTheQueueTimeoutPasses() throws Exception {
+        AdmissionFilter filter = new AdmissionFilter(1, Duration.ofMillis(50));
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/feedback"), response, (req, res) -> {
+                    inside.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return response;
+        });
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/feedback"), second, new MockFilterChain());
+        assertEquals(503, second.getStatus());
+        assertEquals("1", second.getHeader("Retry-After"));
+
+        // Stats bypass the cap
+        MockHttpServletResponse stats = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/stats/admission"), stats, new MockFilterChain());
+        assertEquals(200, stats.getStatus());
+
+        assertEquals(1, filter.stats().getInFlight());
+        release.countDown();
+        assertEquals(200, first.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(0, filter.stats().getInFlight());
+        assertEquals(1, filter.stats().getAdmitted());
+        assertEquals(1, filter.stats().getRejected());
+    }
+
+    @Test
+    void answersPoolTimeoutsWith503() throws Exception {
+        AdmissionFilter filter = new AdmissionFilter(4, Duration.ofMillis(50));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/feedback"), response, (req, res) -> {
+            throw new ServletException("Request processing failed", new CannotCreateTransactionException("no connection",
+                    new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out after 2000ms")));
+        });
+
+        assertEquals(503, response.getStatus());
+        assertEquals(1, filter.stats().getPoolTimeouts());
+        assertEquals(0, filter.stats().getInFlight());
+    }
+
+    @Test
+    void otherFailuresPropagate() {
+        AdmissionFilter filter = new AdmissionFilter(4, Duration.ofMillis(50));
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(new MockHttpServletRequest("GET", "/api/feedback"),
+                new MockHttpServletResponse(), (req, res) -> {
+                    throw new IllegalStateException("boom");
+                }));
+        assertEquals(0, filter.stats().getInFlight());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.QuickagendaApplication;
+import com.example.quickagenda.dto.StreamStatsResponse;
+import com.example.quickagenda.service.AgendaSubscribers;
+import com.example.quickagenda.support.SseClients;
+import com.example.quickagenda.support.TestDatabase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ten thousand idle agenda streams on one instance: they stay open across heartbeats, a change
+ * reaches all of them without slowing the write that made it, and closed ones are cleaned up.
+ * The clients run in a child process ({@link SseClients}) so both ends' sockets fit the usual
+ * per-process descriptor limit. Run with {@code -Dbenchmarks=true}.
+ */
+@EnabledIf("com.example.quickagenda.support.TestDatabase#available")
+class AgendaStreamLoadTest {
+
+    private static final int STREAMS = 10_000;
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void holdsTenThousandIdleStreams() throws Exception {
+        String[] args = {
+                "--server.port=0",
+                "--quickagenda.share-codes.key=load-test",
+                "--spring.datasource.url=" + TestDatabase.url(),
+                "--spring.datasource.username=" + TestDatabase.username(),
+                "--spring.datasource.password=" + TestDatabase.password(),
+                "--spring.jpa.show-sql=false",
+                "--quickagenda.stream.heartbeat-interval=1s"};
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(QuickagendaApplication.class).run(args)) {
+            String port = ctx.getEnvironment().getProperty("local.server.port");
+            String base = "http://127.0.0.1:" + port + "/api";
+            HttpClient http = HttpClient.newHttpClient();
+            HttpResponse<String> created = http.send(HttpRequest.newBuilder(URI.create(base + "/events"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load\",\"eventDate\":\"2026-03-01\",\"sessions\":[]}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            String code = new ObjectMapper().readTree(created.body()).get("shareCode").asText();
+            AgendaSubscribers subscribers = ctx.getBean(AgendaSubscribers.class);
+
+            Process clients = new ProcessBuilder(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"), SseClients.class.getName(),
+                    "127.0.0.1", port, "/api/events/" + code + "/stream", Integer.toString(STREAMS))
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+            Thread.ofPlatform().daemon().start(() -> new BufferedReader(new InputStreamReader(clients.getInputStream()))
+                    .lines().forEach(lines::add));
+            try {
+                long started = System.nanoTime();
+                assertEquals("open " + STREAMS, next(lines, 120));
+                System.out.printf("opened %d streams in %dms%n", STREAMS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                assertEquals(STREAMS, subscribers.subscribers(code));
+
+                Thread.sleep(3_000); // a few heartbeat rounds over idle streams
+                assertEquals(STREAMS, subscribers.subscribers(code));
+                assertTrue(subscribers.stats().getHeartbeats() >= STREAMS);
+
+                started = System.nanoTime();
+                HttpResponse<String> renamed = http.send(HttpRequest.newBuilder(URI.create(base + "/events/" + code))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"name\":\"Renamed\"}"))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                long writeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                assertEquals(200, renamed.statusCode());
+                assertEquals("changed " + STREAMS, next(lines, 60));
+                long fanOutMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+                StreamStatsResponse stats = subscribers.stats();
+                System.out.printf("write %dms, all streams notified after %dms | delivered=%d heartbeats=%d dropped=%d%n",
+                        writeMillis, fanOutMillis, stats.getDelivered(), stats.getHeartbeats(), stats.getDropped());
+                assertEquals(0, stats.getDropped());
+                assertTrue(writeMillis < 1_000, "write took " + writeMillis + "ms");
+            } finally {
+                clients.getOutputStream().close();
+                clients.waitFor(10, TimeUnit.SECONDS);
+                clients.destroyForcibly();
+            }
+
+            // The next heartbeats fail on the closed sockets and remove them
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+            while (subscribers.subscribers(code) > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertEquals(0, subscribers.subscribers(code));
+        }
+    }
+
+    private static String next(BlockingQueue<String> lines, long timeoutSeconds) throws InterruptedException {
+        String line = lines.poll(timeoutSeconds, TimeUnit.SECONDS);
+        assertNotNull(line, "no output from the clients");
+        return line;
+    }
+}
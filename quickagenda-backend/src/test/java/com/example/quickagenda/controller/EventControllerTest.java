@@ -0,0 +1,147 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.dto.AgendaNowResponse;
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.example.quickagenda.dto.SessionConflict;
+import com.example.quickagenda.dto.SessionCreateRequest;
+import com.example.quickagenda.dto.SessionResponse;
+import com.example.quickagenda.service.AgendaSnapshot;
+import com.example.quickagenda.service.AgendaSnapshotCache;
+import com.example.quickagenda.service.EventService;
+import com.example.quickagenda.service.ScheduleConflictException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EventController.class)
+class EventControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private EventService eventService;
+
+    private AgendaSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        EventDetailResponse detail = new EventDetailResponse(1L, "Conf", LocalDate.of(2025, 11, 3), null, "ABC123", List.of(), null, null, false);
+        snapshot = new AgendaSnapshotCache(objectMapper, 1 << 20, Duration.ofMinutes(1))
+                .get("ABC123", code -> new AgendaSnapshotCache.Loaded(detail, "BEGIN:VCALENDAR\r\n".getBytes()));
+        when(eventService.getAgendaSnapshot("ABC123")).thenReturn(snapshot);
+    }
+
+    @Test
+    void servesJsonWithValidators() throws Exception {
+        mvc.perform(get("/api/events/ABC123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.getJsonEtag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.shareCode").value("ABC123"));
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEtag() throws Exception {
+        mvc.perform(get("/api/events/ABC123").header(HttpHeaders.IF_NONE_MATCH, snapshot.getJsonEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        mvc.perform(get("/api/events/ABC123.ics").header(HttpHeaders.IF_NONE_MATCH, snapshot.getIcsEtag()))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void answersNotModifiedSinceLastModified() throws Exception {
+        mvc.perform(get("/api/events/ABC123").header(HttpHeaders.IF_MODIFIED_SINCE,
+                        snapshot.getLastModified().toEpochMilli()))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void servesPreGzippedBytesWhenAccepted() throws Exception {
+        mvc.perform(get("/api/events/ABC123.ics").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(content().bytes(snapshot.getIcsGzip()));
+        mvc.perform(get("/api/events/ABC123").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void nowPassesTimeAndLocationThrough() throws Exception {
+        SessionResponse keynote = new SessionResponse(7L, "Keynote", LocalDateTime.of(2025, 11, 3, 9, 0),
+                LocalDateTime.of(2025, 11, 3, 10, 0), "Room A");
+        when(eventService.getNow("ABC123", "09:30", "Room A"))
+                .thenReturn(new AgendaNowResponse(LocalDateTime.of(2025, 11, 3, 9, 30), List.of(keynote), List.of()));
+
+        mvc.perform(get("/api/events/ABC123/now").param("at", "09:30").param("location", "Room A"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.at").value("2025-11-03T09:30:00"))
+                .andExpect(jsonPath("$.now[0].id").value(7))
+                .andExpect(jsonPath("$.next").isEmpty());
+    }
+
+    @Test
+    void streamResumesFromLastEventId() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(eventService.subscribe("ABC123", 5L)).thenReturn(emitter);
+
+        MvcResult result = mvc.perform(get("/api/events/ABC123/stream").header("Last-Event-ID", "5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().comment("connected"));
+        emitter.complete();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE))
+                .andExpect(content().string(":connected\n\n"));
+    }
+
+    @Test
+    void strictWritesAnswerConflictWithTheOverlaps() throws Exception {
+        SessionResponse keynote = new SessionResponse(7L, "Keynote", LocalDateTime.of(2025, 11, 3, 9, 0),
+                LocalDateTime.of(2025, 11, 3, 10, 0), "Room A");
+        SessionResponse clash = new SessionResponse(null, "Clash", LocalDateTime.of(2025, 11, 3, 9, 30),
+                LocalDateTime.of(2025, 11, 3, 10, 30), "Room A");
+        when(eventService.addSession(eq("ABC123"), any(SessionCreateRequest.class), eq(true)))
+                .thenThrow(new ScheduleConflictException(List.of(new SessionConflict("Room A", keynote, clash,
+                        clash.getStartTime(), keynote.getEndTime()))));
+
+        mvc.perform(post("/api/events/ABC123/sessions").param("strict", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Clash\",\"start\":\"09:30\",\"end\":\"10:30\",\"location\":\"Room A\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.conflicts[0].session.id").value(7))
+                .andExpect(jsonPath("$.conflicts[0].conflictsWith.title").value("Clash"))
+                .andExpect(jsonPath("$.conflicts[0].from").value("2025-11-03T09:30:00"))
+                .andExpect(jsonPath("$.conflicts[0].to").value("2025-11-03T10:00:00"))
+                .andExpect(jsonPath("$.conflictsTruncated").doesNotExist());
+    }
+}
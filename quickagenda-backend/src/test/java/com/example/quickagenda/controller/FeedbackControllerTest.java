@@ -0,0 +1,90 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.entity.Feedback;
+import com.example.quickagenda.repository.FeedbackRepository;
+import com.example.quickagenda.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class FeedbackControllerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        feedbackRepository.deleteAll();
+        OffsetDateTime base = OffsetDateTime.parse("2025-11-03T09:00:00Z");
+        List<Feedback> rows = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Pairs of identical timestamps so the id tiebreak matters
+            rows.add(new Feedback(null, "note " + i, i % 5 == 0 ? "share" : "app", null, i % 5 == 0 ? "ABC123" : null, base.plusMinutes(i / 2)));
+        }
+        feedbackRepository.saveAll(rows);
+    }
+
+    private JsonNode page(String query) throws Exception {
+        String body = mvc.perform(get("/api/feedback" + query)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    @Test
+    void walksEveryRowOnceNewestFirst() throws Exception {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode p = page("?limit=10" + (cursor == null ? "" : "&cursor=" + cursor));
+            p.get("items").forEach(f -> seen.add(f.get("text").asText()));
+            cursor = p.get("nextCursor").isNull() ? null : p.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, seen.size());
+        assertEquals(25, seen.stream().distinct().count());
+        assertEquals("note 24", seen.get(0));
+        assertEquals("note 0", seen.get(24));
+    }
+
+    @Test
+    void filtersBySourceAndShareCode() throws Exception {
+        JsonNode bySource = page("?source=share&limit=3");
+        assertEquals(3, bySource.get("items").size());
+        assertFalse(bySource.get("nextCursor").isNull());
+        bySource.get("items").forEach(f -> assertEquals("share", f.get("source").asText()));
+
+        JsonNode rest = page("?source=share&limit=3&cursor=" + bySource.get("nextCursor").asText());
+        assertEquals(2, rest.get("items").size());
+        assertTrue(rest.get("nextCursor").isNull());
+
+        assertEquals(5, page("?shareCode=ABC123").get("items").size());
+        assertEquals(0, page("?shareCode=ZZZ999").get("items").size());
+    }
+
+    @Test
+    void rejectsGarbageCursor() throws Exception {
+        mvc.perform(get("/api/feedback?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+}
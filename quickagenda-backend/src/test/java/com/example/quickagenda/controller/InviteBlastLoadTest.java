@@ -0,0 +1,248 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.QuickagendaApplication;
+import com.example.quickagenda.support.LatencyProxy;
+import com.example.quickagenda.support.LoadDriver;
+import com.example.quickagenda.support.TestDatabase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The "invite blast": an organizer creates an event with a form and shares the link, then every
+ * client behaves like an invitee arriving from it. Each request is drawn from a fixed mix of agenda
+ * reads, calendar downloads, form reads and submissions, with the organizer occasionally moving a
+ * session (which invalidates the cached agenda). The app runs in-process on a real port against
+ * the test database with the production pool size. Reports throughput and p50/p95/p99 per endpoint,
+ * and how saturated the Hikari pool was while measuring.
+ * <p>
+ * Run with {@code ../loadtest/invite-blast.sh}, or {@code -Dbenchmarks=true} plus optional
+ * {@code -Dloadtest.clients}, {@code .seconds}, {@code .warmup-seconds}, {@code .pool-size},
+ * {@code .db-delay-ms} (adds latency to every database response) and {@code .profiles}.
+ */
+@EnabledIf("com.example.quickagenda.support.TestDatabase#available")
+class InviteBlastLoadTest {
+
+    private static final int SESSIONS = 8;
+    private static final String[] LABELS = {"GET agenda", "GET ics", "GET form", "POST submit", "PATCH session"};
+    // Per mille, in LABELS order
+    private static final int[] MIX = {550, 150, 130, 160, 10};
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void inviteBlast() throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 200);
+        long durationMillis = Integer.getInteger("loadtest.seconds", 30) * 1000L;
+        long warmupMillis = Integer.getInteger("loadtest.warmup-seconds", 5) * 1000L;
+        int poolSize = Integer.getInteger("loadtest.pool-size", 5);
+        long dbDelayMillis = Integer.getInteger("loadtest.db-delay-ms", 0);
+        String profiles = System.getProperty("loadtest.profiles", "");
+
+        URI db = URI.create(TestDatabase.url().substring("jdbc:".length()));
+        try (LatencyProxy proxy = dbDelayMillis > 0 ? new LatencyProxy(db.getHost(), db.getPort(), dbDelayMillis) : null) {
+            String jdbcUrl = proxy == null ? TestDatabase.url() : "jdbc:postgresql://127.0.0.1:" + proxy.port() + db.getPath();
+            // Arguments rather than default properties, so they win over a local application.yml
+            String[] args = {
+                    "--server.port=0",
+                    "--quickagenda.share-codes.key=load-test",
+                    "--spring.datasource.url=" + jdbcUrl,
+                    "--spring.datasource.username=" + TestDatabase.username(),
+                    "--spring.datasource.password=" + TestDatabase.password(),
+                    "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                    "--spring.datasource.hikari.data-source-properties.preferQueryMode=simple",
+                    "--spring.datasource.hikari.data-source-properties.prepareThreshold=0",
+                    "--spring.jpa.show-sql=false"};
+            SpringApplicationBuilder app = new SpringApplicationBuilder(QuickagendaApplication.class);
+            if (!profiles.isBlank()) {
+                app.profiles(profiles.split(","));
+            }
+            try (ConfigurableApplicationContext ctx = app.run(args)) {
+                String base = "http://127.0.0.1:" + ctx.getEnvironment().getProperty("local.server.port") + "/api";
+                ObjectMapper json = new ObjectMapper();
+                HttpClient http = HttpClient.newHttpClient();
+
+                String code = json.readTree(send(http, HttpRequest.newBuilder(URI.create(base + "/events"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(eventJson())).build(), 201)).get("shareCode").asText();
+                send(http, HttpRequest.newBuilder(URI.create(base + "/events/" + code + "/form/admin"))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(FORM_JSON)).build(), 204);
+                JsonNode form = json.readTree(send(http, HttpRequest.newBuilder(
+                        URI.create(base + "/events/" + code + "/form?email=organizer@example.com")).build(), 200));
+                List<Long> sessionIds = new ArrayList<>();
+                json.readTree(send(http, HttpRequest.newBuilder(URI.create(base + "/events/" + code)).build(), 200))
+                        .get("sessions").forEach(s -> sessionIds.add(s.get("id").asLong()));
+                String answers = answersJson(form.get("fields"));
+
+                HikariPoolMXBean pool = ctx.getBean(DataSource.class).unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                PoolSampler sampler = new PoolSampler(pool, System.currentTimeMillis() + warmupMillis);
+                Thread samplerThread = Thread.ofPlatform().daemon().start(sampler);
+
+                AtomicLong invitees = new AtomicLong();
+                Map<String, LoadDriver.Stats> results = LoadDriver.run(List.of(LABELS), i -> invitee(base, code, answers, sessionIds, invitees),
+                        clients, warmupMillis, durationMillis);
+                samplerThread.interrupt();
+                samplerThread.join();
+
+                System.out.printf("invite blast: %d clients, %ds measured, pool of %d, %dms added per database response%s%n",
+                        clients, durationMillis / 1000, poolSize, dbDelayMillis, profiles.isBlank() ? "" : ", profiles " + profiles);
+                System.out.printf("%-14s %9s %8s %8s %8s %6s %6s%n", "endpoint", "req/s", "p50 ms", "p95 ms", "p99 ms", "503", "errors");
+                double total = 0;
+                long failures = 0;
+                for (Map.Entry<String, LoadDriver.Stats> e : results.entrySet()) {
+                    LoadDriver.Stats s = e.getValue();
+                    System.out.printf("%-14s %9.1f %8.1f %8.1f %8.1f %6d %6d%n", e.getKey(), s.perSecond(),
+                            s.p50Millis(), s.p95Millis(), s.p99Millis(), s.rejected(), s.errors());
+                    total += s.perSecond();
+                    failures += s.errors();
+                }
+                System.out.printf("%-14s %9.1f%n", "total", total);
+                System.out.printf("pool: peak active %d/%d, mean active %.1f, peak waiting %d, saturated (waiting > 0) %.1f%% of samples%n",
+                        sampler.peakActive, poolSize, sampler.meanActive(), sampler.peakWaiting, sampler.saturatedPercent());
+                assertEquals(200, http.send(HttpRequest.newBuilder(URI.create(base + "/admin/stats/pool")).build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode());
+                assertEquals(0, failures);
+            }
+        }
+    }
+
+    private static Supplier<LoadDriver.Call> invitee(String base, String code, String answers, List<Long> sessionIds,
+                                                     AtomicLong invitees) {
+        URI agenda = URI.create(base + "/events/" + code);
+        URI ics = URI.create(base + "/events/" + code + ".ics");
+        URI submit = URI.create(base + "/events/" + code + "/form/submit");
+        return () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int roll = random.nextInt(1000);
+            int pick = 0;
+            while (roll >= MIX[pick]) {
+                roll -= MIX[pick++];
+            }
+            HttpRequest.Builder request = switch (pick) {
+                case 0 -> HttpRequest.newBuilder(agenda);
+                case 1 -> HttpRequest.newBuilder(ics);
+                case 2 -> HttpRequest.newBuilder(URI.create(base + "/events/" + code + "/form?email=guest"
+                        + random.nextLong(invitees.get() + 1) + "@example.com"));
+                case 3 -> HttpRequest.newBuilder(submit)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"guest" + invitees.incrementAndGet()
+                                + "@example.com\",\"answers\":" + answers + "}"));
+                default -> {
+                    int start = 9 * 60 + random.nextInt(8 * 60);
+                    yield HttpRequest.newBuilder(URI.create(base + "/events/" + code + "/sessions/"
+                                    + sessionIds.get(random.nextInt(sessionIds.size()))))
+                            .header("Content-Type", "application/json")
+                            .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                    "{\"start\":\"" + hhmm(start) + "\",\"end\":\"" + hhmm(start + 45) + "\"}"));
+                }
+            };
+            return new LoadDriver.Call(LABELS[pick], request.timeout(Duration.ofSeconds(30)).build());
+        };
+    }
+
+    private static final String FORM_JSON = """
+            {"title":"RSVP","active":true,"fields":[
+              {"type":"short_text","label":"Name","required":true,"orderIndex":0},
+              {"type":"yes_no","label":"Attending","required":true,"orderIndex":1},
+              {"type":"single_select","label":"Meal","required":false,"orderIndex":2,"optionsJson":"[\\"Meat\\",\\"Fish\\",\\"Veggie\\"]"},
+              {"type":"multi_select","label":"Sessions","required":false,"orderIndex":3,"optionsJson":"[\\"Morning\\",\\"Afternoon\\"]"},
+              {"type":"number","label":"Guests","required":false,"orderIndex":4,"configJson":"{\\"min\\":0,\\"max\\":5}"},
+              {"type":"long_text","label":"Notes","required":false,"orderIndex":5}]}
+            """;
+
+    private static String eventJson() {
+        StringBuilder sessions = new StringBuilder();
+        for (int i = 0; i < SESSIONS; i++) {
+            int start = 9 * 60 + i * 60;
+            sessions.append(i == 0 ? "" : ",").append("{\"title\":\"Talk ").append(i + 1).append("\",\"start\":\"")
+                    .append(hhmm(start)).append("\",\"end\":\"").append(hhmm(start + 45)).append("\",\"location\":\"Room ")
+                    .append((char) ('A' + i % 3)).append("\"}");
+        }
+        return "{\"name\":\"Invite blast\",\"eventDate\":\"2026-03-01\",\"description\":\"Load test\",\"sessions\":[" + sessions + "]}";
+    }
+
+    private static String answersJson(JsonNode fields) {
+        Map<String, String> byType = Map.of("short_text", "\"Ann Example\"", "yes_no", "true", "single_select", "\"Fish\"",
+                "multi_select", "[\"Morning\"]", "number", "1", "long_text", "\"See you there\"");
+        StringJoiner out = new StringJoiner(",", "{", "}");
+        fields.forEach(f -> out.add("\"" + f.get("id").asText() + "\":" + byType.get(f.get("type").asText())));
+        return out.toString();
+    }
+
+    private static String hhmm(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    private static String send(HttpClient http, HttpRequest request, int expected) throws Exception {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(expected, response.statusCode(), response.body());
+        return response.body();
+    }
+
+    private static final class PoolSampler implements Runnable {
+        private final HikariPoolMXBean pool;
+        private final long measureFrom;
+        volatile int peakActive;
+        volatile int peakWaiting;
+        private long samples;
+        private long saturated;
+        private long activeSum;
+
+        PoolSampler(HikariPoolMXBean pool, long measureFrom) {
+            this.pool = pool;
+            this.measureFrom = measureFrom;
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (System.currentTimeMillis() >= measureFrom) {
+                    int active = pool.getActiveConnections();
+                    int waiting = pool.getThreadsAwaitingConnection();
+                    synchronized (this) {
+                        samples++;
+                        activeSum += active;
+                        saturated += waiting > 0 ? 1 : 0;
+                        peakActive = Math.max(peakActive, active);
+                        peakWaiting = Math.max(peakWaiting, waiting);
+                    }
+                }
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        synchronized double meanActive() {
+            return samples == 0 ? 0 : (double) activeSum / samples;
+        }
+
+        synchronized double saturatedPercent() {
+            return samples == 0 ? 0 : saturated * 100.0 / samples;
+        }
+    }
+}
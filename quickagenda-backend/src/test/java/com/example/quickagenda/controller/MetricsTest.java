@@ -0,0 +1,70 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.dto.EventCreateRequest;
+import com.example.quickagenda.dto.SessionCreateRequest;
+import com.example.quickagenda.service.EventService;
+import com.example.quickagenda.support.PostgresIntegrationTest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void recordsStatementsPerRequest() throws Exception {
+        String code = eventService.createEvent(new EventCreateRequest("Conf", LocalDate.of(2026, 3, 1), null, List.of(
+                new SessionCreateRequest(null, "Keynote", "09:00", "10:00", "Room A")))).getShareCode();
+
+        mvc.perform(get("/api/events/" + code));
+        DistributionSummary statements = registry.get("quickagenda.db.statements")
+                .tags("method", "GET", "uri", "/api/events/{code}").summary();
+        assertEquals(1, statements.count());
+        assertTrue(statements.totalAmount() > 0);
+        double cold = statements.totalAmount();
+
+        // Served from the snapshot cache
+        mvc.perform(get("/api/events/" + code));
+        assertEquals(2, statements.count());
+        assertEquals(cold, statements.totalAmount());
+    }
+
+    @Test
+    void prometheusExposesEndpointPoolJpaIcsAndCacheMeters() throws Exception {
+        String code = eventService.createEvent(new EventCreateRequest("Conf", LocalDate.of(2026, 3, 1), null, List.of(
+                new SessionCreateRequest(null, "Keynote", "09:00", "10:00", "Room A")))).getShareCode();
+        mvc.perform(get("/api/events/" + code + ".ics"));
+
+        String scrape = mvc.perform(get("/actuator/prometheus")).andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), "endpoint latency histogram");
+        assertTrue(scrape.contains("uri=\"/api/events/{code}.ics\""), "tagged by uri template");
+        assertTrue(scrape.contains("quickagenda_db_statements_bucket{"), "statements per request");
+        assertTrue(scrape.contains("quickagenda_ics_render_seconds_count"), "ICS render time");
+        assertTrue(scrape.contains("quickagenda_ics_size_bytes_count"), "ICS size");
+        assertTrue(scrape.contains("hikaricp_connections_active"), "pool active");
+        assertTrue(scrape.contains("hikaricp_connections_pending"), "pool pending");
+        assertTrue(scrape.contains("hibernate_statements_total"), "Hibernate statistics");
+        assertTrue(scrape.contains("cache_gets_total{cache=\"agendas\",result=\"miss\"}"), "cache stats");
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.dto.EventCreateRequest;
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.example.quickagenda.dto.FormFieldDto;
+import com.example.quickagenda.dto.FormUpsertRequest;
+import com.example.quickagenda.dto.SessionCreateRequest;
+import com.example.quickagenda.service.AgendaSnapshotCache;
+import com.example.quickagenda.service.EventService;
+import com.example.quickagenda.service.FormDefinitionCache;
+import com.example.quickagenda.service.FormService;
+import com.example.quickagenda.service.ShareCodeCache;
+import com.example.quickagenda.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "quickagenda.reactive.enabled=true")
+class ReactiveAgendaControllerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private AgendaSnapshotCache agendaSnapshots;
+
+    @Autowired
+    private ShareCodeCache shareCodes;
+
+    @Autowired
+    private FormDefinitionCache formDefinitions;
+
+    private MockHttpServletResponse call(RequestBuilder request) throws Exception {
+        MvcResult result = mvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result.getAsyncResult(5000);
+            return mvc.perform(asyncDispatch(result)).andReturn().getResponse();
+        }
+        return result.getResponse();
+    }
+
+    private EventDetailResponse eventWithSessions() {
+        return eventService.createEvent(new EventCreateRequest("Conf", LocalDate.of(2026, 3, 1), "Main hall", List.of(
+                new SessionCreateRequest(null, "Keynote", "09:00", "10:00", "Room A"),
+                new SessionCreateRequest(null, "Lunch, then talks", "12:00", "13:30", null))));
+    }
+
+    @Test
+    void coldReadsMatchTheBlockingEndpoints() throws Exception {
+        EventDetailResponse event = eventWithSessions();
+        String code = event.getShareCode();
+
+        MockHttpServletResponse rx = call(get("/api/rx/events/" + code));
+        MockHttpServletResponse rxIcs = call(get("/api/rx/events/" + code + ".ics"));
+        assertEquals(200, rx.getStatus());
+        // Forget everything the reactive reads cached, so the blocking path loads through JPA
+        agendaSnapshots.bump(code);
+        shareCodes.evict(code);
+        MockHttpServletResponse blocking = call(get("/api/events/" + code));
+        MockHttpServletResponse blockingIcs = call(get("/api/events/" + code + ".ics"));
+
+        assertEquals(blocking.getContentAsString(), rx.getContentAsString());
+        assertEquals(blocking.getContentType(), rx.getContentType());
+        assertEquals(200, rxIcs.getStatus());
+        // DTSTAMP differs between the two builds
+        assertEquals(blockingIcs.getContentAsString().replaceAll("DTSTAMP:\\w+", ""),
+                rxIcs.getContentAsString().replaceAll("DTSTAMP:\\w+", ""));
+        assertEquals(blockingIcs.getHeader("Content-Disposition"), rxIcs.getHeader("Content-Disposition"));
+    }
+
+    @Test
+    void warmReadsSkipTheDatabaseAndHonourValidators() throws Exception {
+        String code = eventWithSessions().getShareCode();
+        MockHttpServletResponse first = call(get("/api/rx/events/" + code));
+
+        statements.reset();
+        MockHttpServletResponse again = call(get("/api/rx/events/" + code).header("If-None-Match", first.getHeader("ETag")));
+
+        assertEquals(304, again.getStatus());
+        assertEquals(0, statements.roundTrips());
+    }
+
+    @Test
+    void publicFormMatchesTheBlockingEndpoint() throws Exception {
+        EventDetailResponse event = eventWithSessions();
+        String code = event.getShareCode();
+        formService.upsertForm(code, new FormUpsertRequest("RSVP", true, null, null, List.of(
+                new FormFieldDto(null, "short_text", "Name", true, 0, null, null),
+                new FormFieldDto(null, "single_select", "Track", false, 1, "[\"A\",\"B\"]", "{\"other\":false}"))));
+
+        MockHttpServletResponse rx = call(get("/api/rx/events/" + code + "/form?email=a@x.io"));
+        formDefinitions.evict(event.getId());
+        MockHttpServletResponse blocking = call(get("/api/events/" + code + "/form?email=a@x.io"));
+
+        assertEquals(200, rx.getStatus());
+        assertEquals(blocking.getContentAsString(), rx.getContentAsString());
+
+        formService.upsertForm(code, new FormUpsertRequest("RSVP", false, null, null, List.of()));
+        assertEquals(404, call(get("/api/rx/events/" + code + "/form?email=a@x.io")).getStatus());
+    }
+
+    @Test
+    void unknownCodesAre404() throws Exception {
+        assertEquals(404, call(get("/api/rx/events/NOPE99")).getStatus());
+        assertEquals(404, call(get("/api/rx/events/NOPE99.ics")).getStatus());
+        assertEquals(404, call(get("/api/rx/events/NOPE99/form?email=a@x.io")).getStatus());
+    }
+}
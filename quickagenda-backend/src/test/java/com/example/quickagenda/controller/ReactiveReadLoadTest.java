@@ -0,0 +1,101 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.QuickagendaApplication;
+import com.example.quickagenda.dto.EventCreateRequest;
+import com.example.quickagenda.dto.SessionCreateRequest;
+import com.example.quickagenda.service.EventService;
+import com.example.quickagenda.support.LatencyProxy;
+import com.example.quickagenda.support.LoadDriver;
+import com.example.quickagenda.support.TestDatabase;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Blocking vs reactive public agenda reads with every read going to the database (snapshot and
+ * share code caches sized to zero), through a {@link LatencyProxy} and the production pool size of
+ * five on both paths. Reports throughput per core, latency and the peak number of busy Tomcat
+ * request threads at each concurrency level. Run with {@code -Dbenchmarks=true}.
+ */
+@EnabledIf("com.example.quickagenda.support.TestDatabase#available")
+class ReactiveReadLoadTest {
+
+    private static final int EVENTS = 200;
+    private static final int[] CONCURRENCY = {32, 128, 512};
+    private static final long WARMUP_MILLIS = 3_000;
+    private static final long DURATION_MILLIS = 8_000;
+    private static final long DB_DELAY_MILLIS = 10;
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void scalingPerCore() throws Exception {
+        URI db = URI.create(TestDatabase.url().substring("jdbc:".length()));
+        int cores = Runtime.getRuntime().availableProcessors();
+        try (LatencyProxy proxy = new LatencyProxy(db.getHost(), db.getPort(), DB_DELAY_MILLIS)) {
+            String[] args = {
+                    "--server.port=0",
+                    "--quickagenda.share-codes.key=load-test",
+                    "--spring.datasource.url=jdbc:postgresql://127.0.0.1:" + proxy.port() + db.getPath(),
+                    "--spring.datasource.username=" + TestDatabase.username(),
+                    "--spring.datasource.password=" + TestDatabase.password(),
+                    "--spring.datasource.hikari.maximum-pool-size=5",
+                    "--spring.datasource.hikari.data-source-properties.preferQueryMode=simple",
+                    "--spring.datasource.hikari.data-source-properties.prepareThreshold=0",
+                    "--spring.jpa.show-sql=false",
+                    "--quickagenda.reactive.enabled=true",
+                    "--quickagenda.reactive.pool-size=5",
+                    "--quickagenda.cache.agendas.max-bytes=0",
+                    "--quickagenda.cache.share-codes.max-size=0"};
+            try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(QuickagendaApplication.class).run(args)) {
+                EventService events = ctx.getBean(EventService.class);
+                ThreadPoolExecutor requestThreads = (ThreadPoolExecutor) ((TomcatWebServer) ((ServletWebServerApplicationContext) ctx)
+                        .getWebServer()).getTomcat().getConnector().getProtocolHandler().getExecutor();
+                String base = "http://127.0.0.1:" + ctx.getEnvironment().getProperty("local.server.port") + "/api";
+                List<URI> blocking = new ArrayList<>();
+                List<URI> reactive = new ArrayList<>();
+                for (int i = 0; i < EVENTS; i++) {
+                    String code = events.createEvent(new EventCreateRequest("Load " + i, LocalDate.of(2026, 3, 1), null, List.of(
+                            new SessionCreateRequest(null, "Morning", "09:00", "12:00", "Room A"),
+                            new SessionCreateRequest(null, "Afternoon", "13:00", "17:00", "Room B")))).getShareCode();
+                    blocking.add(URI.create(base + "/events/" + code));
+                    reactive.add(URI.create(base + "/rx/events/" + code));
+                }
+                System.out.printf("%d core(s), %dms added per database response, pool of 5%n", cores, DB_DELAY_MILLIS);
+                for (int clients : CONCURRENCY) {
+                    for (boolean rx : new boolean[]{false, true}) {
+                        AtomicInteger peakBusy = new AtomicInteger();
+                        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+                            while (!Thread.currentThread().isInterrupted()) {
+                                peakBusy.accumulateAndGet(requestThreads.getActiveCount(), Math::max);
+                                try {
+                                    Thread.sleep(20);
+                                } catch (InterruptedException e) {
+                                    return;
+                                }
+                            }
+                        });
+                        LoadDriver.Stats s = LoadDriver.run(rx ? reactive : blocking, u -> "all", clients, WARMUP_MILLIS, DURATION_MILLIS).get("all");
+                        sampler.interrupt();
+                        System.out.printf("%-8s clients=%-4d %.0f req/s/core p50=%.1fms p99=%.1fms peak busy request threads=%d errors=%d%n",
+                                rx ? "reactive" : "blocking", clients, s.perSecond() / cores, s.p50Millis(), s.p99Millis(),
+                                peakBusy.get(), s.errors());
+                        assertEquals(0, s.errors());
+                    }
+                }
+            }
+        }
+    }
+}
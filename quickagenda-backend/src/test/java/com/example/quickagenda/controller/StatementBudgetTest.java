@@ -0,0 +1,292 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.dto.EventCreateRequest;
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.example.quickagenda.dto.FormFieldDto;
+import com.example.quickagenda.dto.FormSubmitRequest;
+import com.example.quickagenda.dto.FormUpsertRequest;
+import com.example.quickagenda.dto.SessionCreateRequest;
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.service.AgendaSnapshotCache;
+import com.example.quickagenda.service.EventService;
+import com.example.quickagenda.service.FormDefinitionCache;
+import com.example.quickagenda.service.FormService;
+import com.example.quickagenda.service.FormStatsService;
+import com.example.quickagenda.service.ShareCodeCache;
+import com.example.quickagenda.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * JDBC round trips per HTTP endpoint, against an event with three sessions and a three-field form
+ * with three responses. Budgets are for a cold instance (every in-memory cache emptied first) unless
+ * the test says warm; raising one should come with a reason.
+ */
+@AutoConfigureMockMvc
+class StatementBudgetTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private FormStatsService formStats;
+
+    @Autowired
+    private ShareCodeCache shareCodes;
+
+    @Autowired
+    private AgendaSnapshotCache agendaSnapshots;
+
+    @Autowired
+    private FormDefinitionCache formDefinitions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private EventDetailResponse event;
+    private String code;
+    private long sessionId;
+    private long formId;
+    private String nameField;
+
+    @BeforeEach
+    void setUp() {
+        event = eventService.createEvent(new EventCreateRequest("Conf", LocalDate.of(2026, 3, 1), "Main hall", List.of(
+                new SessionCreateRequest(null, "Keynote", "09:00", "10:00", "Room A"),
+                new SessionCreateRequest(null, "Talks", "10:30", "12:00", "Room B"),
+                new SessionCreateRequest(null, "Lunch", "12:00", "13:00", null))));
+        code = event.getShareCode();
+        sessionId = jdbcTemplate.queryForObject("select min(id) from session where event_id = ?", Long.class, event.getId());
+        formService.upsertForm(code, new FormUpsertRequest("RSVP", true, null, null, fields()));
+        formId = jdbcTemplate.queryForObject("select id from forms where event_id = ?", Long.class, event.getId());
+        nameField = jdbcTemplate.queryForObject("select id from form_fields where form_id = ? and order_index = 0",
+                Long.class, formId).toString();
+        for (String email : List.of("a@x.io", "b@x.io", "c@x.io")) {
+            formService.submit(code, new FormSubmitRequest(email, objectMapper.valueToTree(Map.of(nameField, "Ann"))));
+        }
+    }
+
+    private static List<FormFieldDto> fields() {
+        return List.of(
+                new FormFieldDto(null, "short_text", "Name", true, 0, null, null),
+                new FormFieldDto(null, "single_select", "Track", false, 1, "[\"A\",\"B\"]", null),
+                new FormFieldDto(null, "yes_no", "Coming", false, 2, null, null));
+    }
+
+    private void coldCaches() {
+        shareCodes.evict(code);
+        agendaSnapshots.bump(code);
+        formDefinitions.evict(event.getId());
+        formStats.invalidate(formId);
+    }
+
+    private MockHttpServletResponse call(RequestBuilder request) throws Exception {
+        MvcResult result = mvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result.getAsyncResult(5000);
+            return mvc.perform(asyncDispatch(result)).andReturn().getResponse();
+        }
+        return result.getResponse();
+    }
+
+    private void assertBudget(int budget, RequestBuilder request) throws Exception {
+        coldCaches();
+        assertWarmBudget(budget, request);
+    }
+
+    private void assertWarmBudget(int budget, RequestBuilder request) throws Exception {
+        statements.reset();
+        MockHttpServletResponse response = call(request);
+        int used = statements.roundTrips();
+        assertTrue(response.getStatus() < 300, () -> response.getStatus() + " " + response.getErrorMessage());
+        assertTrue(used <= budget, () -> used + " statements, budget " + budget + ": " + statements.statements());
+    }
+
+    // Events
+
+    @Test
+    void createEvent() throws Exception {
+        // Insert and session batch, plus a nextval once per hundred events for a new block of share codes
+        assertBudget(3, post("/api/events").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"New\",\"eventDate\":\"2026-04-01\",\"sessions\":["
+                        + "{\"title\":\"One\",\"start\":\"09:00\",\"end\":\"10:00\"},"
+                        + "{\"title\":\"Two\",\"start\":\"10:00\",\"end\":\"11:00\"}]}"));
+    }
+
+    @Test
+    void agenda() throws Exception {
+        // Event and sessions in one joined query
+        assertBudget(1, get("/api/events/" + code));
+    }
+
+    @Test
+    void agendaWarm() throws Exception {
+        call(get("/api/events/" + code));
+        assertWarmBudget(0, get("/api/events/" + code));
+    }
+
+    @Test
+    void now() throws Exception {
+        // Same load as the agenda; the interval index is built from the snapshot
+        assertBudget(1, get("/api/events/" + code + "/now").param("at", "09:30"));
+    }
+
+    @Test
+    void nowWarm() throws Exception {
+        call(get("/api/events/" + code));
+        assertWarmBudget(0, get("/api/events/" + code + "/now").param("at", "09:30").param("location", "Room A"));
+    }
+
+    @Test
+    void ics() throws Exception {
+        assertBudget(1, get("/api/events/" + code + ".ics"));
+    }
+
+    // Mutations lock the event and read its agenda, cached or not, then answer from it with their write
+
+    @Test
+    void updateSessionTimes() throws Exception {
+        assertBudget(3, updateSessionTimesRequest());
+    }
+
+    private RequestBuilder updateSessionTimesRequest() {
+        return patch("/api/events/" + code + "/sessions/" + sessionId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"start\":\"09:15\",\"end\":\"10:15\"}");
+    }
+
+    @Test
+    void updateEvent() throws Exception {
+        // Locking the managed event, its sessions for the answer, then its update
+        assertBudget(3, updateEventRequest());
+    }
+
+    private RequestBuilder updateEventRequest() {
+        return patch("/api/events/" + code).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Renamed\",\"description\":\"Main hall\"}");
+    }
+
+    @Test
+    void addSession() throws Exception {
+        assertBudget(3, addSessionRequest());
+    }
+
+    private RequestBuilder addSessionRequest() {
+        return post("/api/events/" + code + "/sessions").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Closing\",\"start\":\"17:00\",\"end\":\"17:30\"}");
+    }
+
+    @Test
+    void deleteSession() throws Exception {
+        assertBudget(3, delete("/api/events/" + code + "/sessions/" + sessionId));
+    }
+
+    // Forms
+
+    @Test
+    void adminForm() throws Exception {
+        assertBudget(3, get("/api/events/" + code + "/form/admin"));
+    }
+
+    @Test
+    void upsertForm() throws Exception {
+        assertBudget(6, put("/api/events/" + code + "/form/admin").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new FormUpsertRequest("RSVP v2", true, null, null, fields()))));
+    }
+
+    @Test
+    void publicForm() throws Exception {
+        assertBudget(3, get("/api/events/" + code + "/form").param("email", "a@x.io"));
+    }
+
+    @Test
+    void publicFormWarm() throws Exception {
+        call(get("/api/events/" + code + "/form").param("email", "a@x.io"));
+        assertWarmBudget(0, get("/api/events/" + code + "/form").param("email", "a@x.io"));
+    }
+
+    @Test
+    void submit() throws Exception {
+        // Event, form and fields to compile the form, then look up and upsert the response
+        assertBudget(5, post("/api/events/" + code + "/form/submit").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"d@x.io\",\"answers\":{\"" + nameField + "\":\"Dee\"}}"));
+    }
+
+    @Test
+    void submitWarm() throws Exception {
+        call(get("/api/events/" + code + "/form").param("email", "d@x.io"));
+        assertWarmBudget(2, post("/api/events/" + code + "/form/submit").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"d@x.io\",\"answers\":{\"" + nameField + "\":\"Dee\"}}"));
+    }
+
+    @Test
+    void listResponses() throws Exception {
+        assertBudget(4, get("/api/events/" + code + "/form/admin/responses"));
+    }
+
+    @Test
+    void countResponses() throws Exception {
+        assertBudget(4, get("/api/events/" + code + "/form/admin/responses/count").param("filter", nameField + ":Ann"));
+    }
+
+    @Test
+    void formStats() throws Exception {
+        assertBudget(5, get("/api/events/" + code + "/form/admin/stats"));
+    }
+
+    @Test
+    void exportCsv() throws Exception {
+        assertBudget(5, get("/api/events/" + code + "/form/admin/responses/export.csv"));
+    }
+
+    @Test
+    void exportNdjson() throws Exception {
+        assertBudget(5, get("/api/events/" + code + "/form/admin/responses/export.ndjson"));
+    }
+
+    // Feedback
+
+    @Test
+    void submitFeedback() throws Exception {
+        assertBudget(1, post("/api/feedback").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"Great\",\"source\":\"share\",\"shareCode\":\"" + code + "\"}"));
+    }
+
+    @Test
+    void listFeedback() throws Exception {
+        assertBudget(1, get("/api/feedback").param("limit", "10"));
+    }
+
+    // Admin stats are served from memory, except the share code sequence
+
+    @Test
+    void adminStats() throws Exception {
+        assertBudget(0, get("/api/admin/stats/caches"));
+        assertBudget(0, get("/api/admin/stats/pool"));
+        assertBudget(1, get("/api/admin/stats/share-codes"));
+    }
+}
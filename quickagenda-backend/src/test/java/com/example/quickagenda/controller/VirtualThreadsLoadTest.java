@@ -0,0 +1,83 @@
+package com.example.quickagenda.controller;
+
+import com.example.quickagenda.QuickagendaApplication;
+import com.example.quickagenda.support.LatencyProxy;
+import com.example.quickagenda.support.LoadDriver;
+import com.example.quickagenda.support.TestDatabase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Platform-thread vs virtual-thread mode under the same mixed load: half the clients read the
+ * cached public agenda, half list feedback from a database reached through a {@link LatencyProxy}
+ * that adds a remote-pooler-like delay, with the production pool size of five.
+ * Run with {@code -Dbenchmarks=true}.
+ */
+@EnabledIf("com.example.quickagenda.support.TestDatabase#available")
+class VirtualThreadsLoadTest {
+
+    private static final int CLIENTS = 400;
+    private static final long WARMUP_MILLIS = 3_000;
+    private static final long DURATION_MILLIS = 10_000;
+    private static final long DB_DELAY_MILLIS = 10;
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void compareModes() throws Exception {
+        for (boolean virtual : new boolean[]{false, true}) {
+            Map<String, LoadDriver.Stats> run = run(virtual);
+            LoadDriver.Stats cached = run.get("cached");
+            LoadDriver.Stats db = run.get("db");
+            System.out.printf("%-8s cached ok=%d p50=%.1fms p99=%.1fms | db ok=%d p50=%.1fms p99=%.1fms | 503=%d errors=%d%n",
+                    virtual ? "virtual" : "platform", cached.ok(), cached.p50Millis(), cached.p99Millis(),
+                    db.ok(), db.p50Millis(), db.p99Millis(), cached.rejected() + db.rejected(), cached.errors() + db.errors());
+            assertEquals(0, cached.errors() + db.errors());
+        }
+    }
+
+    private Map<String, LoadDriver.Stats> run(boolean virtual) throws Exception {
+        URI db = URI.create(TestDatabase.url().substring("jdbc:".length()));
+        try (LatencyProxy proxy = new LatencyProxy(db.getHost(), db.getPort(), DB_DELAY_MILLIS)) {
+            // Arguments rather than default properties, so they win over a local application.yml
+            String[] args = {
+                    "--server.port=0",
+                    "--quickagenda.share-codes.key=load-test",
+                    "--spring.datasource.url=jdbc:postgresql://127.0.0.1:" + proxy.port() + db.getPath(),
+                    "--spring.datasource.username=" + TestDatabase.username(),
+                    "--spring.datasource.password=" + TestDatabase.password(),
+                    "--spring.datasource.hikari.maximum-pool-size=5",
+                    "--spring.datasource.hikari.data-source-properties.preferQueryMode=simple",
+                    "--spring.datasource.hikari.data-source-properties.prepareThreshold=0",
+                    "--spring.jpa.show-sql=false"};
+            SpringApplicationBuilder app = new SpringApplicationBuilder(QuickagendaApplication.class);
+            if (virtual) {
+                app.profiles("virtual-threads");
+            }
+            try (ConfigurableApplicationContext ctx = app.run(args)) {
+                String base = "http://127.0.0.1:" + ctx.getEnvironment().getProperty("local.server.port") + "/api";
+                HttpResponse<String> created = HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create(base + "/events"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load\",\"eventDate\":\"2026-03-01\",\"sessions\":[]}"))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                String code = new ObjectMapper().readTree(created.body()).get("shareCode").asText();
+                URI cached = URI.create(base + "/events/" + code);
+                URI listing = URI.create(base + "/feedback");
+                return LoadDriver.run(List.of(cached, listing), u -> u == cached ? "cached" : "db",
+                        CLIENTS, WARMUP_MILLIS, DURATION_MILLIS);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.quickagenda.repository;
+
+import com.example.quickagenda.dto.EventCreateRequest;
+import com.example.quickagenda.dto.FormFieldDto;
+import com.example.quickagenda.dto.FormSubmitRequest;
+import com.example.quickagenda.dto.FormUpsertRequest;
+import com.example.quickagenda.dto.SessionCreateRequest;
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.entity.Feedback;
+import com.example.quickagenda.entity.Form;
+import com.example.quickagenda.service.EventService;
+import com.example.quickagenda.service.FormService;
+import com.example.quickagenda.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The plans Postgres picks for the hot queries, exactly as Hibernate (or the exporter) sends them.
+ * Sequential scans are priced out, so a plan that still has one means no index fits the query;
+ * for the ordered listings bitmap scans and sorts are priced out too, so on a table of a handful of
+ * rows the planner cannot prefer them, and the index must deliver the order with no Sort node.
+ */
+class QueryPlanTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private FormRepository formRepository;
+
+    @Autowired
+    private FormFieldRepository formFieldRepository;
+
+    @Autowired
+    private FormResponseRepository formResponseRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Event event;
+    private Form form;
+
+    @BeforeEach
+    void seed() {
+        String code = eventService.createEvent(new EventCreateRequest("Conf", LocalDate.of(2026, 3, 1), null, List.of(
+                new SessionCreateRequest(null, "Keynote", "09:00", "10:00", "Room A")))).getShareCode();
+        event = eventRepository.findByShareCode(code).orElseThrow();
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null,
+                List.of(new FormFieldDto(null, "yes_no", "Coming?", false, 0, null, null))));
+        formService.submit(event.getShareCode(), new FormSubmitRequest("a@x.io", JsonNodeFactory.instance.objectNode()));
+        form = formRepository.findByEvent(event).orElseThrow();
+        feedbackRepository.save(new Feedback(null, "Nice", "app", null, event.getShareCode(), OffsetDateTime.now()));
+    }
+
+    @Test
+    void eventByShareCode() {
+        assertIndexed(plan(firstQuery(() -> eventRepository.findByShareCode(event.getShareCode()))));
+    }
+
+    @Test
+    void agenda() {
+        assertIndexed(plan(firstQuery(() -> eventRepository.findAgenda(event.getShareCode()))));
+    }
+
+    @Test
+    void sessionsByEvent() {
+        assertIndexed(plan(firstQuery(() -> sessionRepository.findByEvent(event))));
+    }
+
+    @Test
+    void formByEvent() {
+        assertIndexed(plan(firstQuery(() -> formRepository.findByEvent(event))));
+    }
+
+    @Test
+    void formFieldsInOrder() {
+        assertIndexOrdered(orderedPlan(firstQuery(() -> formFieldRepository.findByFormOrderByOrderIndexAsc(form))));
+    }
+
+    @Test
+    void responsesNewestFirst() {
+        assertIndexOrdered(orderedPlan(firstQuery(() -> formResponseRepository.findByFormOrderByCreatedAtDesc(form))));
+    }
+
+    @Test
+    void responseByEmail() {
+        assertIndexed(plan(firstQuery(() -> formResponseRepository.findByFormAndEmail(form, "a@x.io"))));
+    }
+
+    @Test
+    void filteredResponses() {
+        assertIndexed(plan(firstQuery(() -> formResponseRepository.findMatching(form.getId(), "{}"))));
+        assertIndexed(plan(firstQuery(() -> formResponseRepository.countMatching(form.getId(), "{}"))));
+    }
+
+    @Test
+    void responseExport() throws Exception {
+        statements.reset();
+        formService.exportNdjson(formService.prepareExport(event.getShareCode(), List.of()), new ByteArrayOutputStream());
+        String declare = statements.statements().stream().filter(s -> s.startsWith("DECLARE")).findFirst().orElseThrow();
+
+        assertIndexOrdered(orderedPlan(declare.substring(declare.indexOf(" FOR ") + " FOR ".length())));
+    }
+
+    @Test
+    void recentFeedback() {
+        OffsetDateTime now = OffsetDateTime.now();
+        assertIndexOrdered(orderedPlan(firstQuery(() -> feedbackRepository.findPage(null, null, null, null, 20))));
+        assertIndexOrdered(orderedPlan(firstQuery(() -> feedbackRepository.findPage(null, null, now, 1L, 20))));
+        assertIndexOrdered(orderedPlan(firstQuery(() -> feedbackRepository.findPage("app", null, null, null, 20))));
+        assertIndexOrdered(orderedPlan(firstQuery(() -> feedbackRepository.findPage(null, event.getShareCode(), now, 1L, 20))));
+    }
+
+    private String firstQuery(Runnable query) {
+        statements.reset();
+        query.run();
+        return statements.statements().get(0);
+    }
+
+    private String plan(String sql) {
+        return plan(sql, List.of("enable_seqscan"));
+    }
+
+    private String orderedPlan(String sql) {
+        return plan(sql, List.of("enable_seqscan", "enable_bitmapscan", "enable_sort"));
+    }
+
+    // EXPLAIN (GENERIC_PLAN) takes the statement as sent, with $n for its JDBC placeholders
+    private String plan(String sql, List<String> disabled) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int n = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++n);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return jdbcTemplate.execute((ConnectionCallback<String>) con -> {
+            try (Statement st = con.createStatement()) {
+                for (String setting : disabled) {
+                    st.execute("SET " + setting + " = off");
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = st.executeQuery("EXPLAIN (GENERIC_PLAN) " + numbered)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                } finally {
+                    for (String setting : disabled) {
+                        st.execute("RESET " + setting);
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private static void assertIndexed(String plan) {
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertTrue(plan.contains("Index"), plan);
+    }
+
+    private static void assertIndexOrdered(String plan) {
+        assertIndexed(plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AgendaSnapshotCacheTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final AgendaSnapshotCache cache = new AgendaSnapshotCache(mapper, 1 << 20, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private AgendaSnapshotCache.Loaded load(String code) {
+        int n = loads.incrementAndGet();
+        EventDetailResponse detail = new EventDetailResponse(1L, "Conf v" + n, LocalDate.of(2025, 11, 3), null, code, List.of(), null, null, false);
+        return new AgendaSnapshotCache.Loaded(detail, ("ICS v" + n).getBytes());
+    }
+
+    @Test
+    void servesSameSnapshotUntilBumped() {
+        AgendaSnapshot first = cache.get("ABC123", this::load);
+        AgendaSnapshot second = cache.get("ABC123", this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        cache.bump("ABC123");
+        AgendaSnapshot third = cache.get("ABC123", this::load);
+
+        assertEquals(2, loads.get());
+        assertTrue(third.getVersion() > first.getVersion());
+        assertNotEquals(first.getJsonEtag(), third.getJsonEtag());
+    }
+
+    @Test
+    void snapshotLoadedAcrossABumpIsNotKept() {
+        AgendaSnapshot raced = cache.get("ABC123", code -> {
+            AgendaSnapshotCache.Loaded loaded = load(code);
+            cache.bump(code); // a write commits while the reader is still loading
+            return loaded;
+        });
+        AgendaSnapshot next = cache.get("ABC123", this::load);
+
+        assertNotSame(raced, next);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void writesMadeElsewhereShowOnceTheVersionExpires() throws Exception {
+        AgendaSnapshotCache shortLived = new AgendaSnapshotCache(mapper, 1 << 20, Duration.ofMillis(50));
+        AgendaSnapshot first = shortLived.get("ABC123", this::load);
+        assertSame(first, shortLived.get("ABC123", this::load));
+
+        Thread.sleep(100); // another instance changes the agenda; nothing bumps it here
+        AgendaSnapshot reloaded = shortLived.get("ABC123", this::load);
+
+        assertEquals(2, loads.get());
+        assertTrue(reloaded.getVersion() > first.getVersion());
+        assertFalse(reloaded.getLastModified().isBefore(first.getLastModified()));
+        assertNotEquals(first.getJsonEtag(), reloaded.getJsonEtag());
+    }
+
+    @Test
+    void encodesJsonAndGzipVariants() {
+        AgendaSnapshot snapshot = cache.get("ABC123", this::load);
+
+        assertTrue(new String(snapshot.getJson()).contains("\"eventDate\":\"2025-11-03\""));
+        assertEquals(0x1f, snapshot.getJsonGzip()[0] & 0xff);
+        assertEquals(0x8b, snapshot.getIcsGzip()[1] & 0xff);
+        assertTrue(snapshot.getJsonEtag().startsWith("W/\""));
+    }
+}
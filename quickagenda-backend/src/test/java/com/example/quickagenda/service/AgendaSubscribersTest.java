@@ -0,0 +1,190 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.AgendaChange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AgendaSubscribersTest {
+
+    private final AgendaSnapshotCache agendaSnapshots = new AgendaSnapshotCache(new ObjectMapper(), 1 << 20, Duration.ofMinutes(1));
+    private final AgendaSubscribers subscribers = new AgendaSubscribers(agendaSnapshots, new ObjectMapper(), 4,
+            Duration.ofMinutes(1), Duration.ofMillis(50));
+
+    // Records what would go on the wire; optionally blocks or fails like a slow or gone client
+    private static class FakeEmitter extends SseEmitter {
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean blocking;
+        volatile boolean failing;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            items.forEach(item -> text.append(item.getData()));
+            sent.add(text.toString());
+        }
+
+        List<String> changes() {
+            return sent.stream().filter(s -> s.contains("event:change")).toList();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscribers.shutdown();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    private static boolean caughtUp(FakeEmitter emitter) {
+        List<String> changes = emitter.changes();
+        return !changes.isEmpty() && changes.get(changes.size() - 1).contains("\"version\":100");
+    }
+
+    private static AgendaChange moved(long version) {
+        return new AgendaChange(version, AgendaChange.Type.SESSION_MOVED, 7L);
+    }
+
+    @Test
+    void changesReachEveryStreamOfTheAgendaOnly() throws Exception {
+        FakeEmitter a = new FakeEmitter();
+        FakeEmitter b = new FakeEmitter();
+        FakeEmitter other = new FakeEmitter();
+        subscribers.subscribe("ABC123", null, a);
+        subscribers.subscribe("ABC123", null, b);
+        subscribers.subscribe("XYZ789", null, other);
+
+        subscribers.publish("ABC123", moved(3));
+
+        await(() -> a.changes().size() == 1 && b.changes().size() == 1);
+        assertEquals(":connected\n\n", a.sent.get(0));
+        assertEquals("id:3\nevent:change\ndata:{\"version\":3,\"type\":\"SESSION_MOVED\",\"sessionId\":7}\n\n", a.changes().get(0));
+        assertEquals(List.of(":connected\n\n"), other.sent);
+        assertEquals(2, subscribers.subscribers("ABC123"));
+    }
+
+    @Test
+    void aSlowStreamNeitherBlocksPublishingNorOtherStreams() throws Exception {
+        FakeEmitter slow = new FakeEmitter();
+        FakeEmitter fast = new FakeEmitter();
+        subscribers.subscribe("ABC123", null, fast);
+        subscribers.subscribe("ABC123", null, slow);
+        await(() -> slow.sent.size() == 1);
+        slow.blocking = true;
+
+        long started = System.nanoTime();
+        for (int v = 1; v <= 100; v++) {
+            subscribers.publish("ABC123", moved(v));
+        }
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1));
+
+        await(() -> caughtUp(fast));
+        assertFalse(caughtUp(slow));
+        slow.release.countDown();
+        await(() -> caughtUp(slow));
+        // One change was in flight when it stalled; the rest overflowed its queue into a RESYNC
+        List<String> got = slow.changes();
+        assertTrue(got.size() <= 1 + 4, got::toString);
+        assertTrue(got.stream().anyMatch(s -> s.contains("\"RESYNC\"")), got::toString);
+        assertTrue(subscribers.stats().getResyncs() > 0);
+    }
+
+    @Test
+    void reconnectingBehindTheCurrentVersionStartsWithAResync() throws Exception {
+        agendaSnapshots.bump("ABC123");
+        long current = agendaSnapshots.currentVersion("ABC123");
+        FakeEmitter upToDate = new FakeEmitter();
+        FakeEmitter behind = new FakeEmitter();
+
+        subscribers.subscribe("ABC123", current, upToDate);
+        subscribers.subscribe("ABC123", current - 1, behind);
+
+        await(() -> upToDate.sent.size() == 1 && behind.sent.size() == 1);
+        assertEquals(":connected\n\n", upToDate.sent.get(0));
+        assertTrue(behind.sent.get(0).startsWith("id:" + current + "\nevent:change\ndata:{\"version\":" + current + ",\"type\":\"RESYNC\"}"));
+    }
+
+    @Test
+    void reconnectingAfterARestartStartsWithAResync() throws Exception {
+        agendaSnapshots.bump("ABC123");
+        long beforeRestart = agendaSnapshots.currentVersion("ABC123");
+        Thread.sleep(2); // processes do not restart within the same millisecond
+        AgendaSnapshotCache restarted = new AgendaSnapshotCache(new ObjectMapper(), 1 << 20, Duration.ofMinutes(1));
+        AgendaSubscribers afterRestart = new AgendaSubscribers(restarted, new ObjectMapper(), 4,
+                Duration.ofMinutes(1), Duration.ofMillis(50));
+        FakeEmitter resumed = new FakeEmitter();
+        try {
+            afterRestart.subscribe("ABC123", beforeRestart, resumed);
+
+            await(() -> resumed.sent.size() == 1);
+            assertTrue(resumed.sent.get(0).contains("\"type\":\"RESYNC\""), resumed.sent.get(0));
+            restarted.bump("ABC123");
+            assertTrue(restarted.currentVersion("ABC123") > beforeRestart);
+        } finally {
+            afterRestart.shutdown();
+        }
+    }
+
+    @Test
+    void heartbeatsKeepIdleStreamsAndDropGoneOnes() throws Exception {
+        FakeEmitter idle = new FakeEmitter();
+        FakeEmitter gone = new FakeEmitter();
+        subscribers.subscribe("ABC123", null, idle);
+        subscribers.subscribe("ABC123", null, gone);
+        await(() -> gone.sent.size() == 1);
+        gone.failing = true;
+
+        subscribers.heartbeat();
+
+        await(() -> subscribers.subscribers("ABC123") == 1);
+        await(() -> idle.sent.contains(":heartbeat\n\n"));
+        assertEquals(1, subscribers.stats().getDropped());
+    }
+
+    @Test
+    void aWriteStuckForSeveralHeartbeatsDropsTheStream() throws Exception {
+        FakeEmitter stuck = new FakeEmitter();
+        subscribers.subscribe("ABC123", null, stuck);
+        await(() -> stuck.sent.size() == 1);
+        stuck.blocking = true;
+        subscribers.publish("ABC123", moved(1));
+
+        subscribers.heartbeat();
+        assertEquals(1, subscribers.subscribers("ABC123"));
+        Thread.sleep(250); // four heartbeat intervals
+        subscribers.heartbeat();
+
+        assertEquals(0, subscribers.subscribers("ABC123"));
+        stuck.release.countDown();
+    }
+}
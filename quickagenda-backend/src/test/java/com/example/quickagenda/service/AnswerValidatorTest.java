@@ -0,0 +1,118 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.entity.Form;
+import com.example.quickagenda.entity.FormField;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerValidatorTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Form form = new Form(3L, new Event(7L, "Conf", LocalDate.of(2025, 11, 3), null, "ABC123"), "RSVP", true, null, null);
+
+    private CompiledForm compile(FormField... fields) {
+        return CompiledForm.compile(form, List.of(fields), mapper);
+    }
+
+    private FormField field(long id, String type, boolean required, String options, String config) {
+        return new FormField(id, form, type, "Field " + id, required, (int) id, options, config);
+    }
+
+    private Map<String, String> validate(CompiledForm form, String json) throws Exception {
+        return form.validate(mapper.readTree(json));
+    }
+
+    @Test
+    void acceptsWellFormedAnswersAndTreatsBlanksAsUnanswered() throws Exception {
+        CompiledForm f = compile(
+                field(100, "short_text", true, null, null),
+                field(101, "multi_select", false, "[\"Mon\",\"Tue\"]", null),
+                field(102, "yes_no", false, null, null),
+                field(103, "number", false, null, "{\"min\":null,\"max\":null}"),
+                field(104, "date", false, null, "{\"min\":\"2025-01-01\"}"));
+
+        assertEquals(Map.of(), validate(f, "{\"100\":\"Ann\",\"101\":[\"Tue\"],\"102\":false,\"103\":\"4.5\",\"104\":\"2025-06-01\"}"));
+        assertEquals(Map.of(), validate(f, "{\"100\":\"Ann\",\"101\":[],\"102\":\"\",\"103\":null}"));
+        assertEquals(Map.of("100", "This field is required"), validate(f, "{\"100\":\"  \"}"));
+    }
+
+    @Test
+    void reportsEveryBadFieldAtOnce() throws Exception {
+        CompiledForm f = compile(
+                field(100, "single_select", false, "[\"A\",\"B\"]", null),
+                field(101, "multi_select", false, "[\"Mon\",\"Tue\"]", null),
+                field(102, "yes_no", false, null, null),
+                field(103, "number", false, null, "{\"min\":1,\"max\":5}"),
+                field(104, "date", false, null, "{\"max\":\"2025-12-31\"}"),
+                field(105, "short_text", false, null, null));
+
+        Map<String, String> errors = validate(f,
+                "{\"100\":[\"A\"],\"101\":[\"Mon\",\"Sun\"],\"102\":\"yes\",\"103\":0,\"104\":\"2026-01-01\",\"105\":7}");
+
+        assertEquals("Expected a single choice", errors.get("100"));
+        assertEquals("Not one of the options: Sun", errors.get("101"));
+        assertEquals("Expected yes or no", errors.get("102"));
+        assertEquals("Minimum is 1", errors.get("103"));
+        assertEquals("Latest is 2025-12-31", errors.get("104"));
+        assertEquals("Expected text", errors.get("105"));
+    }
+
+    @Test
+    void answersForAnotherVersionOfTheFormAskForAReload() {
+        CompiledForm f = compile(field(100, "short_text", true, null, null), field(101, "short_text", false, null, null));
+
+        assertThrows(FormChangedException.class, () -> validate(f, "{\"100\":\"Ann\",\"99\":\"\"}"));
+        assertThrows(FormChangedException.class, () -> validate(f, "{\"100\":\"Ann\",\"x\":1}"));
+    }
+
+    @Test
+    void sparseIdsFallBackToAHashLookup() throws Exception {
+        CompiledForm f = compile(field(5, "short_text", true, null, null), field(5_000_000, "number", true, null, null));
+
+        assertEquals(Map.of(), validate(f, "{\"5\":\"a\",\"5000000\":1}"));
+        assertEquals(Map.of("5000000", "This field is required"), validate(f, "{\"5\":\"a\"}"));
+        assertThrows(FormChangedException.class, () -> validate(f, "{\"5\":\"a\",\"6\":1}"));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void throughput() throws Exception {
+        List<FormField> fields = new ArrayList<>();
+        StringBuilder answers = new StringBuilder("{");
+        for (int i = 0; i < 20; i++) {
+            long id = 1000 + i;
+            switch (i % 4) {
+                case 0 -> { fields.add(field(id, "short_text", true, null, null)); answers.append('"').append(id).append("\":\"some text\","); }
+                case 1 -> { fields.add(field(id, "single_select", true, "[\"A\",\"B\",\"C\",\"D\"]", null)); answers.append('"').append(id).append("\":\"C\","); }
+                case 2 -> { fields.add(field(id, "multi_select", false, "[\"Mon\",\"Tue\",\"Wed\"]", null)); answers.append('"').append(id).append("\":[\"Mon\",\"Wed\"],"); }
+                default -> { fields.add(field(id, "number", false, null, "{\"min\":0,\"max\":100}")); answers.append('"').append(id).append("\":42,"); }
+            }
+        }
+        answers.setCharAt(answers.length() - 1, '}');
+        CompiledForm f = CompiledForm.compile(form, fields, mapper);
+        JsonNode doc = mapper.readTree(answers.toString());
+
+        for (int i = 0; i < 200_000; i++) {
+            f.validate(doc);
+        }
+        int n = 2_000_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            if (!f.validate(doc).isEmpty()) {
+                fail("expected valid");
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("AnswerValidator, 20 fields: %.0f validations/s (%.0f ns each)%n", n / (nanos / 1e9), (double) nanos / n);
+    }
+}
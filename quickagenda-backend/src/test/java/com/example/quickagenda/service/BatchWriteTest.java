@@ -0,0 +1,104 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.EventCreateRequest;
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.example.quickagenda.dto.EventUpdateRequest;
+import com.example.quickagenda.dto.FormFieldDto;
+import com.example.quickagenda.dto.FormUpsertRequest;
+import com.example.quickagenda.dto.SessionCreateRequest;
+import com.example.quickagenda.dto.SessionResponse;
+import com.example.quickagenda.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchWriteTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private FormService formService;
+
+    @Test
+    void creatingA200SessionEventTakesABoundedNumberOfRoundTrips() {
+        List<SessionCreateRequest> sessions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            sessions.add(new SessionCreateRequest(null, "Talk " + i, String.format("%02d:00", 8 + i % 10), String.format("%02d:30", 8 + i % 10), "Room " + i % 4));
+        }
+
+        statements.reset();
+        EventDetailResponse created = eventService.createEvent(new EventCreateRequest("Big conf", LocalDate.of(2026, 3, 1), null, sessions));
+
+        // 1 event insert, 200/50 sequence calls, 200/50 insert batches (plus transaction bookkeeping)
+        assertTrue(statements.roundTrips() <= 12, () -> statements.roundTrips() + " round trips: " + statements.statements());
+        assertEquals(200, eventService.getEventByShareCode(created.getShareCode()).getSessions().size());
+    }
+
+    @Test
+    void updatingA300SessionAgendaOnlyWritesWhatChanged() {
+        EventDetailResponse created = eventService.createEvent(new EventCreateRequest("Big conf", LocalDate.of(2026, 3, 1), null, talks(300)));
+        String code = created.getShareCode();
+        List<SessionCreateRequest> desired = new ArrayList<>();
+        for (SessionResponse s : created.getSessions()) {
+            desired.add(new SessionCreateRequest(s.getId(), s.getTitle(), s.getStartTime().toLocalTime().toString(),
+                    s.getEndTime().toLocalTime().toString(), s.getLocation()));
+        }
+
+        // One edited session: lock the event, load its sessions, one update
+        desired.set(0, new SessionCreateRequest(desired.get(0).getId(), "Tweaked", "08:00", "08:30", "Room 0"));
+        statements.reset();
+        eventService.updateEvent(code, new EventUpdateRequest(null, null, null, desired));
+        assertEquals(3, statements.roundTrips(), () -> statements.statements().toString());
+
+        // 10% of sessions deleted, 10% moved and 30 added: one bulk delete, one update batch and
+        // one insert batch on top of the two reads, plus a sequence call unless the pooled ids last
+        List<SessionCreateRequest> churn = new ArrayList<>();
+        for (int i = 0; i < desired.size(); i++) {
+            SessionCreateRequest s = desired.get(i);
+            if (i % 10 == 1) {
+                continue;
+            }
+            churn.add(i % 10 == 2 ? new SessionCreateRequest(s.getId(), "Moved", "20:00", "21:00", "Annex") : s);
+        }
+        churn.addAll(talks(30));
+        statements.reset();
+        EventDetailResponse updated = eventService.updateEvent(code, new EventUpdateRequest(null, null, null, churn));
+        long sequenceCalls = statements.statements().stream().filter(s -> s != null && s.contains("nextval")).count();
+        assertTrue(sequenceCalls <= 1, () -> statements.statements().toString());
+        assertEquals(5, statements.roundTrips() - sequenceCalls, () -> statements.statements().toString());
+
+        assertEquals(300, updated.getSessions().size());
+        assertEquals(30, updated.getChanges().getInserted().size());
+        assertEquals(30, updated.getChanges().getUpdated().size());
+        assertEquals(30, updated.getChanges().getDeleted().size());
+    }
+
+    private static List<SessionCreateRequest> talks(int n) {
+        List<SessionCreateRequest> sessions = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            sessions.add(new SessionCreateRequest(null, "Talk " + i, String.format("%02d:00", 8 + i % 10), String.format("%02d:30", 8 + i % 10), "Room " + i % 4));
+        }
+        return sessions;
+    }
+
+    @Test
+    void upsertingAFormBatchesFieldInserts() {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Form conf", LocalDate.of(2026, 3, 1), null, List.of()));
+        List<FormFieldDto> fields = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            fields.add(new FormFieldDto(null, "short_text", "Question " + i, false, i, null, null));
+        }
+
+        statements.reset();
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null, fields));
+
+        long inserts = statements.statements().stream().filter(s -> s != null && s.toLowerCase().startsWith("insert into form_fields")).count();
+        assertTrue(inserts <= 3, () -> inserts + " field insert round trips: " + statements.statements());
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.AgendaNowResponse;
+import com.example.quickagenda.dto.EventCreateRequest;
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.example.quickagenda.dto.EventUpdateRequest;
+import com.example.quickagenda.dto.SessionCreateRequest;
+import com.example.quickagenda.dto.SessionTimeUpdateRequest;
+import com.example.quickagenda.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private AgendaSnapshotCache agendaSnapshots;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AgendaSubscribers subscribers;
+
+    @Autowired
+    private PlatformTransactionManager transactions;
+
+    private EventDetailResponse event(String name) {
+        return eventService.createEvent(new EventCreateRequest(name, LocalDate.of(2026, 3, 1), "Main hall", List.of(
+                new SessionCreateRequest(null, "Keynote", "09:00", "10:00", "Room A"),
+                new SessionCreateRequest(null, "Talks", "10:30", "12:00", "Room B"))));
+    }
+
+    // What a fresh read returns right after the mutation, straight from the database
+    private String reread(String code) throws Exception {
+        agendaSnapshots.bump(code);
+        return objectMapper.writeValueAsString(eventService.getEventByShareCode(code));
+    }
+
+    @Test
+    void agendaIsOneQueryInSessionOrder() {
+        EventDetailResponse event = event("Conf");
+
+        statements.reset();
+        EventDetailResponse detail = eventService.getEventByShareCode(event.getShareCode());
+
+        assertEquals(1, statements.roundTrips(), () -> statements.statements().toString());
+        assertEquals("Conf", detail.getName());
+        assertEquals(List.of("Keynote", "Talks"), detail.getSessions().stream().map(s -> s.getTitle()).toList());
+    }
+
+    @Test
+    void eventWithoutSessionsHasAnEmptyAgenda() {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Empty", LocalDate.of(2026, 3, 1), null, List.of()));
+
+        assertEquals(List.of(), eventService.getEventByShareCode(event.getShareCode()).getSessions());
+        assertThrows(ResponseStatusException.class, () -> eventService.getEventByShareCode("NOPE99"));
+    }
+
+    @Test
+    void mutationsAnswerWithWhatAFreshReadReturns() throws Exception {
+        String code = event("Conf").getShareCode();
+        List<Long> ids = eventService.getEventByShareCode(code).getSessions().stream().map(s -> s.getId()).toList();
+
+        EventDetailResponse moved = eventService.updateSessionTimes(code, ids.get(0), new SessionTimeUpdateRequest("08:30", "09:30"));
+        assertEquals(LocalDateTime.of(2026, 3, 1, 8, 30), moved.getSessions().get(0).getStartTime());
+        assertEquals(reread(code), objectMapper.writeValueAsString(moved));
+
+        EventDetailResponse added = eventService.addSession(code, new SessionCreateRequest(null, "Closing", "17:00", "17:30", null));
+        assertEquals(3, added.getSessions().size());
+        assertEquals(reread(code), objectMapper.writeValueAsString(added));
+
+        EventDetailResponse deleted = eventService.deleteSession(code, ids.get(1));
+        assertEquals(2, deleted.getSessions().size());
+        assertEquals(reread(code), objectMapper.writeValueAsString(deleted));
+
+        EventDetailResponse renamed = eventService.updateEvent(code, new EventUpdateRequest("Renamed", null, null, null));
+        assertEquals("Renamed", renamed.getName());
+        assertEquals(reread(code), objectMapper.writeValueAsString(renamed));
+    }
+
+    @Test
+    void sessionsOfAnotherEventAreNotFound() {
+        String code = event("Mine").getShareCode();
+        Long foreign = eventService.getEventByShareCode(event("Theirs").getShareCode()).getSessions().get(0).getId();
+
+        ResponseStatusException moved = assertThrows(ResponseStatusException.class,
+                () -> eventService.updateSessionTimes(code, foreign, new SessionTimeUpdateRequest("08:00", "09:00")));
+        assertEquals(404, moved.getStatusCode().value());
+        ResponseStatusException deleted = assertThrows(ResponseStatusException.class, () -> eventService.deleteSession(code, foreign));
+        assertEquals(404, deleted.getStatusCode().value());
+    }
+
+    @Test
+    void nowIsAnsweredFromTheCachedAgenda() {
+        String code = event("Conf").getShareCode();
+        eventService.getEventByShareCode(code);
+
+        statements.reset();
+        AgendaNowResponse now = eventService.getNow(code, "09:30", null);
+
+        assertEquals(0, statements.roundTrips(), () -> statements.statements().toString());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 9, 30), now.getAt());
+        assertEquals(List.of("Keynote"), now.getNow().stream().map(s -> s.getTitle()).toList());
+        assertEquals(List.of("Talks"), now.getNext().stream().map(s -> s.getTitle()).toList());
+        assertEquals(List.of(), eventService.getNow(code, "2026-03-01T09:30", "Room B").getNow());
+    }
+
+    @Test
+    void nowFollowsSessionChanges() {
+        String code = event("Conf").getShareCode();
+        assertEquals(List.of(), eventService.getNow(code, "12:30", null).getNow());
+
+        eventService.addSession(code, new SessionCreateRequest(null, "Lunch", "12:00", "13:00", "Room B"));
+
+        assertEquals(List.of("Lunch"), eventService.getNow(code, "12:30", "room b").getNow().stream().map(s -> s.getTitle()).toList());
+    }
+
+    @Test
+    void nowRejectsUnreadableTimes() {
+        String code = event("Conf").getShareCode();
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> eventService.getNow(code, "half past nine", null));
+        assertEquals(400, ex.getStatusCode().value());
+    }
+
+    @Test
+    void writesReportOverlapsInALocation() {
+        EventDetailResponse created = eventService.createEvent(new EventCreateRequest("Conf", LocalDate.of(2026, 3, 1), null, List.of(
+                new SessionCreateRequest(null, "Keynote", "09:00", "10:00", "Room A"),
+                new SessionCreateRequest(null, "Workshop", "09:30", "11:00", "room a"))));
+
+        assertEquals(1, created.getConflicts().size());
+        assertEquals(created.getSessions().get(0).getId(), created.getConflicts().get(0).getSession().getId());
+        assertEquals(created.getSessions().get(1).getId(), created.getConflicts().get(0).getConflictsWith().getId());
+
+        String code = created.getShareCode();
+        EventDetailResponse added = eventService.addSession(code, new SessionCreateRequest(null, "Panel", "10:30", "11:30", "Room B"));
+        assertEquals(1, added.getConflicts().size());
+        Long workshop = created.getSessions().get(1).getId();
+        EventDetailResponse moved = eventService.updateSessionTimes(code, workshop, new SessionTimeUpdateRequest("10:00", "11:00"));
+        assertEquals(List.of(), moved.getConflicts());
+        assertNull(eventService.getEventByShareCode(code).getConflicts());
+    }
+
+    @Test
+    void strictWritesThatDoubleBookALocationAreRejected() {
+        String code = event("Conf").getShareCode();
+        EventDetailResponse withLunch = eventService.addSession(code, new SessionCreateRequest(null, "Lunch", "12:00", "13:00", "Room B"), true);
+        List<String> before = summary(withLunch);
+        Long keynote = withLunch.getSessions().get(0).getId();
+        Long lunch = withLunch.getSessions().get(2).getId();
+
+        ScheduleConflictException added = assertThrows(ScheduleConflictException.class, () -> eventService.addSession(code,
+                new SessionCreateRequest(null, "Clash", "10:00", "11:00", "Room B"), true));
+        assertEquals(409, added.getStatusCode().value());
+        assertNull(added.getConflicts().get(0).getSession().getId());
+        assertEquals("Talks", added.getConflicts().get(0).getConflictsWith().getTitle());
+        assertThrows(ScheduleConflictException.class, () -> eventService.updateSessionTimes(code, lunch,
+                new SessionTimeUpdateRequest("11:00", "12:30"), true));
+        assertThrows(ScheduleConflictException.class, () -> eventService.updateEvent(code, new EventUpdateRequest("Renamed", null, null,
+                List.of(new SessionCreateRequest(keynote, "Keynote", "09:00", "10:00", "Room A"),
+                        new SessionCreateRequest(null, "Clash", "09:15", "09:45", "Room A"))), true));
+        assertThrows(ScheduleConflictException.class, () -> eventService.createEvent(new EventCreateRequest("Clashing", LocalDate.of(2026, 3, 1), null, List.of(
+                new SessionCreateRequest(null, "One", "09:00", "10:00", "Room A"),
+                new SessionCreateRequest(null, "Two", "09:00", "10:00", "Room A"))), true));
+
+        agendaSnapshots.bump(code);
+        EventDetailResponse after = eventService.getEventByShareCode(code);
+        assertEquals("Conf", after.getName());
+        assertEquals(before, summary(after));
+    }
+
+    @Test
+    void concurrentStrictWritesSeeEachOther() throws Exception {
+        String code = event("Conf").getShareCode();
+        SessionCreateRequest workshop = new SessionCreateRequest(null, "Workshop", "14:00", "15:00", "Room C");
+        CompletableFuture<EventDetailResponse> second;
+
+        // The second writer queues on the event's lock and plans against the first one's session
+        TransactionStatus first = transactions.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            eventService.addSession(code, workshop, true);
+            second = CompletableFuture.supplyAsync(() -> eventService.addSession(code,
+                    new SessionCreateRequest(null, "Clash", "14:30", "15:30", "Room C"), true));
+            Thread.sleep(200);
+            assertFalse(second.isDone());
+        } finally {
+            transactions.commit(first);
+        }
+
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ScheduleConflictException.class, rejected.getCause());
+        EventDetailResponse added = eventService.addSession(code, new SessionCreateRequest(null, "Closing", "17:00", "17:30", "Room A"));
+        assertEquals(List.of("Keynote", "Talks", "Workshop", "Closing"), added.getSessions().stream().map(s -> s.getTitle()).toList());
+    }
+
+    private static List<String> summary(EventDetailResponse detail) {
+        return detail.getSessions().stream().map(s -> s.getId() + " " + s.getTitle() + " " + s.getStartTime() + " " + s.getEndTime()).toList();
+    }
+
+    @Test
+    void strictWritesOnlyAnswerForTheSessionsTheyChange() {
+        EventDetailResponse created = eventService.createEvent(new EventCreateRequest("Conf", LocalDate.of(2026, 3, 1), null, List.of(
+                new SessionCreateRequest(null, "Keynote", "09:00", "10:00", "Room A"),
+                new SessionCreateRequest(null, "Workshop", "09:30", "11:00", "Room A"))));
+
+        EventDetailResponse renamed = eventService.updateEvent(created.getShareCode(), new EventUpdateRequest("Renamed", null, null, null), true);
+        assertEquals("Renamed", renamed.getName());
+        assertEquals(1, renamed.getConflicts().size());
+        EventDetailResponse added = eventService.addSession(created.getShareCode(), new SessionCreateRequest(null, "Lunch", "12:00", "13:00", "Room A"), true);
+        assertEquals(3, added.getSessions().size());
+    }
+
+    @Test
+    void committedChangesArePublishedToTheAgendaStream() throws Exception {
+        String code = event("Conf").getShareCode();
+        Long keynote = eventService.getEventByShareCode(code).getSessions().get(0).getId();
+        List<String> received = new CopyOnWriteArrayList<>();
+        subscribers.subscribe(code, null, new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) {
+                StringBuilder text = new StringBuilder();
+                items.forEach(item -> text.append(item.getData()));
+                received.add(text.toString());
+            }
+        });
+
+        eventService.updateSessionTimes(code, keynote, new SessionTimeUpdateRequest("08:30", "09:30"));
+        assertThrows(ScheduleConflictException.class, () -> eventService.addSession(code,
+                new SessionCreateRequest(null, "Clash", "08:00", "09:00", "Room A"), true));
+        eventService.deleteSession(code, keynote);
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (received.size() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        long version = agendaSnapshots.currentVersion(code);
+        assertEquals(List.of(":connected\n\n",
+                "id:" + (version - 1) + "\nevent:change\ndata:{\"version\":" + (version - 1) + ",\"type\":\"SESSION_MOVED\",\"sessionId\":" + keynote + "}\n\n",
+                "id:" + version + "\nevent:change\ndata:{\"version\":" + version + ",\"type\":\"SESSION_DELETED\",\"sessionId\":" + keynote + "}\n\n"),
+                received);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.entity.Form;
+import com.example.quickagenda.entity.FormField;
+import com.example.quickagenda.repository.FormFieldRepository;
+import com.example.quickagenda.repository.FormRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FormDefinitionCacheTest {
+
+    private final FormRepository forms = mock(FormRepository.class);
+    private final FormFieldRepository fields = mock(FormFieldRepository.class);
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final FormDefinitionCache cache = new FormDefinitionCache(forms, fields, mapper, 100, Duration.ofMinutes(1));
+    private final Event event = new Event(7L, "Conf", LocalDate.of(2025, 11, 3), null, "ABC123");
+
+    private Form form(boolean active, OffsetDateTime openAt, OffsetDateTime closeAt) {
+        return new Form(3L, event, "RSVP", active, openAt, closeAt);
+    }
+
+    @Test
+    void compilesOnceAndParsesFieldJson() {
+        Form form = form(true, null, null);
+        when(forms.findByEvent(any())).thenReturn(Optional.of(form));
+        when(fields.findByFormOrderByOrderIndexAsc(form)).thenReturn(List.of(
+                new FormField(11L, form, "single_select", "Diet", true, 0, "[\"veg\",\"vegan\"]", null),
+                new FormField(12L, form, "number", "Age", false, 1, null, "{not json")));
+
+        CompiledForm first = cache.get(event).orElseThrow();
+        CompiledForm second = cache.get(event).orElseThrow();
+
+        assertSame(first, second);
+        verify(forms, times(1)).findByEvent(any());
+        assertEquals(3L, first.getFormId());
+        assertEquals("vegan", first.getFields().get(0).options().get(1).asText());
+        assertNull(first.getFields().get(1).config());
+        String json = new String(first.getConfigJson(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"configJson\":\"{not json\""), json);
+    }
+
+    @Test
+    void cachesMissingFormsUntilEvicted() {
+        when(forms.findByEvent(any())).thenReturn(Optional.empty());
+
+        assertTrue(cache.get(event).isEmpty());
+        assertTrue(cache.get(event).isEmpty());
+        verify(forms, times(1)).findByEvent(any());
+
+        cache.evict(event.getId());
+        assertTrue(cache.get(event).isEmpty());
+        verify(forms, times(2)).findByEvent(any());
+    }
+
+    @Test
+    void editsMadeElsewhereShowOnceTheEntryExpires() throws Exception {
+        FormDefinitionCache shortLived = new FormDefinitionCache(forms, fields, mapper, 100, Duration.ofMillis(50));
+        when(forms.findByEvent(any())).thenReturn(Optional.empty());
+        assertTrue(shortLived.get(event).isEmpty());
+
+        when(forms.findByEvent(any())).thenReturn(Optional.of(form(true, null, null)));
+        assertTrue(shortLived.get(event).isEmpty());
+        Thread.sleep(100);
+        assertEquals(3L, shortLived.get(event).orElseThrow().getFormId());
+    }
+
+    @Test
+    void reloadedFormsKeepTheirDefinition() throws Exception {
+        FormDefinitionCache shortLived = new FormDefinitionCache(forms, fields, mapper, 100, Duration.ofMillis(50));
+        Form form = form(true, null, null);
+        when(forms.findByEvent(any())).thenReturn(Optional.of(form));
+        when(fields.findByFormOrderByOrderIndexAsc(form)).thenReturn(List.of(
+                new FormField(11L, form, "yes_no", "Coming", true, 0, null, null)));
+        CompiledForm first = shortLived.get(event).orElseThrow();
+        Thread.sleep(100);
+        CompiledForm reloaded = shortLived.get(event).orElseThrow();
+        assertNotSame(first, reloaded);
+        assertTrue(first.sameDefinition(reloaded));
+
+        when(fields.findByFormOrderByOrderIndexAsc(form)).thenReturn(List.of(
+                new FormField(12L, form, "yes_no", "Coming", true, 0, null, null)));
+        shortLived.evict(event.getId());
+        assertFalse(first.sameDefinition(shortLived.get(event).orElseThrow()));
+    }
+
+    @Test
+    void openWindowIsInclusiveAndRequiresActive() {
+        OffsetDateTime open = OffsetDateTime.parse("2025-11-01T09:00:00Z");
+        OffsetDateTime close = OffsetDateTime.parse("2025-11-02T09:00:00Z");
+        when(forms.findByEvent(any())).thenReturn(Optional.of(form(true, open, close)));
+        CompiledForm compiled = cache.get(event).orElseThrow();
+
+        assertFalse(compiled.isOpenAt(open.toInstant().toEpochMilli() - 1));
+        assertTrue(compiled.isOpenAt(open.toInstant().toEpochMilli()));
+        assertTrue(compiled.isOpenAt(close.toInstant().toEpochMilli()));
+        assertFalse(compiled.isOpenAt(close.toInstant().toEpochMilli() + 1));
+
+        cache.evict(event.getId());
+        when(forms.findByEvent(any())).thenReturn(Optional.of(form(false, null, null)));
+        assertFalse(cache.get(event).orElseThrow().isOpenAt(open.toInstant().toEpochMilli()));
+    }
+}
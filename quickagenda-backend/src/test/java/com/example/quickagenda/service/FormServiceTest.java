@@ -0,0 +1,286 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.EventCreateRequest;
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.example.quickagenda.dto.FormFieldDto;
+import com.example.quickagenda.dto.FormResponseDto;
+import com.example.quickagenda.dto.FormStatsResponse;
+import com.example.quickagenda.dto.FormSubmitRequest;
+import com.example.quickagenda.dto.FormUpsertRequest;
+import com.example.quickagenda.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FormStatsService formStatsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactions;
+
+    private EventDetailResponse eventWithForm(String title) {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Signup", LocalDate.of(2026, 3, 1), null, List.of()));
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest(title, true, null, null,
+                List.of(new FormFieldDto(null, "short_text", "Name", true, 0, null, null))));
+        return event;
+    }
+
+    @Test
+    void publicFormIsServedFromMemoryOnceWarm() {
+        EventDetailResponse event = eventWithForm("RSVP");
+        formService.getPublicForm(event.getShareCode(), "a@x.io");
+
+        statements.reset();
+        String json = new String(formService.getPublicForm(event.getShareCode(), "a@x.io"), StandardCharsets.UTF_8);
+
+        assertTrue(json.contains("\"title\":\"RSVP\""), json);
+        assertEquals(0, statements.roundTrips(), () -> statements.statements().toString());
+    }
+
+    @Test
+    void upsertInvalidatesTheCompiledForm() {
+        EventDetailResponse event = eventWithForm("RSVP");
+        formService.getPublicForm(event.getShareCode(), "a@x.io");
+
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("Closed", false, null, null, List.of()));
+
+        assertThrows(ResponseStatusException.class, () -> formService.getPublicForm(event.getShareCode(), "a@x.io"));
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> formService.submit(event.getShareCode(), request("a@x.io", Map.of())));
+        assertEquals(403, ex.getStatusCode().value());
+    }
+
+    @Test
+    void submitUpsertsByEmail() throws Exception {
+        EventDetailResponse event = eventWithForm("RSVP");
+        String name = nameField(event);
+        formService.submit(event.getShareCode(), request("a@x.io", Map.of(name, "Ann")));
+        formService.submit(event.getShareCode(), request("a@x.io", Map.of(name, "Annie")));
+
+        var responses = formService.listResponses(event.getShareCode(), null);
+        assertEquals(1, responses.size());
+        assertEquals("Annie", objectMapper.readTree(responses.get(0).getAnswers()).get(name).asText());
+        String listed = objectMapper.writeValueAsString(responses.get(0));
+        // jsonb text output (note the space) is spliced in untouched
+        assertTrue(listed.endsWith("\"answers\":{\"" + name + "\": \"Annie\"}}"), listed);
+    }
+
+    @Test
+    void submitRejectsInvalidAnswersPerField() {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Validate", LocalDate.of(2026, 3, 1), null, List.of()));
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null, List.of(
+                new FormFieldDto(null, "short_text", "Name", true, 0, null, null),
+                new FormFieldDto(null, "single_select", "Track", false, 1, "[\"A\",\"B\"]", null),
+                new FormFieldDto(null, "number", "Guests", false, 2, null, "{\"min\":0,\"max\":3}"))));
+        List<CompiledForm.Field> fields = formService.prepareExport(event.getShareCode(), null).form().getFields();
+        String name = String.valueOf(fields.get(0).id());
+        String track = String.valueOf(fields.get(1).id());
+        String guests = String.valueOf(fields.get(2).id());
+
+        InvalidAnswersException ex = assertThrows(InvalidAnswersException.class, () -> formService.submit(event.getShareCode(),
+                request("a@x.io", Map.of(track, "C", guests, 9))));
+        assertEquals(Map.of(name, "This field is required", track, "Not one of the options", guests, "Maximum is 3"),
+                ex.getErrors());
+        assertEquals(0, formService.countResponses(event.getShareCode(), null));
+
+        formService.submit(event.getShareCode(), request("a@x.io", Map.of(name, "Ann", track, "B", guests, 2)));
+        assertEquals(1, formService.countResponses(event.getShareCode(), null));
+    }
+
+    @Test
+    void submittingAFormLoadedBeforeAnEditAsksForAReload() {
+        EventDetailResponse event = eventWithForm("RSVP");
+        String stale = nameField(event);
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null, List.of(
+                new FormFieldDto(null, "short_text", "Full name", true, 0, null, null))));
+
+        ResponseStatusException ex = assertThrows(FormChangedException.class,
+                () -> formService.submit(event.getShareCode(), request("a@x.io", Map.of(stale, "Ann"))));
+        assertEquals(409, ex.getStatusCode().value());
+        assertEquals(0, formService.countResponses(event.getShareCode(), null));
+
+        formService.submit(event.getShareCode(), request("a@x.io", Map.of(nameField(event), "Ann")));
+        assertEquals(1, formService.countResponses(event.getShareCode(), null));
+    }
+
+    private FormSubmitRequest request(String email, Map<String, ?> answers) {
+        return new FormSubmitRequest(email, objectMapper.valueToTree(answers));
+    }
+
+    private String nameField(EventDetailResponse event) {
+        return String.valueOf(formService.prepareExport(event.getShareCode(), null).form().getFields().get(0).id());
+    }
+
+    @Test
+    void exportsStreamThroughACursorInFetchSizedChunks() throws Exception {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Export", LocalDate.of(2026, 3, 1), null, List.of()));
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null, List.of(
+                new FormFieldDto(null, "short_text", "Name, full", true, 0, null, null),
+                new FormFieldDto(null, "multi_select", "Days", false, 1, "[\"Mon\",\"Tue\"]", null),
+                new FormFieldDto(null, "yes_no", "Vegan", false, 2, null, null))));
+        FormService.Export export = formService.prepareExport(event.getShareCode(), null);
+        CompiledForm form = export.form();
+        List<CompiledForm.Field> fields = form.getFields();
+        String answers = String.format("{\"%d\":\"Ann \\\"A\\\"\",\"%d\":[\"Mon\",\"Tue\"],\"%d\":true}",
+                fields.get(0).id(), fields.get(1).id(), fields.get(2).id());
+        int n = ResponseExporter.FETCH_SIZE * 2 + 17;
+        jdbcTemplate.update("INSERT INTO form_responses (form_id, email, answers_json, created_at, updated_at)"
+                + " SELECT ?, 'guest' || g || '@x.io', ?::jsonb, now(), now() FROM generate_series(1, ?) g", form.getFormId(), answers, n);
+
+        statements.reset();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        formService.exportCsv(export, csv);
+        String[] lines = csv.toString(StandardCharsets.UTF_8).split("\r\n");
+
+        assertEquals(n + 1, lines.length);
+        assertEquals("Email,Submitted,Updated,\"Name, full\",Days,Vegan", lines[0]);
+        assertTrue(lines[1].endsWith(",\"Ann \"\"A\"\"\",\"Mon, Tue\",Yes"), lines[1]);
+        assertEquals(3, statements.statements().stream().filter(s -> s.startsWith("FETCH")).count());
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        formService.exportNdjson(export, ndjson);
+        String[] rows = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(n, rows.length);
+        JsonNode first = objectMapper.readTree(rows[0]);
+        assertEquals("Ann \"A\"", first.get("answers").get(String.valueOf(fields.get(0).id())).asText());
+        assertTrue(first.get("createdAt").asText().contains("T"));
+    }
+
+    @Test
+    void filtersAndCountsByAnswerInTheDatabase() {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Filter", LocalDate.of(2026, 3, 1), null, List.of()));
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null, List.of(
+                new FormFieldDto(null, "yes_no", "Coming", true, 0, null, null),
+                new FormFieldDto(null, "multi_select", "Days", false, 1, "[\"Mon\",\"Tue\"]", null),
+                new FormFieldDto(null, "number", "Guests", false, 2, null, null))));
+        List<CompiledForm.Field> fields = formService.prepareExport(event.getShareCode(), null).form().getFields();
+        String coming = String.valueOf(fields.get(0).id());
+        String days = String.valueOf(fields.get(1).id());
+        String guests = String.valueOf(fields.get(2).id());
+        String code = event.getShareCode();
+        formService.submit(code, request("a@x.io", Map.of(coming, true, days, List.of("Mon", "Tue"), guests, 2)));
+        formService.submit(code, request("b@x.io", Map.of(coming, true, days, List.of("Tue"), guests, 0)));
+        formService.submit(code, request("c@x.io", Map.of(coming, false)));
+
+        assertEquals(3, formService.countResponses(code, null));
+        assertEquals(2, formService.countResponses(code, List.of(coming + ":yes")));
+        assertEquals(2, formService.countResponses(code, List.of(days + ":Tue")));
+        assertEquals(1, formService.countResponses(code, List.of(days + ":Tue", days + ":Mon")));
+        assertEquals(1, formService.countResponses(code, List.of(guests + ":2.0")));
+
+        List<FormResponseDto> matching = formService.listResponses(code, List.of(coming + ":no"));
+        assertEquals(List.of("c@x.io"), matching.stream().map(FormResponseDto::getEmail).toList());
+
+        assertThrows(ResponseStatusException.class, () -> formService.countResponses(code, List.of("999:x")));
+        assertThrows(ResponseStatusException.class, () -> formService.countResponses(code, List.of(guests + ":many")));
+    }
+
+    @Test
+    void statsFollowSubmissionsAndTheVerifierRepairsDrift() {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Stats", LocalDate.of(2026, 3, 1), null, List.of()));
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null, List.of(
+                new FormFieldDto(null, "yes_no", "Coming", true, 0, null, null))));
+        String code = event.getShareCode();
+        String coming = String.valueOf(formService.prepareExport(code, null).form().getFields().get(0).id());
+        formService.submit(code, request("a@x.io", Map.of(coming, true)));
+        assertEquals(Map.of("yes", 1L), formService.getStats(code).getFields().get(coming).getCounts());
+
+        formService.submit(code, request("b@x.io", Map.of(coming, true)));
+        formService.submit(code, request("a@x.io", Map.of(coming, false)));
+        statements.reset();
+        FormStatsResponse stats = formService.getStats(code);
+        assertEquals(0, statements.roundTrips());
+        assertEquals(2, stats.getResponses());
+        assertEquals(Map.of("yes", 1L, "no", 1L), stats.getFields().get(coming).getCounts());
+
+        // A write the aggregator never saw
+        jdbcTemplate.update("UPDATE form_responses SET answers_json = ?::jsonb WHERE email = 'b@x.io'", "{\"" + coming + "\": false}");
+        long before = formStatsService.corrections();
+        formStatsService.verify();
+        assertEquals(before + 1, formStatsService.corrections());
+        assertEquals(Map.of("no", 2L), formService.getStats(code).getFields().get(coming).getCounts());
+    }
+
+    @Test
+    void aSubmissionCommittingDuringARebuildIsCountedOnce() throws Exception {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Stats", LocalDate.of(2026, 3, 1), null, List.of()));
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null, List.of(
+                new FormFieldDto(null, "yes_no", "Coming", true, 0, null, null))));
+        String code = event.getShareCode();
+        String coming = String.valueOf(formService.prepareExport(code, null).form().getFields().get(0).id());
+        formService.submit(code, request("c@x.io", Map.of(coming, true)));
+        CompletableFuture<FormStatsResponse> rebuilt;
+
+        TransactionStatus submission = transactions.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            formService.submit(code, request("d@x.io", Map.of(coming, false)));
+            rebuilt = CompletableFuture.supplyAsync(() -> formService.getStats(code));
+            Thread.sleep(200);
+            // The rebuild waits for the submission to commit and be applied
+            assertFalse(rebuilt.isDone());
+        } finally {
+            transactions.commit(submission);
+        }
+
+        assertEquals(Map.of("yes", 1L, "no", 1L), rebuilt.get(5, TimeUnit.SECONDS).getFields().get(coming).getCounts());
+        formService.submit(code, request("d@x.io", Map.of(coming, true)));
+        assertEquals(Map.of("yes", 2L), formService.getStats(code).getFields().get(coming).getCounts());
+    }
+
+    @Test
+    void concurrentResubmissionsEachReplaceTheCommittedAnswers() throws Exception {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Stats", LocalDate.of(2026, 3, 1), null, List.of()));
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null, List.of(
+                new FormFieldDto(null, "yes_no", "Coming", true, 0, null, null))));
+        String code = event.getShareCode();
+        String coming = String.valueOf(formService.prepareExport(code, null).form().getFields().get(0).id());
+        formService.submit(code, request("e@x.io", Map.of(coming, true)));
+        formService.getStats(code);
+        CompletableFuture<Void> second;
+
+        TransactionStatus first = transactions.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            formService.submit(code, request("e@x.io", Map.of(coming, false)));
+            second = CompletableFuture.runAsync(() -> formService.submit(code, request("e@x.io", Map.of(coming, true))));
+            Thread.sleep(200);
+            assertFalse(second.isDone());
+        } finally {
+            transactions.commit(first);
+        }
+        second.get(5, TimeUnit.SECONDS);
+
+        FormStatsResponse stats = formService.getStats(code);
+        assertEquals(1, stats.getResponses());
+        assertEquals(Map.of("yes", 1L), stats.getFields().get(coming).getCounts());
+    }
+}
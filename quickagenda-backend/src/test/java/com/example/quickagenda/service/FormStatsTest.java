@@ -0,0 +1,81 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.FieldStatsResponse;
+import com.example.quickagenda.dto.FormStatsResponse;
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.entity.Form;
+import com.example.quickagenda.entity.FormField;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormStatsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Form form = new Form(3L, new Event(7L, "Conf", LocalDate.of(2025, 11, 3), null, "ABC123"), "RSVP", true, null, null);
+    private final CompiledForm compiled = CompiledForm.compile(form, List.of(
+            new FormField(1L, form, "single_select", "Track", false, 0, "[\"A\",\"B\"]", null),
+            new FormField(2L, form, "multi_select", "Days", false, 1, null, null),
+            new FormField(3L, form, "yes_no", "Vegan", false, 2, null, null),
+            new FormField(4L, form, "number", "Age", false, 3, null, "{\"min\":0,\"max\":100}"),
+            new FormField(5L, form, "number", "Guests", false, 4, null, null),
+            new FormField(6L, form, "short_text", "Name", false, 5, null, null)), mapper);
+
+    private JsonNode json(String s) throws Exception {
+        return mapper.readTree(s);
+    }
+
+    @Test
+    void countsOptionsAndNumbers() throws Exception {
+        FormStats stats = new FormStats(compiled);
+        stats.apply(json("{\"1\":\"A\",\"2\":[\"Mon\",\"Tue\"],\"3\":true,\"4\":34,\"5\":\"2\",\"6\":\"Ann\"}"), 1);
+        stats.apply(json("{\"1\":\"B\",\"2\":[\"Tue\"],\"3\":false,\"4\":99.5,\"5\":\"\"}"), 1);
+
+        FormStatsResponse r = stats.snapshot();
+        assertEquals(2, r.getResponses());
+        assertEquals(List.of("1", "2", "3", "4", "5"), List.copyOf(r.getFields().keySet()));
+        assertEquals(Map.of("A", 1L, "B", 1L), r.getFields().get("1").getCounts());
+        assertEquals(Map.of("Mon", 1L, "Tue", 2L), r.getFields().get("2").getCounts());
+        assertEquals(Map.of("yes", 1L, "no", 1L), r.getFields().get("3").getCounts());
+        FieldStatsResponse age = r.getFields().get("4");
+        assertEquals(2L, age.getCount());
+        assertEquals(0, new BigDecimal("34").compareTo(age.getMin()));
+        assertEquals(0, new BigDecimal("99.5").compareTo(age.getMax()));
+        assertEquals(0, new BigDecimal("133.5").compareTo(age.getSum()));
+        assertEquals(Map.of("30..40", 1L, "90..100", 1L), age.getHistogram());
+        assertEquals(1L, r.getFields().get("5").getCount());
+        assertEquals(Map.of("2", 1L), r.getFields().get("5").getHistogram());
+    }
+
+    @Test
+    void resubmissionReplacesTheOldContribution() throws Exception {
+        FormStats stats = new FormStats(compiled);
+        JsonNode first = json("{\"1\":\"A\",\"4\":10}");
+        JsonNode other = json("{\"1\":\"A\",\"4\":50}");
+        JsonNode second = json("{\"1\":\"B\",\"4\":20}");
+        stats.apply(first, 1);
+        stats.apply(other, 1);
+        stats.apply(first, -1);
+        stats.apply(second, 1);
+
+        FormStatsResponse r = stats.snapshot();
+        assertEquals(2, r.getResponses());
+        assertEquals(Map.of("A", 1L, "B", 1L), r.getFields().get("1").getCounts());
+        assertEquals(0, new BigDecimal("20").compareTo(r.getFields().get("4").getMin()));
+        assertEquals(0, new BigDecimal("70").compareTo(r.getFields().get("4").getSum()));
+
+        FormStats rebuilt = new FormStats(compiled);
+        rebuilt.apply(other, 1);
+        rebuilt.apply(second, 1);
+        assertTrue(stats.sameAs(rebuilt));
+        rebuilt.apply(first, 1);
+        assertFalse(stats.sameAs(rebuilt));
+    }
+}
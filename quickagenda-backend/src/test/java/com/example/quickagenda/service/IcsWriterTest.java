@@ -0,0 +1,166 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.entity.Session;
+import net.fortuna.ical4j.data.CalendarOutputter;
+import net.fortuna.ical4j.model.Calendar;
+import net.fortuna.ical4j.model.DateTime;
+import net.fortuna.ical4j.model.component.VEvent;
+import net.fortuna.ical4j.model.property.CalScale;
+import net.fortuna.ical4j.model.property.Description;
+import net.fortuna.ical4j.model.property.Location;
+import net.fortuna.ical4j.model.property.ProdId;
+import net.fortuna.ical4j.model.property.Version;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IcsWriterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 3);
+
+    @Test
+    void matchesIcal4jForTypicalAgenda() throws Exception {
+        Event event = event("Annual kickoff; bring laptops, chargers\nand a \\ backslash");
+        List<Session> sessions = List.of(
+                session("Welcome", 9, 0, 9, 30, "Main hall"),
+                session("Keynote: scaling, caching; and more", 9, 30, 10, 45, null),
+                session("Break", 10, 45, 11, 0, "  "),
+                session("x".repeat(200), 11, 0, 12, 0, "Room " + "y".repeat(90)));
+
+        assertEquals(normalize(ical4j(event, sessions)), normalize(ours(event, sessions)));
+    }
+
+    @Test
+    void matchesIcal4jAtEveryFoldBoundary() throws Exception {
+        Event event = event(null);
+        List<Session> sessions = new ArrayList<>();
+        for (int len = 60; len <= 160; len++) {
+            sessions.add(session("a".repeat(len - 1) + ",", 8, 0, 9, 0, "b".repeat(len)));
+        }
+
+        assertEquals(normalize(ical4j(event, sessions)), normalize(ours(event, sessions)));
+    }
+
+    @Test
+    void emptyAgendaMatchesIcal4j() throws Exception {
+        Event event = event("desc");
+
+        assertEquals(normalize(ical4j(event, List.of())), normalize(ours(event, List.of())));
+    }
+
+    @Test
+    void foldsNonAsciiByOctetsWithoutSplittingCharacters() throws Exception {
+        // ical4j folds by UTF-16 units here (150-octet lines, split surrogate pairs), so only compare content
+        Event event = event(null);
+        String title = "Café ☕ " + "é".repeat(80) + " 😀".repeat(30);
+        byte[] bytes = ours(event, List.of(session(title, 9, 0, 10, 0, null)));
+
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        assertFalse(text.contains("�"));
+        for (String line : text.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 73, line);
+        }
+        assertTrue(text.replace("\r\n ", "").contains("SUMMARY:" + title + "\r\n"));
+    }
+
+    @Test
+    void loneCarriageReturnIsEscaped() throws Exception {
+        String text = new String(ours(event(null), List.of(session("a\rb\r\nc", 9, 0, 10, 0, null))), StandardCharsets.UTF_8);
+
+        assertTrue(text.contains("SUMMARY:a\\nb\\nc\r\n"));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void throughputAgainstIcal4j() throws Exception {
+        Event event = event("Two day developer conference, all talks in English");
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            sessions.add(session("Talk #" + i + ": performance, profiling; and you", 8 + i % 10, 0, 9 + i % 10, 0, "Room " + (i % 7)));
+        }
+        EventDetailResponse detail = EventService.toDetailResponse(event, sessions);
+        OutputStream sink = OutputStream.nullOutputStream();
+
+        for (int i = 0; i < 200; i++) {
+            ical4j(event, sessions);
+            EventService.writeIcs(detail, sink);
+        }
+        long ical4jNanos = time(() -> ical4j(event, sessions), 500);
+        long oursNanos = time(() -> EventService.writeIcs(detail, sink), 500);
+
+        System.out.printf("ICS 500 sessions: ical4j %.1f calendars/s, IcsWriter %.1f calendars/s (%.1fx)%n",
+                500 / (ical4jNanos / 1e9), 500 / (oursNanos / 1e9), (double) ical4jNanos / oursNanos);
+    }
+
+    private interface Work {
+        void run() throws Exception;
+    }
+
+    private static long time(Work work, int iterations) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            work.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Event event(String description) {
+        return new Event(1L, "Conf", DAY, description, "ABC123");
+    }
+
+    private static Session session(String title, int sh, int sm, int eh, int em, String location) {
+        return new Session(null, title, DAY.atTime(sh, sm), DAY.atTime(eh, em), location, null);
+    }
+
+    private static byte[] ours(Event event, List<Session> sessions) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EventService.writeIcs(EventService.toDetailResponse(event, sessions), out);
+        return out.toByteArray();
+    }
+
+    // The object-graph implementation IcsWriter replaced, kept as the reference; only its PRODID follows ours
+    private static byte[] ical4j(Event event, List<Session> sessions) throws Exception {
+        Calendar calendar = new Calendar();
+        calendar.getProperties().add(new ProdId("-//Quickagenda//Quickagenda//EN"));
+        calendar.getProperties().add(Version.VERSION_2_0);
+        calendar.getProperties().add(CalScale.GREGORIAN);
+
+        ZoneId zone = ZoneId.systemDefault();
+        for (Session s : sessions) {
+            ZonedDateTime zStart = s.getStartTime().atZone(zone);
+            ZonedDateTime zEnd = s.getEndTime().atZone(zone);
+            DateTime dtStart = new DateTime(java.util.Date.from(zStart.toInstant()));
+            DateTime dtEnd = new DateTime(java.util.Date.from(zEnd.toInstant()));
+
+            VEvent vevent = new VEvent(dtStart, dtEnd, s.getTitle());
+            if (s.getLocation() != null && !s.getLocation().isBlank()) {
+                vevent.getProperties().add(new Location(s.getLocation()));
+            }
+            if (event.getDescription() != null && !event.getDescription().isBlank()) {
+                vevent.getProperties().add(new Description(event.getDescription()));
+            }
+            calendar.getComponents().add(vevent);
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new CalendarOutputter().output(calendar, baos);
+        return baos.toByteArray();
+    }
+
+    // DTSTAMP is "now" on both sides
+    private static String normalize(byte[] ics) {
+        return new String(ics, StandardCharsets.UTF_8).replaceAll("DTSTAMP:\\d{8}T\\d{6}Z", "DTSTAMP:X");
+    }
+}
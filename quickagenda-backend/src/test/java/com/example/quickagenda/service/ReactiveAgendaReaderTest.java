@@ -0,0 +1,47 @@
+package com.example.quickagenda.service;
+
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveAgendaReaderTest {
+
+    @Test
+    void carriesOverSettingsWithAnR2dbcEquivalent() {
+        ConnectionFactoryOptions options = ReactiveAgendaReader.fromJdbcUrl(
+                "jdbc:postgresql://db.example.supabase.co:6543/postgres"
+                        + "?sslmode=require&reWriteBatchedInserts=true&ApplicationName=quick%20agenda&connectTimeout=3");
+
+        assertEquals("postgresql", options.getValue(ConnectionFactoryOptions.DRIVER));
+        assertEquals("db.example.supabase.co", options.getValue(ConnectionFactoryOptions.HOST));
+        assertEquals(6543, options.getValue(ConnectionFactoryOptions.PORT));
+        assertEquals("postgres", options.getValue(ConnectionFactoryOptions.DATABASE));
+        assertEquals("require", options.getValue(Option.valueOf("sslMode")));
+        assertEquals("quick agenda", options.getValue(Option.valueOf("applicationName")));
+        assertEquals(Duration.ofSeconds(3), options.getValue(ConnectionFactoryOptions.CONNECT_TIMEOUT));
+        assertFalse(options.hasOption(Option.valueOf("reWriteBatchedInserts")));
+        assertFalse(options.hasOption(Option.valueOf("sslmode")));
+    }
+
+    @Test
+    void defaultsThePortAndUnwrapsIpv6Hosts() {
+        assertEquals(5432, ReactiveAgendaReader.fromJdbcUrl("jdbc:postgresql://localhost/postgres")
+                .getValue(ConnectionFactoryOptions.PORT));
+
+        ConnectionFactoryOptions ipv6 = ReactiveAgendaReader.fromJdbcUrl("jdbc:postgresql://[::1]:5433/app");
+        assertEquals("::1", ipv6.getValue(ConnectionFactoryOptions.HOST));
+        assertEquals(5433, ipv6.getValue(ConnectionFactoryOptions.PORT));
+        assertEquals("app", ipv6.getValue(ConnectionFactoryOptions.DATABASE));
+    }
+
+    @Test
+    void asksForAReactiveUrlWhenTheJdbcOneCannotBeMapped() {
+        assertThrows(IllegalStateException.class, () -> ReactiveAgendaReader.fromJdbcUrl(
+                "jdbc:postgresql://primary:5432,replica:5432/app?targetServerType=primary"));
+        assertThrows(IllegalStateException.class, () -> ReactiveAgendaReader.fromJdbcUrl("jdbc:h2:mem:test"));
+    }
+}
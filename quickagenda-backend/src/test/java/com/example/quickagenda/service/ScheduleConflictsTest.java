@@ -0,0 +1,161 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.SessionConflict;
+import com.example.quickagenda.dto.SessionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleConflictsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    private static SessionResponse session(Long id, String start, String end, String location) {
+        return new SessionResponse(id, "Talk " + id, at(start), at(end), location);
+    }
+
+    private static LocalDateTime at(String hhmm) {
+        return hhmm == null ? null : DAY.plusMinutes(Integer.parseInt(hhmm.substring(0, 2)) * 60L + Integer.parseInt(hhmm.substring(3)));
+    }
+
+    private static Set<String> pairs(List<SessionConflict> conflicts) {
+        Set<String> pairs = new HashSet<>();
+        for (SessionConflict c : conflicts) {
+            long a = c.getSession().getId();
+            long b = c.getConflictsWith().getId();
+            assertTrue(pairs.add(Math.min(a, b) + "-" + Math.max(a, b)), "reported twice: " + a + "-" + b);
+        }
+        return pairs;
+    }
+
+    @Test
+    void overlapsInOneLocationAreReportedWithTheSharedTime() {
+        List<SessionConflict> conflicts = ScheduleConflicts.find(List.of(
+                session(1L, "09:00", "10:30", "Room A"),
+                session(2L, "10:00", "11:00", "Room A"),
+                session(3L, "10:00", "11:00", "Room B")));
+
+        assertEquals(1, conflicts.size());
+        SessionConflict c = conflicts.get(0);
+        assertEquals("Room A", c.getLocation());
+        assertEquals(1L, c.getSession().getId());
+        assertEquals(2L, c.getConflictsWith().getId());
+        assertEquals(at("10:00"), c.getFrom());
+        assertEquals(at("10:30"), c.getTo());
+    }
+
+    @Test
+    void backToBackSessionsDoNotConflict() {
+        assertEquals(List.of(), ScheduleConflicts.find(List.of(
+                session(1L, "09:00", "10:00", "Room A"),
+                session(2L, "10:00", "11:00", "Room A"),
+                session(3L, "11:00", "11:00", "Room A"))));
+    }
+
+    @Test
+    void locationsMatchIgnoringCaseAndBlanks() {
+        assertEquals(Set.of("1-2"), pairs(ScheduleConflicts.find(List.of(
+                session(1L, "09:00", "10:00", "Room A"),
+                session(2L, "09:30", "10:30", " room a ")))));
+    }
+
+    @Test
+    void sessionsWithoutLocationOrTimesNeverConflict() {
+        assertEquals(List.of(), ScheduleConflicts.find(List.of(
+                session(1L, "09:00", "10:00", null),
+                session(2L, "09:00", "10:00", null),
+                session(3L, "09:00", "10:00", " "),
+                session(4L, "09:00", "10:00", " "),
+                session(5L, "09:00", null, "Room A"),
+                session(6L, "09:00", "10:00", "Room A"))));
+    }
+
+    @Test
+    void onlyConflictsTouchingTheGivenSessionsAreKept() {
+        SessionResponse moved = session(3L, "09:30", "10:30", "Room A");
+        List<SessionResponse> sessions = List.of(
+                session(1L, "09:00", "10:00", "Room A"),
+                session(2L, "09:00", "10:00", "Room A"),
+                moved);
+        Set<SessionResponse> touched = ScheduleConflicts.identitySet();
+        touched.add(moved);
+
+        assertEquals(Set.of("1-2", "1-3", "2-3"), pairs(ScheduleConflicts.find(sessions)));
+        assertEquals(Set.of("1-3", "2-3"), pairs(ScheduleConflicts.find(sessions, touched)));
+    }
+
+    @Test
+    void newSessionsWithoutIdsAreReported() {
+        List<SessionConflict> conflicts = ScheduleConflicts.find(List.of(
+                session(null, "09:00", "10:00", "Room A"),
+                session(null, "09:30", "10:30", "Room A")));
+
+        assertEquals(1, conflicts.size());
+        assertNull(conflicts.get(0).getSession().getId());
+    }
+
+    @Test
+    void reportsAreCapped() {
+        List<SessionResponse> sessions = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            sessions.add(session(id, "09:00", "10:00", "Room A"));
+        }
+
+        ScheduleConflicts.Report report = ScheduleConflicts.report(sessions, null);
+        assertEquals(ScheduleConflicts.MAX_REPORTED, report.conflicts().size());
+        assertTrue(report.truncated());
+    }
+
+    @Test
+    void exactlyTheCapIsNotTruncated() {
+        // 20 sessions in one slot overlap in 190 pairs, and ten rooms with one clash each add 10 more
+        List<SessionResponse> sessions = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            sessions.add(session(id, "09:00", "10:00", "Room A"));
+        }
+        for (long id = 21; id <= 30; id++) {
+            sessions.add(session(id, "11:00", "12:00", "Room " + id));
+            sessions.add(session(id + 10, "11:30", "12:30", "Room " + id));
+        }
+
+        ScheduleConflicts.Report report = ScheduleConflicts.report(sessions, null);
+        assertEquals(ScheduleConflicts.MAX_REPORTED, report.conflicts().size());
+        assertFalse(report.truncated());
+    }
+
+    @Test
+    void matchesComparingEveryPair() {
+        Random random = new Random(42);
+        String[] rooms = {"Room A", "room a", "Room B", "Hall", null};
+        for (int round = 0; round < 200; round++) {
+            List<SessionResponse> sessions = new ArrayList<>();
+            int n = 1 + random.nextInt(15);
+            for (long id = 1; id <= n; id++) {
+                LocalDateTime start = DAY.plusMinutes(15L * random.nextInt(24));
+                LocalDateTime end = start.plusMinutes(15L * random.nextInt(8));
+                sessions.add(new SessionResponse(id, "Talk " + id, start, end, rooms[random.nextInt(rooms.length)]));
+            }
+
+            Set<String> expected = new HashSet<>();
+            for (SessionResponse a : sessions) {
+                for (SessionResponse b : sessions) {
+                    if (a.getId() < b.getId() && a.getLocation() != null && b.getLocation() != null
+                            && a.getEndTime().isAfter(a.getStartTime()) && b.getEndTime().isAfter(b.getStartTime())
+                            && a.getLocation().toLowerCase(Locale.ROOT).equals(b.getLocation().toLowerCase(Locale.ROOT))
+                            && a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime())) {
+                        expected.add(a.getId() + "-" + b.getId());
+                    }
+                }
+            }
+            assertEquals(expected, pairs(ScheduleConflicts.find(sessions)));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.SessionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionIntervalIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    private static SessionResponse session(long id, String start, String end, String location) {
+        return new SessionResponse(id, "Talk " + id, at(start), at(end), location);
+    }
+
+    private static LocalDateTime at(String hhmm) {
+        return hhmm == null ? null : DAY.plusMinutes(Integer.parseInt(hhmm.substring(0, 2)) * 60L + Integer.parseInt(hhmm.substring(3)));
+    }
+
+    private static List<Long> ids(List<SessionResponse> sessions) {
+        return sessions.stream().map(SessionResponse::getId).toList();
+    }
+
+    @Test
+    void sessionsRunFromStartUntilJustBeforeEnd() {
+        SessionIntervalIndex index = SessionIntervalIndex.of(List.of(
+                session(1, "09:00", "10:00", "Room A"),
+                session(2, "10:00", "11:00", "Room A"),
+                session(3, "09:30", "12:00", "Room B")));
+
+        assertEquals(List.of(), ids(index.runningAt(at("08:59"))));
+        assertEquals(List.of(1L), ids(index.runningAt(at("09:00"))));
+        assertEquals(List.of(1L, 3L), ids(index.runningAt(at("09:59"))));
+        assertEquals(List.of(3L, 2L), ids(index.runningAt(at("10:00"))));
+        assertEquals(List.of(), ids(index.runningAt(at("12:00"))));
+    }
+
+    @Test
+    void upNextIsEveryTrackStartingAtTheNextStartTime() {
+        SessionIntervalIndex index = SessionIntervalIndex.of(List.of(
+                session(1, "09:00", "10:00", "Room A"),
+                session(2, "10:00", "11:00", "Room A"),
+                session(3, "10:00", "10:45", "Room B"),
+                session(4, "11:00", "12:00", "Room B")));
+
+        assertEquals(List.of(1L), ids(index.nextAfter(at("08:00"))));
+        assertEquals(List.of(3L, 2L), ids(index.nextAfter(at("09:00"))));
+        assertEquals(List.of(4L), ids(index.nextAfter(at("10:00"))));
+        assertEquals(List.of(), ids(index.nextAfter(at("11:00"))));
+    }
+
+    @Test
+    void locationsHaveTheirOwnIndex() {
+        SessionIntervalIndex index = SessionIntervalIndex.of(List.of(
+                session(1, "09:00", "10:00", "Room A"),
+                session(2, "09:00", "10:00", "Room B"),
+                session(3, "10:00", "11:00", "Room B"),
+                session(4, "09:00", "10:00", null)));
+
+        assertEquals(List.of(1L, 2L, 4L), ids(index.at(null).runningAt(at("09:30"))));
+        assertEquals(List.of(2L), ids(index.at(" room b").runningAt(at("09:30"))));
+        assertEquals(List.of(3L), ids(index.at("Room B").nextAfter(at("09:30"))));
+        assertEquals(List.of(), ids(index.at("Room C").runningAt(at("09:30"))));
+    }
+
+    @Test
+    void sessionsWithoutTimesAreLeftOut() {
+        SessionIntervalIndex index = SessionIntervalIndex.of(List.of(
+                session(1, "09:00", "10:00", null),
+                session(2, null, "10:00", null),
+                session(3, "09:00", null, null)));
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(1L), ids(index.runningAt(at("09:30"))));
+    }
+
+    @Test
+    void matchesAScanOverRandomAgendas() {
+        Random random = new Random(23);
+        for (int round = 0; round < 200; round++) {
+            List<SessionResponse> sessions = new ArrayList<>();
+            int n = random.nextInt(60);
+            for (int i = 0; i < n; i++) {
+                LocalDateTime start = DAY.plusMinutes(15L * random.nextInt(48));
+                LocalDateTime end = start.plusMinutes(15L * (1 + random.nextInt(12)));
+                sessions.add(new SessionResponse((long) i, "S" + i, start, end, "Room " + random.nextInt(3)));
+            }
+            SessionIntervalIndex index = SessionIntervalIndex.of(sessions);
+            Comparator<SessionResponse> order = Comparator.comparing(SessionResponse::getStartTime)
+                    .thenComparing(SessionResponse::getEndTime).thenComparing(SessionResponse::getId);
+            for (int minute = -30; minute <= 24 * 60; minute += 5) {
+                LocalDateTime t = DAY.plusMinutes(minute);
+                List<SessionResponse> running = sessions.stream()
+                        .filter(s -> !s.getStartTime().isAfter(t) && s.getEndTime().isAfter(t)).sorted(order).toList();
+                LocalDateTime nextStart = sessions.stream().map(SessionResponse::getStartTime)
+                        .filter(s -> s.isAfter(t)).min(Comparator.naturalOrder()).orElse(null);
+                List<SessionResponse> next = sessions.stream()
+                        .filter(s -> s.getStartTime().equals(nextStart)).sorted(order).toList();
+                List<SessionResponse> inRoom = running.stream().filter(s -> s.getLocation().equals("Room 1")).toList();
+
+                assertEquals(ids(running), ids(index.runningAt(t)), () -> "running at " + t);
+                assertEquals(ids(next), ids(index.nextAfter(t)), () -> "next after " + t);
+                assertEquals(ids(inRoom), ids(index.at("Room 1").runningAt(t)), () -> "Room 1 at " + t);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.entity.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionReconcilerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 3);
+
+    private final Event event = new Event(1L, "Conf", DAY, null, "ABC123");
+
+    @Test
+    void touchesOnlyWhatChanged() {
+        List<Session> existing = agenda(5);
+        List<SessionReconciler.Desired> desired = new ArrayList<>();
+        desired.add(desired(existing.get(0)));
+        desired.add(new SessionReconciler.Desired(2L, "Renamed", at(9), at(10), "Room 1"));
+        desired.add(desired(existing.get(3)));
+        desired.add(new SessionReconciler.Desired(null, "New", at(17), at(18), null));
+
+        SessionReconciler.Plan plan = SessionReconciler.plan(event, existing, desired);
+
+        assertEquals(1, plan.inserts().size());
+        assertSame(event, plan.inserts().get(0).getEvent());
+        assertEquals(List.of(existing.get(1)), plan.updates());
+        assertEquals("Renamed", existing.get(1).getTitle());
+        assertEquals(List.of(existing.get(2), existing.get(4)), plan.deletes());
+        assertEquals(2, plan.unchanged());
+        assertEquals(4, plan.result().size());
+    }
+
+    @Test
+    void rejectsIdsThatDoNotBelongToTheEvent() {
+        List<Session> existing = agenda(2);
+
+        assertThrows(ResponseStatusException.class, () -> SessionReconciler.plan(event, existing,
+                List.of(new SessionReconciler.Desired(99L, "x", at(8), at(9), null))));
+        assertThrows(ResponseStatusException.class, () -> SessionReconciler.plan(event, existing,
+                List.of(desired(existing.get(0)), desired(existing.get(0)))));
+    }
+
+    @Test
+    void identicalRequestIsANoOp() {
+        List<Session> existing = agenda(300);
+
+        SessionReconciler.Plan plan = SessionReconciler.plan(event, existing, existing.stream().map(SessionReconcilerTest::desired).toList());
+
+        assertTrue(plan.inserts().isEmpty() && plan.updates().isEmpty() && plan.deletes().isEmpty());
+        assertEquals(300, plan.unchanged());
+    }
+
+    private List<Session> agenda(int n) {
+        List<Session> sessions = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            sessions.add(new Session((long) i, "Talk " + i, at(8 + i % 10), at(9 + i % 10), "Room " + i % 5, event));
+        }
+        return sessions;
+    }
+
+    private static SessionReconciler.Desired desired(Session s) {
+        return new SessionReconciler.Desired(s.getId(), s.getTitle(), s.getStartTime(), s.getEndTime(), s.getLocation());
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.atTime(hour, 0);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.EventCreateRequest;
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.example.quickagenda.dto.SessionCreateRequest;
+import com.example.quickagenda.dto.ShareCodeStatsResponse;
+import com.example.quickagenda.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShareCodeAllocatorTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ShareCodeAllocator allocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentCreatesNeverCollide() throws Exception {
+        int threads = 16;
+        int perThread = 40;
+        List<Future<List<EventDetailResponse>>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    List<EventDetailResponse> created = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        created.add(eventService.createEvent(new EventCreateRequest("Stress " + thread + "-" + i,
+                                LocalDate.of(2026, 3, 1), null,
+                                List.of(new SessionCreateRequest(null, "Only", "09:00", "10:00", null)))));
+                    }
+                    return created;
+                }));
+            }
+        }
+        Set<String> codes = new HashSet<>();
+        List<Long> ids = new ArrayList<>();
+        for (Future<List<EventDetailResponse>> f : futures) {
+            for (EventDetailResponse e : f.get()) {
+                codes.add(e.getShareCode());
+                ids.add(e.getId());
+            }
+        }
+
+        assertEquals(threads * perThread, codes.size());
+        Integer duplicated = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT share_code FROM event GROUP BY share_code HAVING COUNT(*) > 1) d", Integer.class);
+        assertEquals(0, duplicated);
+        Integer sessions = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM session WHERE event_id = ANY (?)", Integer.class, (Object) ids.toArray(new Long[0]));
+        assertEquals(threads * perThread, sessions);
+    }
+
+    @Test
+    void instancesSharingTheSequenceNeverIssueTheSameCode() {
+        ShareCodeAllocator other = new ShareCodeAllocator(jdbcTemplate, SHARE_CODE_KEY);
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 3 * ShareCodeAllocator.BLOCK_SIZE; i++) {
+            assertTrue(seen.add(allocator.next()));
+            assertTrue(seen.add(other.next()));
+        }
+    }
+
+    @Test
+    void takenCodesAreSkipped() {
+        // A code from before the allocator, or from another key, that happens to be next in line
+        String taken = allocator.peek();
+        jdbcTemplate.update("INSERT INTO event (name, event_date, share_code) VALUES ('Legacy', '2025-01-01', ?)", taken);
+
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("New", LocalDate.of(2026, 3, 1), null, List.of()));
+
+        assertNotEquals(taken, event.getShareCode());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event WHERE share_code = ?", Integer.class, taken));
+        assertEquals("New", eventService.getEventByShareCode(event.getShareCode()).getName());
+    }
+
+    @Test
+    void mostCreatesSkipTheSequence() {
+        allocator.next();
+        long remaining = allocator.stats().getRemainingInBlock();
+        assertTrue(remaining > 0);
+
+        statements.reset();
+        eventService.createEvent(new EventCreateRequest("One", LocalDate.of(2026, 3, 1), null, List.of()));
+
+        assertEquals(1, statements.roundTrips(), () -> statements.statements().toString());
+        assertEquals(remaining - 1, allocator.stats().getRemainingInBlock());
+    }
+
+    @Test
+    void reportsKeyspaceUsage() {
+        allocator.next();
+        ShareCodeStatsResponse stats = allocator.stats();
+
+        assertEquals(2_176_782_336L, stats.getKeyspace());
+        assertEquals(ShareCodeAllocator.BLOCK_SIZE, stats.getBlockSize());
+        assertTrue(stats.getReserved() >= ShareCodeAllocator.BLOCK_SIZE);
+        assertEquals((double) stats.getReserved() / stats.getKeyspace(), stats.getUsedFraction(), 1e-12);
+    }
+
+    @Test
+    void refusesToStartWithoutASecretKey() {
+        assertThrows(IllegalStateException.class, () -> new ShareCodeAllocator(jdbcTemplate, ""));
+        assertThrows(IllegalStateException.class, () -> new ShareCodeAllocator(jdbcTemplate, "change-me"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ShareCodeCacheTest {
+
+    private final EventRepository repo = mock(EventRepository.class);
+    private final ShareCodeCache cache = new ShareCodeCache(repo, 100, Duration.ofMinutes(5));
+
+    @Test
+    void resolvesFromRepositoryOnceThenFromMemory() {
+        when(repo.findByShareCode("ABC123"))
+                .thenReturn(Optional.of(new Event(1L, "Conf", LocalDate.of(2025, 11, 3), null, "ABC123")));
+
+        Event first = cache.resolve("ABC123");
+        Event second = cache.resolve("ABC123");
+
+        assertEquals(1L, second.getId());
+        assertNotSame(first, second);
+        verify(repo, times(1)).findByShareCode("ABC123");
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void unknownCodeIsNotCached() {
+        when(repo.findByShareCode("NOPE00")).thenReturn(Optional.empty());
+
+        assertThrows(ResponseStatusException.class, () -> cache.resolve("NOPE00"));
+        assertThrows(ResponseStatusException.class, () -> cache.resolve("NOPE00"));
+        verify(repo, times(2)).findByShareCode("NOPE00");
+    }
+
+    @Test
+    void evictForcesReload() {
+        when(repo.findByShareCode("ABC123"))
+                .thenReturn(Optional.of(new Event(1L, "Old", LocalDate.of(2025, 11, 3), null, "ABC123")))
+                .thenReturn(Optional.of(new Event(1L, "New", LocalDate.of(2025, 11, 3), null, "ABC123")));
+
+        assertEquals("Old", cache.resolve("ABC123").getName());
+        cache.evict("ABC123");
+        assertEquals("New", cache.resolve("ABC123").getName());
+    }
+}
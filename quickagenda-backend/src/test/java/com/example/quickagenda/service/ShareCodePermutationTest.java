@@ -0,0 +1,55 @@
+package com.example.quickagenda.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShareCodePermutationTest {
+
+    private final ShareCodePermutation codes = new ShareCodePermutation("test-key");
+
+    @Test
+    void codesAreSixBase36Characters() {
+        for (long counter : new long[]{0, 1, 46_655, 46_656, ShareCodePermutation.KEYSPACE - 1}) {
+            assertTrue(codes.encode(counter).matches("[0-9A-Z]{6}"), () -> codes.encode(counter));
+        }
+    }
+
+    @Test
+    void distinctCountersGiveDistinctCodes() {
+        Set<String> seen = new HashSet<>();
+        for (long counter = 0; counter < 100_000; counter++) {
+            assertTrue(seen.add(codes.encode(counter)), "collision at " + counter);
+        }
+        // and across the far end of the keyspace
+        for (long counter = ShareCodePermutation.KEYSPACE - 50_000; counter < ShareCodePermutation.KEYSPACE; counter++) {
+            assertTrue(seen.add(codes.encode(counter)), "collision at " + counter);
+        }
+    }
+
+    @Test
+    void theKeyDecidesTheCodes() {
+        assertEquals(codes.encode(42), new ShareCodePermutation("test-key").encode(42));
+        assertNotEquals(codes.encode(42), new ShareCodePermutation("other-key").encode(42));
+    }
+
+    @Test
+    void neighbouringCountersDoNotLookAlike() {
+        String a = codes.encode(1000);
+        String b = codes.encode(1001);
+        int same = 0;
+        for (int i = 0; i < ShareCodePermutation.LENGTH; i++) {
+            same += a.charAt(i) == b.charAt(i) ? 1 : 0;
+        }
+        assertTrue(same < 4, a + " vs " + b);
+    }
+
+    @Test
+    void countersOutsideTheKeyspaceAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> codes.encode(-1));
+        assertThrows(IllegalArgumentException.class, () -> codes.encode(ShareCodePermutation.KEYSPACE));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.EventCreateRequest;
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.example.quickagenda.dto.FormFieldDto;
+import com.example.quickagenda.dto.FormResponseDto;
+import com.example.quickagenda.dto.FormStatsResponse;
+import com.example.quickagenda.dto.FormSubmitRequest;
+import com.example.quickagenda.dto.FormUpsertRequest;
+import com.example.quickagenda.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private WriteBehindSubmissions writeBehind;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void writeBehind(DynamicPropertyRegistry registry) throws Exception {
+        String dir = Files.createTempDirectory("submissions").toString();
+        registry.add("quickagenda.forms.write-behind.enabled", () -> "true");
+        registry.add("quickagenda.forms.write-behind.log-dir", () -> dir);
+        registry.add("quickagenda.forms.write-behind.flush-interval", () -> "1h");
+    }
+
+    @Test
+    void submissionsReachTheDatabaseOnFlushAndLaterOnesWin() throws Exception {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Signup", LocalDate.of(2026, 3, 1), null, List.of()));
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null,
+                List.of(new FormFieldDto(null, "short_text", "Name", true, 0, null, null))));
+
+        String name = String.valueOf(formService.prepareExport(event.getShareCode(), null).form().getFields().get(0).id());
+        formService.submit(event.getShareCode(), request("a@x.io", Map.of(name, "Ann")));
+        formService.submit(event.getShareCode(), request("b@x.io", Map.of(name, "Bob")));
+        assertTrue(formService.listResponses(event.getShareCode(), null).isEmpty());
+
+        statements.reset();
+        writeBehind.flush();
+        assertEquals(1, statements.statements().stream().filter(s -> s.startsWith("INSERT INTO form_responses")).count());
+
+        formService.submit(event.getShareCode(), request("a@x.io", Map.of(name, "Annie")));
+        writeBehind.flush();
+
+        List<FormResponseDto> responses = formService.listResponses(event.getShareCode(), null);
+        assertEquals(2, responses.size());
+        String ann = responses.stream().filter(r -> r.getEmail().equals("a@x.io")).findFirst().orElseThrow().getAnswers();
+        assertEquals("Annie", objectMapper.readTree(ann).get(name).asText());
+        assertEquals(0, writeBehind.stats().getUnflushed());
+    }
+
+    @Test
+    void flushesUpdateTheFormStatisticsInPlace() {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Stats", LocalDate.of(2026, 3, 1), null, List.of()));
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null,
+                List.of(new FormFieldDto(null, "yes_no", "Coming", true, 0, null, null))));
+        String code = event.getShareCode();
+        String coming = String.valueOf(formService.prepareExport(code, null).form().getFields().get(0).id());
+        formService.submit(code, request("a@x.io", Map.of(coming, true)));
+        writeBehind.flush();
+        assertEquals(1, formService.getStats(code).getResponses());
+
+        formService.submit(code, request("a@x.io", Map.of(coming, false)));
+        formService.submit(code, request("b@x.io", Map.of(coming, true)));
+        writeBehind.flush();
+
+        statements.reset();
+        FormStatsResponse stats = formService.getStats(code);
+        assertEquals(0, statements.roundTrips(), () -> statements.statements().toString());
+        assertEquals(2, stats.getResponses());
+        assertEquals(Map.of("yes", 1L, "no", 1L), stats.getFields().get(coming).getCounts());
+    }
+
+    @Test
+    void aSubmissionForADeletedFormDoesNotBlockTheOthers() {
+        EventDetailResponse event = eventService.createEvent(new EventCreateRequest("Signup", LocalDate.of(2026, 3, 1), null, List.of()));
+        formService.upsertForm(event.getShareCode(), new FormUpsertRequest("RSVP", true, null, null,
+                List.of(new FormFieldDto(null, "short_text", "Name", false, 0, null, null))));
+        long before = writeBehind.stats().getDeadLettered();
+
+        writeBehind.submit(Long.MAX_VALUE, "gone@x.io", "{}", OffsetDateTime.now());
+        formService.submit(event.getShareCode(), request("a@x.io", Map.of()));
+        writeBehind.flush();
+
+        assertEquals(before + 1, writeBehind.stats().getDeadLettered());
+        assertEquals(0, writeBehind.stats().getUnflushed());
+        assertEquals(1, formService.listResponses(event.getShareCode(), null).size());
+    }
+
+    private FormSubmitRequest request(String email, Map<String, ?> answers) {
+        return new FormSubmitRequest(email, objectMapper.valueToTree(answers));
+    }
+}
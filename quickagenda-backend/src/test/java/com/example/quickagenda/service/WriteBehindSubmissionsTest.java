@@ -0,0 +1,159 @@
+package com.example.quickagenda.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindSubmissionsTest {
+
+    private static final OffsetDateTime AT = OffsetDateTime.parse("2025-11-03T09:00:00Z");
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    Path dir;
+
+    private static class FakeSink implements SubmissionSink {
+        final List<List<SubmissionLog.Entry>> writes = new ArrayList<>();
+        final Set<Long> deletedForms = new HashSet<>();
+        boolean failing;
+
+        @Override
+        public synchronized void write(List<SubmissionLog.Entry> entries) {
+            if (failing) {
+                throw new IllegalStateException("db down");
+            }
+            if (entries.stream().anyMatch(e -> deletedForms.contains(e.formId()))) {
+                throw new DataIntegrityViolationException("violates foreign key constraint");
+            }
+            writes.add(List.copyOf(entries));
+        }
+    }
+
+    private WriteBehindSubmissions open(FakeSink sink) throws Exception {
+        return new WriteBehindSubmissions(sink, mapper, dir, 0, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void coalescesPerFormAndEmail() throws Exception {
+        FakeSink sink = new FakeSink();
+        WriteBehindSubmissions wb = open(sink);
+        wb.submit(1, "a@x.io", "{\"v\":1}", AT);
+        wb.submit(1, "a@x.io", "{\"v\":2}", AT.plusSeconds(1));
+        wb.submit(1, "b@x.io", "{\"v\":3}", AT);
+        wb.submit(2, "a@x.io", "{\"v\":4}", AT);
+
+        wb.flush();
+
+        assertEquals(1, sink.writes.size());
+        Map<String, String> written = sink.writes.get(0).stream()
+                .collect(Collectors.toMap(e -> e.formId() + "/" + e.email(), SubmissionLog.Entry::answersJson));
+        assertEquals(Map.of("1/a@x.io", "{\"v\":2}", "1/b@x.io", "{\"v\":3}", "2/a@x.io", "{\"v\":4}"), written);
+        assertEquals(0, wb.stats().getUnflushed());
+        wb.shutdown();
+    }
+
+    @Test
+    void failedFlushIsRetriedAndNotCheckpointed() throws Exception {
+        FakeSink sink = new FakeSink();
+        WriteBehindSubmissions wb = open(sink);
+        wb.submit(1, "a@x.io", "{}", AT);
+
+        sink.failing = true;
+        wb.flush();
+        assertEquals(1, wb.stats().getFlushFailures());
+        assertEquals(1, wb.stats().getPending());
+        assertEquals(1, wb.stats().getUnflushed());
+
+        sink.failing = false;
+        wb.flush();
+        assertEquals(1, sink.writes.size());
+        assertEquals(0, wb.stats().getUnflushed());
+        wb.shutdown();
+    }
+
+    @Test
+    void rowsTheDatabaseRejectsAreDeadLetteredSoTheRestGetThrough() throws Exception {
+        FakeSink sink = new FakeSink();
+        sink.deletedForms.add(2L);
+        WriteBehindSubmissions wb = open(sink);
+        wb.submit(1, "a@x.io", "{}", AT);
+        wb.submit(2, "a@x.io", "{}", AT);
+        wb.submit(1, "b@x.io", "{}", AT);
+
+        wb.flush();
+
+        assertEquals(List.of("1/a@x.io", "1/b@x.io"), sink.writes.stream().flatMap(List::stream)
+                .map(e -> e.formId() + "/" + e.email()).toList());
+        assertEquals(1, wb.stats().getDeadLettered());
+        assertEquals(0, wb.stats().getPending());
+        assertEquals(0, wb.stats().getUnflushed());
+        List<String> deadLetters = Files.readAllLines(dir.resolve("dead-letter.log"));
+        assertEquals(1, deadLetters.size());
+        assertEquals(2, mapper.readTree(deadLetters.get(0)).get("entry").get("formId").asLong());
+
+        // Later flushes are not held back
+        wb.submit(1, "c@x.io", "{}", AT);
+        wb.flush();
+        assertEquals(0, wb.stats().getUnflushed());
+        wb.shutdown();
+    }
+
+    @Test
+    void replaysUncheckpointedEntriesAfterCrash() throws Exception {
+        FakeSink down = new FakeSink();
+        down.failing = true;
+        WriteBehindSubmissions crashed = open(down);
+        crashed.submit(1, "a@x.io", "{\"v\":1}", AT);
+        crashed.submit(1, "b@x.io", "{\"v\":2}", AT);
+        // Simulate dying mid-append: a torn line that was never acknowledged
+        Files.writeString(dir.resolve("submissions.log"), "{\"seq\":3,\"formId\":1,\"em",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        FakeSink sink = new FakeSink();
+        WriteBehindSubmissions restarted = open(sink);
+
+        assertEquals(1, sink.writes.size());
+        assertEquals(List.of("a@x.io", "b@x.io"),
+                sink.writes.get(0).stream().map(SubmissionLog.Entry::email).toList());
+        assertEquals(0, restarted.stats().getUnflushed());
+
+        // Sequence numbering continues past what was replayed
+        restarted.submit(1, "c@x.io", "{}", AT);
+        restarted.flush();
+        assertEquals(3, sink.writes.get(1).get(0).seq());
+        restarted.shutdown();
+    }
+
+    @Test
+    void checkpointedEntriesAreNotReplayed() throws Exception {
+        FakeSink sink = new FakeSink();
+        WriteBehindSubmissions first = open(sink);
+        first.submit(1, "a@x.io", "{}", AT);
+        first.flush();
+
+        FakeSink second = new FakeSink();
+        open(second).shutdown();
+        assertTrue(second.writes.isEmpty());
+    }
+}
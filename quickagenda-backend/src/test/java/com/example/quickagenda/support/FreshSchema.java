@@ -0,0 +1,32 @@
+package com.example.quickagenda.support;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gives every test context an empty schema built by the real migrations. Cached contexts stay alive
+ * after a newer one has recreated the schema, still holding id and share code ranges handed out
+ * before, so each context also starts its sequences in a block of its own.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class FreshSchema {
+
+    private static final long BLOCK = 1_000_000;
+    private static final AtomicLong CONTEXTS = new AtomicLong();
+
+    @Bean
+    public FlywayMigrationStrategy cleanMigrate() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+            long floor = CONTEXTS.incrementAndGet() * BLOCK;
+            new JdbcTemplate(flyway.getConfiguration().getDataSource()).queryForList(
+                    "SELECT setval('session_seq', ?), setval('form_fields_seq', ?), setval('share_code_seq', ?)",
+                    floor, floor, floor);
+        };
+    }
+}
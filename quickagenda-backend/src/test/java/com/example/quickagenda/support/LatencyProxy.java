@@ -0,0 +1,76 @@
+package com.example.quickagenda.support;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * TCP relay that holds every server-to-client chunk for a fixed delay, so a local Postgres answers
+ * with roughly the round-trip time of a remote pooler.
+ */
+public final class LatencyProxy implements Closeable {
+
+    private final ServerSocket server;
+    private final String targetHost;
+    private final int targetPort;
+    private final long delayMillis;
+
+    public LatencyProxy(String targetHost, int targetPort, long delayMillis) throws IOException {
+        this.server = new ServerSocket();
+        this.server.bind(new InetSocketAddress("127.0.0.1", 0));
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+        this.delayMillis = delayMillis;
+        Thread.ofPlatform().daemon().name("latency-proxy").start(this::acceptLoop);
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket client = server.accept();
+                Socket upstream = new Socket(targetHost, targetPort);
+                client.setTcpNoDelay(true);
+                upstream.setTcpNoDelay(true);
+                Thread.ofPlatform().daemon().start(() -> pipe(client, upstream, 0));
+                Thread.ofPlatform().daemon().start(() -> pipe(upstream, client, delayMillis));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private static void pipe(Socket from, Socket to, long delayMillis) {
+        byte[] buf = new byte[16384];
+        try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+                out.write(buf, 0, n);
+                out.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            // peer closed
+        } finally {
+            try {
+                from.close();
+                to.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.quickagenda.support;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load for the gated load tests: each client sends requests back to back, either
+ * {@code uris.get(i % n)} or whatever its own {@link Call} supplier hands out. Latencies are recorded
+ * per label once the warm-up has passed; any 2xx counts as ok and 503 as rejected.
+ */
+public final class LoadDriver {
+
+    public record Stats(long ok, long rejected, long errors, double perSecond,
+                        double p50Millis, double p95Millis, double p99Millis) {
+    }
+
+    public record Call(String label, HttpRequest request) {
+    }
+
+    private static final class Tally {
+        final List<Long> nanos = Collections.synchronizedList(new ArrayList<>());
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+    }
+
+    private LoadDriver() {
+    }
+
+    public static Map<String, Stats> run(List<URI> uris, Function<URI, String> label, int clients,
+                                         long warmupMillis, long durationMillis) throws InterruptedException {
+        List<String> labels = uris.stream().map(label).distinct().toList();
+        return run(labels, i -> {
+            URI uri = uris.get(i % uris.size());
+            Call call = new Call(label.apply(uri), HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).build());
+            return () -> call;
+        }, clients, warmupMillis, durationMillis);
+    }
+
+    /**
+     * @param labels the order results are reported in; labels not listed are appended as they show up
+     * @param client creates the call stream for client {@code i}, called once per client
+     */
+    public static Map<String, Stats> run(List<String> labels, IntFunction<Supplier<Call>> client, int clients,
+                                         long warmupMillis, long durationMillis) throws InterruptedException {
+        HttpClient http = HttpClient.newHttpClient();
+        Map<String, Tally> tallies = new ConcurrentHashMap<>();
+        long measureFrom = System.currentTimeMillis() + warmupMillis;
+        long deadline = measureFrom + durationMillis;
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < clients; i++) {
+            Supplier<Call> calls = client.apply(i);
+            pool.submit(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    Call call = calls.get();
+                    long started = System.nanoTime();
+                    int status;
+                    try {
+                        status = http.send(call.request(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long took = System.nanoTime() - started;
+                    if (System.currentTimeMillis() < measureFrom) {
+                        continue;
+                    }
+                    Tally tally = tallies.computeIfAbsent(call.label(), k -> new Tally());
+                    if (status >= 200 && status < 300) {
+                        tally.nanos.add(took);
+                    } else if (status == 503) {
+                        tally.rejected.incrementAndGet();
+                    } else {
+                        tally.errors.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(warmupMillis + durationMillis + 60_000, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("load clients did not finish");
+        }
+        List<String> order = new ArrayList<>(labels);
+        tallies.keySet().stream().filter(k -> !order.contains(k)).sorted().forEach(order::add);
+        Map<String, Stats> byLabel = new LinkedHashMap<>();
+        for (String k : order) {
+            Tally t = tallies.getOrDefault(k, new Tally());
+            List<Long> sorted = new ArrayList<>(t.nanos);
+            Collections.sort(sorted);
+            byLabel.put(k, new Stats(sorted.size(), t.rejected.get(), t.errors.get(), sorted.size() * 1000.0 / durationMillis,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99)));
+        }
+        return byLabel;
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return Double.NaN;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.floor(p * sorted.size()))) / 1e6;
+    }
+}
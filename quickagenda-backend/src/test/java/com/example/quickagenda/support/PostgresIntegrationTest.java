@@ -0,0 +1,37 @@
+package com.example.quickagenda.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Boots the application against a real Postgres (see {@link TestDatabase}), with the driver in the
+ * same pgBouncer-friendly simple query mode as production and the schema from the migrations.
+ * Subclasses are skipped when there is no database to run against.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.clean-disabled=false",
+        "spring.datasource.hikari.data-source-properties.preferQueryMode=simple",
+        "spring.datasource.hikari.data-source-properties.prepareThreshold=0",
+        "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+        "quickagenda.share-codes.key=" + PostgresIntegrationTest.SHARE_CODE_KEY
+})
+@ExtendWith(RequiresTestDatabase.class)
+@Import({StatementCounter.Config.class, FreshSchema.class})
+public abstract class PostgresIntegrationTest {
+
+    public static final String SHARE_CODE_KEY = "integration-test-key";
+
+    @Autowired
+    protected StatementCounter statements;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", TestDatabase::url);
+        registry.add("spring.datasource.username", TestDatabase::username);
+        registry.add("spring.datasource.password", TestDatabase::password);
+    }
+}
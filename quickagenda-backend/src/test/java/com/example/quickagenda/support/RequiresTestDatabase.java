@@ -0,0 +1,19 @@
+package com.example.quickagenda.support;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Skips a test class when no {@link TestDatabase} is available. Registered with {@code @ExtendWith}
+ * rather than {@code @EnabledIf} because extensions, unlike conditions, are inherited by subclasses.
+ */
+public class RequiresTestDatabase implements ExecutionCondition {
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        return TestDatabase.available()
+                ? ConditionEvaluationResult.enabled("test database available")
+                : ConditionEvaluationResult.disabled("no TEST_DB_URL and no Docker");
+    }
+}
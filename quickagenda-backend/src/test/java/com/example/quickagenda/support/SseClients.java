@@ -0,0 +1,133 @@
+package com.example.quickagenda.support;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Holds many idle SSE connections from one thread with NIO. Run as a separate process by the stream
+ * load test, so its sockets do not count against the server JVM's file descriptor limit. Usage:
+ * {@code SseClients <host> <port> <path> <connections>}. Prints {@code open <n>} once every response
+ * has started with 200, {@code changed <n>} once every stream has seen an {@code event:change}, and
+ * {@code failed <reason>} for a connection that did not; exits when stdin closes.
+ */
+public final class SseClients {
+
+    private static final int MAX_PENDING = 100; // stay under Tomcat's default accept backlog
+    private static final String CHANGE = "event:change";
+
+    private static final class Connection {
+        final ByteBuffer request;
+        final StringBuilder head = new StringBuilder();
+        boolean open;
+        boolean changed;
+        String tail = "";
+
+        Connection(ByteBuffer request) {
+            this.request = request;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        InetSocketAddress server = new InetSocketAddress(args[0], Integer.parseInt(args[1]));
+        byte[] request = ("GET " + args[2] + " HTTP/1.1\r\nHost: " + args[0] + "\r\nAccept: text/event-stream\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        int total = Integer.parseInt(args[3]);
+
+        Thread.ofPlatform().daemon().start(() -> {
+            try {
+                while (System.in.read() != -1) {
+                    // the parent closes stdin to stop us
+                }
+            } catch (IOException ignored) {
+            }
+            System.exit(0);
+        });
+
+        Selector selector = Selector.open();
+        ByteBuffer buf = ByteBuffer.allocate(8192);
+        int started = 0;
+        int pending = 0;
+        int open = 0;
+        int changed = 0;
+        boolean reportedChanged = false;
+        while (true) {
+            while (started < total && pending < MAX_PENDING) {
+                SocketChannel ch = SocketChannel.open();
+                ch.configureBlocking(false);
+                ch.connect(server);
+                ch.register(selector, SelectionKey.OP_CONNECT, new Connection(ByteBuffer.wrap(request)));
+                started++;
+                pending++;
+            }
+            selector.select(100);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                SocketChannel ch = (SocketChannel) key.channel();
+                Connection c = (Connection) key.attachment();
+                try {
+                    if (key.isConnectable()) {
+                        ch.finishConnect();
+                        key.interestOps(SelectionKey.OP_WRITE);
+                    } else if (key.isWritable()) {
+                        ch.write(c.request);
+                        if (!c.request.hasRemaining()) {
+                            key.interestOps(SelectionKey.OP_READ);
+                        }
+                    } else if (key.isReadable()) {
+                        buf.clear();
+                        if (ch.read(buf) < 0) {
+                            fail(key, "closed by server");
+                            continue;
+                        }
+                        String text = new String(buf.array(), 0, buf.position(), StandardCharsets.US_ASCII);
+                        if (!c.open) {
+                            c.head.append(text);
+                            int end = c.head.indexOf("\r\n\r\n");
+                            if (end < 0) {
+                                continue;
+                            }
+                            if (!c.head.toString().startsWith("HTTP/1.1 200")) {
+                                fail(key, c.head.substring(0, c.head.indexOf("\r\n")));
+                                continue;
+                            }
+                            c.open = true;
+                            pending--;
+                            open++;
+                            if (open == total) {
+                                System.out.println("open " + open);
+                            }
+                            text = c.head.substring(end + 4);
+                        }
+                        // A chunk boundary could split the marker, so keep the end of the previous read
+                        String scanned = c.tail + text;
+                        if (!c.changed && scanned.contains(CHANGE)) {
+                            c.changed = true;
+                            changed++;
+                        }
+                        c.tail = scanned.substring(Math.max(0, scanned.length() - CHANGE.length()));
+                    }
+                } catch (IOException e) {
+                    fail(key, e.toString());
+                }
+            }
+            if (!reportedChanged && changed == total) {
+                System.out.println("changed " + changed);
+                reportedChanged = true;
+            }
+        }
+    }
+
+    private static void fail(SelectionKey key, String reason) throws IOException {
+        System.out.println("failed " + reason);
+        key.cancel();
+        key.channel().close();
+    }
+}
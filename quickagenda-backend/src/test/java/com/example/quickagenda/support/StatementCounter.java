@@ -0,0 +1,101 @@
+package com.example.quickagenda.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts JDBC round trips issued through the application DataSource: every execute call and every
+ * executeBatch counts once, however many rows the batch carries.
+ */
+public class StatementCounter {
+
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final List<String> sql = new CopyOnWriteArrayList<>();
+
+    public void reset() {
+        roundTrips.set(0);
+        sql.clear();
+    }
+
+    public int roundTrips() {
+        return roundTrips.get();
+    }
+
+    public List<String> statements() {
+        return List.copyOf(sql);
+    }
+
+    DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, target, (p, m, args) -> {
+            Object result = invoke(target, m, args);
+            return result instanceof Connection c ? connection(c) : result;
+        });
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, target, (p, m, args) -> {
+            Object result = invoke(target, m, args);
+            if (result instanceof Statement s && m.getName().matches("createStatement|prepareStatement|prepareCall")) {
+                String text = args != null && args.length > 0 && args[0] instanceof String q ? q : null;
+                return statement(s, text);
+            }
+            return result;
+        });
+    }
+
+    private Statement statement(Statement target, String prepared) {
+        Class<? extends Statement> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return proxy(type, target, (p, m, args) -> {
+            if (m.getName().startsWith("execute")) {
+                roundTrips.incrementAndGet();
+                sql.add(args != null && args.length > 0 && args[0] instanceof String q ? q : prepared);
+            }
+            return invoke(target, m, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method m, Object[] args) throws Throwable {
+        try {
+            return m.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+        @Bean
+        public StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+
+        @Bean
+        public static BeanPostProcessor statementCountingDataSource(org.springframework.beans.factory.ObjectProvider<StatementCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ds ? counter.getObject().wrap(ds) : bean;
+                }
+            };
+        }
+    }
+}
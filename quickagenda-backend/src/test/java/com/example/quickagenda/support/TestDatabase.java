@@ -0,0 +1,53 @@
+package com.example.quickagenda.support;
+
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * The Postgres the integration tests run against: a local server when {@code TEST_DB_URL} is set
+ * (with {@code TEST_DB_USERNAME} / {@code TEST_DB_PASSWORD}), otherwise a Testcontainers instance
+ * when Docker is available. With neither, the tests are skipped.
+ */
+public final class TestDatabase {
+
+    private static PostgreSQLContainer<?> container;
+
+    private TestDatabase() {
+    }
+
+    public static boolean available() {
+        return setting("TEST_DB_URL") != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    public static synchronized String url() {
+        String url = setting("TEST_DB_URL");
+        return url != null ? url : container().getJdbcUrl();
+    }
+
+    public static String username() {
+        String url = setting("TEST_DB_URL");
+        return url != null ? orDefault(setting("TEST_DB_USERNAME"), "postgres") : container().getUsername();
+    }
+
+    public static String password() {
+        String url = setting("TEST_DB_URL");
+        return url != null ? orDefault(setting("TEST_DB_PASSWORD"), "") : container().getPassword();
+    }
+
+    private static synchronized PostgreSQLContainer<?> container() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return container;
+    }
+
+    private static String setting(String name) {
+        String value = System.getProperty(name);
+        return value != null ? value : System.getenv(name);
+    }
+
+    private static String orDefault(String value, String fallback) {
+        return value != null ? value : fallback;
+    }
+}
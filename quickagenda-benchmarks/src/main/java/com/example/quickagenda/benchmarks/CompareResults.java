@@ -0,0 +1,75 @@
+package com.example.quickagenda.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Compares two JMH result files written with {@code -rf json} and exits with status 1 when any
+ * benchmark present in both got slower than the allowed percentage.
+ * <p>
+ * Usage: {@code CompareResults baseline.json current.json [maxRegressionPercent]} (default 10).
+ */
+public final class CompareResults {
+
+    private record Score(String mode, String unit, double value) {
+    }
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: CompareResults <baseline.json> <current.json> [maxRegressionPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null || !before.mode().equals(now.mode()) || !before.unit().equals(now.unit())) {
+                System.out.printf("%-70s %12.3f %s (no comparable baseline)%n", entry.getKey(), now.value(), now.unit());
+                continue;
+            }
+            // Throughput modes are better when higher, the time-per-operation modes when lower
+            double change = (now.value() - before.value()) / before.value() * 100.0;
+            double slower = "thrpt".equals(now.mode()) ? -change : change;
+            boolean regressed = slower > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %12.3f -> %12.3f %s %+7.1f%%%s%n", entry.getKey(), before.value(), now.value(),
+                    now.unit(), change, regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String key = run.path("benchmark").asText();
+            JsonNode params = run.path("params");
+            if (params.isObject()) {
+                StringJoiner joined = new StringJoiner(", ", " [", "]");
+                params.properties().forEach(p -> joined.add(p.getKey() + "=" + p.getValue().asText()));
+                key += joined;
+            }
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key, new Score(run.path("mode").asText(), metric.path("scoreUnit").asText(),
+                    metric.path("score").asDouble()));
+        }
+        return scores;
+    }
+}
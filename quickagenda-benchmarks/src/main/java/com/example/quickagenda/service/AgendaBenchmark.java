@@ -0,0 +1,89 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.EventDetailResponse;
+import com.example.quickagenda.repository.AgendaRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a public agenda on a snapshot miss: the detail DTO from the joined rows, its JSON, the ICS calendar and the
+ * whole snapshot (both encodings plus their gzip variants). Also the interval index behind {@code /now} and one lookup in it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AgendaBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int sessions;
+
+    private List<AgendaRow> rows;
+    private EventDetailResponse detail;
+    private ObjectMapper objectMapper;
+    private ByteArrayOutputStream ics;
+    private SessionIntervalIndex index;
+    private LocalDateTime midAgenda;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        rows = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            rows.add(new AgendaRow(1L, "Spring Conference", day, "Main hall, level 2; badges at the door", "ABC123",
+                    (long) i + 1, "Talk " + i + ": caches, pools & café latency",
+                    day.atTime(8, 0).plusMinutes(15L * i), day.atTime(8, 45).plusMinutes(15L * i),
+                    i % 3 == 0 ? null : "Room " + (char) ('A' + i % 5)));
+        }
+        detail = EventService.toDetailResponse(rows);
+        ics = new ByteArrayOutputStream(256 + sessions * 192);
+        index = SessionIntervalIndex.of(detail.getSessions());
+        midAgenda = day.atTime(8, 20).plusMinutes(15L * (sessions / 2));
+    }
+
+    @Benchmark
+    public EventDetailResponse detailResponse() {
+        return EventService.toDetailResponse(rows);
+    }
+
+    @Benchmark
+    public byte[] detailJson() throws IOException {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+
+    @Benchmark
+    public int ics() throws IOException {
+        ics.reset();
+        EventService.writeIcs(detail, ics);
+        return ics.size();
+    }
+
+    @Benchmark
+    public AgendaSnapshot snapshot() throws IOException {
+        AgendaSnapshotCache.Loaded loaded = EventService.toLoaded(EventService.toDetailResponse(rows));
+        return new AgendaSnapshot(1, Instant.EPOCH, loaded.detail(), objectMapper.writeValueAsBytes(loaded.detail()), loaded.ics());
+    }
+
+    @Benchmark
+    public SessionIntervalIndex sessionIndex() {
+        return SessionIntervalIndex.of(detail.getSessions());
+    }
+
+    @Benchmark
+    public int now() {
+        return index.runningAt(midAgenda).size() + index.nextAfter(midAgenda).size();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.FormResponseDto;
+import com.example.quickagenda.dto.FormSubmitRequest;
+import com.example.quickagenda.entity.Event;
+import com.example.quickagenda.entity.Form;
+import com.example.quickagenda.entity.FormField;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers JSON on the form paths: decoding and validating a submission into the string that is
+ * stored, writing a stored row into the response listing, and re-reading stored answers the way the
+ * live statistics do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnswersBenchmark {
+
+    @Param({"5", "20", "100"})
+    public int fields;
+
+    private ObjectMapper objectMapper;
+    private CompiledForm form;
+    private byte[] submission;
+    private String stored;
+    private FormResponseDto row;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Event event = new Event(1L, "Signup", LocalDate.of(2026, 3, 1), null, "ABC123");
+        Form f = new Form(1L, event, "RSVP", true, null, null);
+        List<FormField> formFields = new ArrayList<>(fields);
+        StringBuilder answers = new StringBuilder("{");
+        for (int i = 0; i < fields; i++) {
+            long id = 1000 + i;
+            switch (i % 5) {
+                case 0 -> {
+                    formFields.add(new FormField(id, f, "short_text", "Name " + i, true, i, null, null));
+                    answers.append('"').append(id).append("\":\"Ann Example\",");
+                }
+                case 1 -> {
+                    formFields.add(new FormField(id, f, "single_select", "Track " + i, true, i, "[\"A\",\"B\",\"C\",\"D\"]", null));
+                    answers.append('"').append(id).append("\":\"C\",");
+                }
+                case 2 -> {
+                    formFields.add(new FormField(id, f, "multi_select", "Days " + i, false, i, "[\"Mon\",\"Tue\",\"Wed\"]", null));
+                    answers.append('"').append(id).append("\":[\"Mon\",\"Wed\"],");
+                }
+                case 3 -> {
+                    formFields.add(new FormField(id, f, "number", "Guests " + i, false, i, null, "{\"min\":0,\"max\":10}"));
+                    answers.append('"').append(id).append("\":2,");
+                }
+                default -> {
+                    formFields.add(new FormField(id, f, "yes_no", "Coming " + i, false, i, null, null));
+                    answers.append('"').append(id).append("\":true,");
+                }
+            }
+        }
+        answers.setLength(answers.length() - 1);
+        answers.append('}');
+        form = CompiledForm.compile(f, formFields, objectMapper);
+        submission = ("{\"email\":\"ann@example.com\",\"answers\":" + answers + "}").getBytes(StandardCharsets.UTF_8);
+        stored = submit();
+        row = new FormResponseDto("ann@example.com", OffsetDateTime.parse("2026-03-01T09:00:00Z"), stored);
+    }
+
+    // FormController binding plus FormService.submit up to the stored string
+    @Benchmark
+    public String submit() throws IOException {
+        FormSubmitRequest request = objectMapper.readValue(submission, FormSubmitRequest.class);
+        JsonNode tree = request.getAnswers();
+        if (!form.validate(tree).isEmpty()) {
+            throw new IllegalStateException("benchmark answers must be valid");
+        }
+        return tree.toString();
+    }
+
+    @Benchmark
+    public byte[] listingRow() throws IOException {
+        return objectMapper.writeValueAsBytes(row);
+    }
+
+    @Benchmark
+    public JsonNode statsDecode() throws IOException {
+        return objectMapper.readTree(stored);
+    }
+}
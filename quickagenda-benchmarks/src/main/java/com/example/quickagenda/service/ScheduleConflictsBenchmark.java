@@ -0,0 +1,76 @@
+package com.example.quickagenda.service;
+
+import com.example.quickagenda.dto.SessionConflict;
+import com.example.quickagenda.dto.SessionResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap detection on agenda writes: the sweep over a whole agenda (what every write reports), the strict check for
+ * one added session, and comparing every pair of sessions in a location, which the sweep replaces. Sessions are spread
+ * over 50 rooms, back to back, with one in twenty starting early enough to clash with the previous one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScheduleConflictsBenchmark {
+
+    private static final int ROOMS = 50;
+
+    @Param({"100", "1000", "10000"})
+    public int sessions;
+
+    private List<SessionResponse> agenda;
+    private Set<SessionResponse> added;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 8, 0);
+        agenda = new ArrayList<>(sessions + 1);
+        for (int i = 0; i < sessions; i++) {
+            int slot = i / ROOMS;
+            LocalDateTime from = start.plusMinutes(45L * slot - (i % 20 == 0 && slot > 0 ? 15 : 0));
+            agenda.add(new SessionResponse((long) i + 1, "Talk " + i, from, start.plusMinutes(45L * slot + 45), "Room " + i % ROOMS));
+        }
+        SessionResponse extra = new SessionResponse(null, "Late addition", start.plusMinutes(20), start.plusMinutes(70), "Room 7");
+        agenda.add(extra);
+        added = ScheduleConflicts.identitySet();
+        added.add(extra);
+    }
+
+    @Benchmark
+    public List<SessionConflict> sweep() {
+        return ScheduleConflicts.find(agenda);
+    }
+
+    @Benchmark
+    public List<SessionConflict> sweepStrictAdd() {
+        return ScheduleConflicts.find(agenda, added);
+    }
+
+    @Benchmark
+    public int pairwise() {
+        int conflicts = 0;
+        for (int i = 0; i < agenda.size(); i++) {
+            SessionResponse a = agenda.get(i);
+            String room = a.getLocation().trim().toLowerCase(Locale.ROOT);
+            for (int j = i + 1; j < agenda.size(); j++) {
+                SessionResponse b = agenda.get(j);
+                if (a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime())
+                        && room.equals(b.getLocation().trim().toLowerCase(Locale.ROOT))) {
+                    conflicts++;
+                }
+            }
+        }
+        return conflicts;
+    }
+}
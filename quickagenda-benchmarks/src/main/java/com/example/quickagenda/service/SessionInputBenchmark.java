@@ -0,0 +1,38 @@
+package com.example.quickagenda.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request work on event creation and session edits that does not touch the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionInputBenchmark {
+
+    private static final String[] TIMES = {"08:00", "09:30", "12:15", "13:45", "17:00", "23:59"};
+
+    private final LocalDate date = LocalDate.of(2026, 3, 1);
+    private final ShareCodePermutation codes = new ShareCodePermutation("benchmark");
+    private int next;
+    private long counter;
+
+    @Benchmark
+    public String shareCode() {
+        counter = (counter + 1) % ShareCodePermutation.KEYSPACE;
+        return codes.encode(counter);
+    }
+
+    @Benchmark
+    public LocalDateTime sessionTime() {
+        next = (next + 1) % TIMES.length;
+        return EventService.atTime(date, TIMES[next]);
+    }
+}
@@ -58,6 +58,7 @@ function App() {
   const [notice, setNotice] = useState({ type: null, text: '' }) // type: 'success' | 'error' | 'info'
   const [feedbackInput, setFeedbackInput] = useState('')
   const [feedbackList, setFeedbackList] = useState([])
+  const [feedbackCursor, setFeedbackCursor] = useState(null)
   const [feedbackLoading, setFeedbackLoading] = useState(false)
   const [feedbackSubmitting, setFeedbackSubmitting] = useState(false)
   const [isEditingEvent, setIsEditingEvent] = useState(false)
@@ -68,13 +69,15 @@ function App() {
   const FEEDBACK_MAX = 300
   
 
-  const loadFeedback = async () => {
+  const loadFeedback = async (cursor) => {
     try {
       setFeedbackLoading(true)
-      const res = await fetch('/api/feedback')
+      const res = await fetch(cursor ? `/api/feedback?cursor=${encodeURIComponent(cursor)}` : '/api/feedback')
       if (!res.ok) throw new Error('failed')
       const data = await res.json()
-      setFeedbackList(data || [])
+      const items = data?.items || []
+      setFeedbackList(prev => cursor ? [...prev, ...items] : items)
+      setFeedbackCursor(data?.nextCursor || null)
     } catch (e) {
       // ignore
     } finally { setFeedbackLoading(false) }
@@ -518,6 +521,9 @@ function App() {
                           </ListItem>
                         ))}
                       </List>
+                      {feedbackCursor && (
+                        <Button size="small" onClick={() => loadFeedback(feedbackCursor)}>Load more</Button>
+                      )}
                     </>
                   )}
                 </CardContent>
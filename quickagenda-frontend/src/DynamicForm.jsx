@@ -183,6 +183,21 @@ export default function DynamicForm({ code, initialEmail }) {
         method: 'POST', headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify({ email, answers })
       })
+      if (res.status === 409) {
+        // The organizer edited the form since it was loaded; its fields (and their ids) are new
+        await load()
+        setErrors({})
+        setNotice({ type: 'error', text: 'This form was updated. Please review your answers and submit again' })
+        return
+      }
+      if (res.status === 400) {
+        const data = await res.json().catch(() => null)
+        if (data?.errors) {
+          setErrors(data.errors)
+          setNotice({ type: 'error', text: 'Please fix the highlighted fields' })
+          return
+        }
+      }
       if (!res.ok) throw new Error('failed')
       setNotice({ type: 'success', text: 'Response submitted' })
     } catch (e) {
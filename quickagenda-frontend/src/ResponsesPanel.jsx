@@ -46,6 +46,7 @@ export default function ResponsesPanel({ code }) {
           <Stack direction="row" spacing={1} alignItems="center">
             <Typography variant="h6">Responses ({responses.length})</Typography>
             <Button size="small" onClick={loadResponses} disabled={!code || loading}>Refresh</Button>
+            <Button size="small" href={`/api/events/${code}/form/admin/responses/export.csv`} disabled={!code}>Export CSV</Button>
           </Stack>
           {loading && <Typography variant="body2">Loading…</Typography>}
           {!loading && (